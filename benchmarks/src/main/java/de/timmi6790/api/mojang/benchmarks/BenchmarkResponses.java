@@ -0,0 +1,48 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.util.UUID;
+
+final class BenchmarkResponses {
+    static final UUID PLAYER_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+    static final String MOJANG_UUID = "9d59daad6f624bd9b13ec961bf906750";
+    static final String PLAYER_NAME = "Timmi6790";
+
+    static final String PLAYER_INFO = "{\"name\":\"Timmi6790\",\"id\":\"9d59daad6f624bd9b13ec961bf906750\"}";
+    static final String PLAYER_PROFILE = "{\"id\":\"9d59daad6f624bd9b13ec961bf906750\",\"name\":\"Timmi6790\",\"properties\":[{\"name\":\"textures\","
+            + "\"value\":\"ewogICJ0aW1lc3RhbXAiIDogMTYxOTk0OTMzMTU4MCwKICAicHJvZmlsZUlkIiA6ICI5ZDU5ZGFhZDZmNjI0YmQ5YjEzZWM5NjFiZjkwNjc1MCIsCiAgInByb2ZpbGVOYW1lIiA6ICJUaW1taTY3OTAifQ==\"}]}";
+    static final String NAME_HISTORY = "[{\"name\":\"Timmi\"},{\"name\":\"Timmi679\",\"changedToAt\":1423041362000},"
+            + "{\"name\":\"Timmi6790\",\"changedToAt\":1425747498000},{\"name\":\"Tim6790\",\"changedToAt\":1590073924000},"
+            + "{\"name\":\"Timmi6790\",\"changedToAt\":1592671470000}]";
+    static final String STATUS = "[{\"minecraft.net\":\"green\"},{\"session.minecraft.net\":\"red\"},{\"account.mojang.com\":\"yellow\"},"
+            + "{\"authserver.mojang.com\":\"green\"},{\"sessionserver.mojang.com\":\"red\"},{\"api.mojang.com\":\"green\"},"
+            + "{\"textures.minecraft.net\":\"green\"},{\"mojang.com\":\"green\"}]";
+
+    private BenchmarkResponses() {
+    }
+
+    /**
+     * Answers every endpoint of the client with a fixed response.
+     */
+    static Dispatcher createDispatcher() {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                final String path = request.getPath();
+                if (path.startsWith("/session/minecraft/profile/")) {
+                    return new MockResponse().setBody(PLAYER_PROFILE);
+                } else if (path.startsWith("/users/profiles/minecraft/")) {
+                    return new MockResponse().setBody(PLAYER_INFO);
+                } else if (path.endsWith("/names")) {
+                    return new MockResponse().setBody(NAME_HISTORY);
+                } else if (path.startsWith("/check")) {
+                    return new MockResponse().setBody(STATUS);
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        };
+    }
+}
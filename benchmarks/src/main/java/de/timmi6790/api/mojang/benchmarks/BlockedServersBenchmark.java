@@ -0,0 +1,54 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import de.timmi6790.api.mojang.models.BlockedServers;
+import okio.Buffer;
+import okio.ByteString;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockedServersBenchmark {
+    private ByteString body;
+    private BlockedServers blockedServers;
+
+    private String host = "play.example.com";
+    private String ipAddress = "10.20.30.40";
+
+    @Setup
+    public void setup() throws IOException, NoSuchAlgorithmException {
+        // Similar in size to the real list
+        final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        final Buffer buffer = new Buffer();
+        for (int index = 0; 2_500 > index; index++) {
+            buffer.write(ByteString.of(digest.digest(("server" + index).getBytes(StandardCharsets.UTF_8))).hex().getBytes(StandardCharsets.US_ASCII));
+            buffer.writeByte('\n');
+        }
+        this.body = buffer.readByteString();
+        this.blockedServers = BlockedServers.parse(new Buffer().write(this.body));
+    }
+
+    @Benchmark
+    public BlockedServers parse() throws IOException {
+        return BlockedServers.parse(new Buffer().write(this.body));
+    }
+
+    @Benchmark
+    public boolean isServerBlocked_host() {
+        return this.blockedServers.isServerBlocked(this.host);
+    }
+
+    @Benchmark
+    public boolean isServerBlocked_ip() {
+        return this.blockedServers.isServerBlocked(this.ipAddress);
+    }
+}
@@ -0,0 +1,81 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import de.timmi6790.api.mojang.MojangApiClient;
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.Textures;
+import okhttp3.mockwebserver.MockWebServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups that are answered by the in memory caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+    @Param({"false", "true"})
+    private boolean compactCaches;
+
+    private MockWebServer server;
+    private MojangApiClient apiClient;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(BenchmarkResponses.createDispatcher());
+        this.server.start();
+
+        final String baseUrl = this.server.url("").toString().replaceAll("/$", "");
+        this.apiClient = MojangApiClient.builder()
+                .apiBaseUrl(baseUrl)
+                .sessionServerBaseUrl(baseUrl)
+                .compactCaches(this.compactCaches)
+                .build();
+
+        if (!this.apiClient.getPlayerProfiler(BenchmarkResponses.PLAYER_UUID).isPresent()
+                || !this.apiClient.getPlayerInfo(BenchmarkResponses.PLAYER_NAME).isPresent()
+                || !this.apiClient.getPlayerNameHistory(BenchmarkResponses.PLAYER_UUID).isPresent()) {
+            throw new IllegalStateException("Failed to warm up the caches");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.server.shutdown();
+    }
+
+    @Benchmark
+    public Optional<PlayerProfile> playerProfile() {
+        return this.apiClient.getPlayerProfiler(BenchmarkResponses.PLAYER_UUID);
+    }
+
+    @Benchmark
+    public Optional<Textures> playerProfileTextures() {
+        return this.apiClient.getPlayerProfiler(BenchmarkResponses.PLAYER_UUID).flatMap(PlayerProfile::getTextures);
+    }
+
+    @Benchmark
+    public Optional<PlayerInfo> playerInfo() {
+        return this.apiClient.getPlayerInfo(BenchmarkResponses.PLAYER_NAME);
+    }
+
+    @Benchmark
+    public Optional<List<NameEntry>> playerNameHistory() {
+        return this.apiClient.getPlayerNameHistory(BenchmarkResponses.PLAYER_UUID);
+    }
+
+    @Benchmark
+    public Optional<PlayerProfile> playerProfileAsync() {
+        return this.apiClient.getAsync().getPlayerProfileAsync(BenchmarkResponses.PLAYER_UUID).join();
+    }
+}
@@ -0,0 +1,55 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import de.timmi6790.api.mojang.cache.CompactCodec;
+import de.timmi6790.api.mojang.cache.CompactCodecs;
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Retained heap of the cache values with and without the compact codecs, measured with JOL.
+ * Run with {@code java -cp target/benchmarks.jar de.timmi6790.api.mojang.benchmarks.CacheFootprintBenchmark}.
+ */
+public class CacheFootprintBenchmark {
+    private static final int ENTRIES = 100_000;
+
+    public static void main(final String[] args) {
+        final int entries = args.length > 0 ? Integer.parseInt(args[0]) : ENTRIES;
+
+        final PlayerProfile[] playerProfiles = new PlayerProfile[entries];
+        final Object[] nameHistories = new Object[entries];
+        final LocalDateTime firstChange = LocalDateTime.of(2015, 2, 4, 12, 0);
+        for (int index = 0; entries > index; index++) {
+            playerProfiles[index] = new PlayerProfile(UUID.randomUUID(), "Player" + index);
+            nameHistories[index] = Arrays.asList(
+                    new NameEntry("Original" + index, LocalDateTime.MIN),
+                    new NameEntry("Changed" + index, firstChange.plusDays(index % 1_000)),
+                    new NameEntry("Player" + index, firstChange.plusDays(1_000 + index % 1_000))
+            );
+        }
+
+        report("Player profile", playerProfiles, CompactCodecs.playerProfile(), entries);
+        @SuppressWarnings("unchecked") final List<NameEntry>[] typedNameHistories = Arrays.copyOf(nameHistories, entries, List[].class);
+        report("Name history (3 entries)", typedNameHistories, CompactCodecs.playerNameHistory(), entries);
+    }
+
+    private static <V, C> void report(final String name, final V[] values, final CompactCodec<V, C> codec, final int entries) {
+        final Object[] packedValues = Arrays.stream(values).map((Function<V, Object>) codec::pack).toArray();
+
+        final long modelBytes = GraphLayout.parseInstance((Object) values).totalSize();
+        final long packedBytes = GraphLayout.parseInstance((Object) packedValues).totalSize();
+        System.out.printf(
+                "%-26s model %6.1f B/entry, compact %6.1f B/entry, saved %4.1f%%%n",
+                name,
+                (double) modelBytes / entries,
+                (double) packedBytes / entries,
+                100.0 * (modelBytes - packedBytes) / modelBytes
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import de.timmi6790.api.mojang.MojangApiClient;
+import de.timmi6790.api.mojang.cache.CacheSettings;
+import de.timmi6790.api.mojang.cache.CaffeineCacheBackend;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export and import of full profile and player info caches, e.g. for the cache handover between deployments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class CacheSnapshotBenchmark {
+    @Param("500000")
+    private int playersPerCache;
+
+    private MojangApiClient apiClient;
+    private byte[] snapshot;
+
+    private static MojangApiClient createApiClient(final int playersPerCache) {
+        return MojangApiClient.builder()
+                .playerProfileCache(new CacheSettings<UUID, PlayerProfile>().setMaximumSize(playersPerCache))
+                .playerInfoCache(new CacheSettings<String, PlayerInfo>().setMaximumSize(playersPerCache))
+                .build();
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        final CaffeineCacheBackend<UUID, PlayerProfile> playerProfiles = new CaffeineCacheBackend<>(
+                new CacheSettings<UUID, PlayerProfile>().setMaximumSize(this.playersPerCache).buildCache(null)
+        );
+        final CaffeineCacheBackend<String, PlayerInfo> playerInfos = new CaffeineCacheBackend<>(
+                new CacheSettings<String, PlayerInfo>().setMaximumSize(this.playersPerCache).buildCache(null)
+        );
+        for (int index = 0; this.playersPerCache > index; index++) {
+            final UUID playerUUID = UUID.randomUUID();
+            playerProfiles.put(playerUUID, new PlayerProfile(playerUUID, "Player" + index));
+            playerInfos.put("player" + index, new PlayerInfo(playerUUID, "Player" + index));
+        }
+
+        this.apiClient = MojangApiClient.builder()
+                .playerProfileCacheBackend(playerProfiles)
+                .playerInfoCacheBackend(playerInfos)
+                .build();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.apiClient.exportCaches(outputStream);
+        this.snapshot = outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public int exportCaches() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(this.snapshot.length);
+        this.apiClient.exportCaches(outputStream);
+        return outputStream.size();
+    }
+
+    @Benchmark
+    public long importCaches() throws IOException {
+        return createApiClient(this.playersPerCache).importCaches(new ByteArrayInputStream(this.snapshot));
+    }
+}
@@ -0,0 +1,71 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+import de.timmi6790.api.mojang.deserializers.NameEntryDeserializer;
+import de.timmi6790.api.mojang.deserializers.PlayerInfoDeserializer;
+import de.timmi6790.api.mojang.deserializers.PlayerProfileDeserializer;
+import de.timmi6790.api.mojang.deserializers.StatusMapDeserializer;
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.Status;
+import okio.Buffer;
+import okio.ByteString;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializerBenchmark {
+    private final ByteString playerInfo = ByteString.encodeUtf8(BenchmarkResponses.PLAYER_INFO);
+    private final ByteString playerProfile = ByteString.encodeUtf8(BenchmarkResponses.PLAYER_PROFILE);
+    private final ByteString nameHistory = ByteString.encodeUtf8(BenchmarkResponses.NAME_HISTORY);
+    private final ByteString status = ByteString.encodeUtf8(BenchmarkResponses.STATUS);
+
+    private JsonAdapter<PlayerInfo> playerInfoDeserializer;
+    private JsonAdapter<PlayerProfile> playerProfileDeserializer;
+    private JsonAdapter<List<NameEntry>> nameHistoryDeserializer;
+    private JsonAdapter<Map<String, Status>> statusDeserializer;
+
+    @Setup
+    public void setup() {
+        // Same adapter setup as the client uses
+        final Moshi moshi = new Moshi.Builder()
+                .add(NameEntry.class, new NameEntryDeserializer())
+                .build();
+        this.playerInfoDeserializer = new PlayerInfoDeserializer();
+        this.playerProfileDeserializer = new PlayerProfileDeserializer();
+        this.nameHistoryDeserializer = moshi.adapter(Types.newParameterizedType(List.class, NameEntry.class));
+        this.statusDeserializer = new StatusMapDeserializer();
+    }
+
+    @Benchmark
+    public PlayerInfo playerInfo() throws IOException {
+        return this.playerInfoDeserializer.fromJson(new Buffer().write(this.playerInfo));
+    }
+
+    @Benchmark
+    public PlayerProfile playerProfile() throws IOException {
+        return this.playerProfileDeserializer.fromJson(new Buffer().write(this.playerProfile));
+    }
+
+    @Benchmark
+    public List<NameEntry> nameHistory() throws IOException {
+        return this.nameHistoryDeserializer.fromJson(new Buffer().write(this.nameHistory));
+    }
+
+    @Benchmark
+    public Map<String, Status> status() throws IOException {
+        return this.statusDeserializer.fromJson(new Buffer().write(this.status));
+    }
+}
@@ -0,0 +1,43 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import de.timmi6790.api.mojang.utilities.DeserializerUtilities;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializerUtilitiesBenchmark {
+    // The regex based parser used before the hand written one, kept as baseline
+    private static final Pattern FULL_UUID_PATTERN = Pattern.compile("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})");
+
+    // Not final, so the jit can't constant fold the input
+    private String mojangUUID = BenchmarkResponses.MOJANG_UUID;
+    private UUID uuid = BenchmarkResponses.PLAYER_UUID;
+
+    @Benchmark
+    public UUID convertMojangUUID() {
+        return DeserializerUtilities.convertMojangUUID(this.mojangUUID);
+    }
+
+    @Benchmark
+    public UUID convertMojangUUID_regex() {
+        return UUID.fromString(FULL_UUID_PATTERN.matcher(this.mojangUUID).replaceAll("$1-$2-$3-$4-$5"));
+    }
+
+    @Benchmark
+    public String toMojangUUID() {
+        return DeserializerUtilities.toMojangUUID(this.uuid);
+    }
+
+    @Benchmark
+    public String toMojangUUID_replace() {
+        return this.uuid.toString().replace("-", "");
+    }
+}
@@ -0,0 +1,100 @@
+package de.timmi6790.api.mojang.benchmarks;
+
+import de.timmi6790.api.mojang.MojangApiClient;
+import de.timmi6790.api.mojang.cache.CacheBackend;
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.Status;
+import okhttp3.mockwebserver.MockWebServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full requests against a local {@link MockWebServer}, every lookup misses the caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MojangApiClientBenchmark {
+    private MockWebServer server;
+    private MojangApiClient apiClient;
+
+    @Setup
+    public void setup() throws IOException {
+        this.server = new MockWebServer();
+        this.server.setDispatcher(BenchmarkResponses.createDispatcher());
+        this.server.start();
+
+        final String baseUrl = this.server.url("").toString().replaceAll("/$", "");
+        this.apiClient = MojangApiClient.builder()
+                .apiBaseUrl(baseUrl)
+                .sessionServerBaseUrl(baseUrl)
+                .statusBaseUrl(baseUrl)
+                .playerProfileCacheBackend(new NoopCacheBackend<>())
+                .playerInfoCacheBackend(new NoopCacheBackend<>())
+                .playerNameHistoryCacheBackend(new NoopCacheBackend<>())
+                .negativeCacheTtl(Duration.ZERO)
+                // Would answer repeated name lookups without a request
+                .identityStoreMaximumSize(0)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.server.shutdown();
+    }
+
+    @Benchmark
+    public Optional<PlayerProfile> playerProfile() {
+        return this.apiClient.getPlayerProfiler(BenchmarkResponses.PLAYER_UUID);
+    }
+
+    @Benchmark
+    public Optional<PlayerInfo> playerInfo() {
+        return this.apiClient.getPlayerInfo(BenchmarkResponses.PLAYER_NAME);
+    }
+
+    @Benchmark
+    public Optional<List<NameEntry>> playerNameHistory() {
+        return this.apiClient.getPlayerNameHistory(BenchmarkResponses.PLAYER_UUID);
+    }
+
+    @Benchmark
+    public Optional<Map<String, Status>> status() {
+        return this.apiClient.getStatus();
+    }
+
+    @Benchmark
+    public Optional<PlayerProfile> playerProfileAsync() {
+        return this.apiClient.getAsync().getPlayerProfileAsync(BenchmarkResponses.PLAYER_UUID).join();
+    }
+
+    private static class NoopCacheBackend<K, V> implements CacheBackend<K, V> {
+        @Override
+        public Optional<V> get(final K key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(final K key, final V value) {
+        }
+
+        @Override
+        public void put(final K key, final V value, final Duration ttl) {
+        }
+
+        @Override
+        public void invalidate(final K key) {
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package de.timmi6790.api.mojang;
+
+import lombok.RequiredArgsConstructor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Remembers the validators and the parsed value of the last successful response of a feed,
+ * so unchanged feeds are answered with 304 and don't need to be parsed again.
+ * Every caller shares the same value, it is made unmodifiable before it is handed out.
+ */
+@RequiredArgsConstructor
+class ConditionalFeed<T> {
+    static final int NOT_MODIFIED = 304;
+
+    private final UnaryOperator<T> unmodifiableView;
+    private volatile Snapshot<T> snapshot;
+
+    Request applyValidators(final Request request) {
+        final Snapshot<T> currentSnapshot = this.snapshot;
+        if (currentSnapshot == null) {
+            return request;
+        }
+
+        final Request.Builder builder = request.newBuilder();
+        if (currentSnapshot.etag != null) {
+            builder.header("If-None-Match", currentSnapshot.etag);
+        }
+        if (currentSnapshot.lastModified != null) {
+            builder.header("If-Modified-Since", currentSnapshot.lastModified);
+        }
+        return builder.build();
+    }
+
+    Optional<T> getValue() {
+        final Snapshot<T> currentSnapshot = this.snapshot;
+        return currentSnapshot == null ? Optional.empty() : Optional.of(currentSnapshot.value);
+    }
+
+    /**
+     * @return the unmodifiable value, which is returned for the next 304 responses as well
+     */
+    T update(final Response response, final T value) {
+        final T sharedValue = this.unmodifiableView.apply(value);
+        final String etag = response.header("ETag");
+        final String lastModified = response.header("Last-Modified");
+        // Without validators there is nothing to reuse
+        this.snapshot = etag == null && lastModified == null ? null : new Snapshot<>(etag, lastModified, sharedValue);
+        return sharedValue;
+    }
+
+    @RequiredArgsConstructor
+    private static class Snapshot<T> {
+        private final String etag;
+        private final String lastModified;
+        private final T value;
+    }
+}
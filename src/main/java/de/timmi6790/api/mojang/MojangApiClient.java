@@ -1,75 +1,323 @@
 package de.timmi6790.api.mojang;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
 import com.squareup.moshi.Moshi;
 import com.squareup.moshi.Types;
+import de.timmi6790.api.mojang.cache.CacheBackend;
+import de.timmi6790.api.mojang.cache.CacheSettings;
+import de.timmi6790.api.mojang.cache.CacheSnapshot;
+import de.timmi6790.api.mojang.cache.CaffeineCacheBackend;
+import de.timmi6790.api.mojang.cache.CompactCacheBackend;
+import de.timmi6790.api.mojang.cache.CompactCodec;
+import de.timmi6790.api.mojang.cache.CompactCodecs;
+import de.timmi6790.api.mojang.cache.IdentityStore;
+import de.timmi6790.api.mojang.cache.NegativeLookupCache;
+import de.timmi6790.api.mojang.cache.PlayerDiskStore;
+import de.timmi6790.api.mojang.cache.RefreshAheadCacheBackend;
 import de.timmi6790.api.mojang.deserializers.NameEntryDeserializer;
 import de.timmi6790.api.mojang.deserializers.PlayerInfoDeserializer;
 import de.timmi6790.api.mojang.deserializers.PlayerProfileDeserializer;
 import de.timmi6790.api.mojang.deserializers.StatusMapDeserializer;
+import de.timmi6790.api.mojang.history.NameHistoryIndex;
+import de.timmi6790.api.mojang.metrics.Endpoint;
+import de.timmi6790.api.mojang.metrics.MetricsEventListener;
+import de.timmi6790.api.mojang.metrics.MetricsListener;
+import de.timmi6790.api.mojang.metrics.MetricsStatsCounter;
+import de.timmi6790.api.mojang.models.BlockedServers;
 import de.timmi6790.api.mojang.models.NameEntry;
 import de.timmi6790.api.mojang.models.PlayerInfo;
 import de.timmi6790.api.mojang.models.PlayerProfile;
 import de.timmi6790.api.mojang.models.Status;
-import lombok.SneakyThrows;
-import okhttp3.HttpUrl;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
+import de.timmi6790.api.mojang.ratelimit.RateLimitInterceptor;
+import de.timmi6790.api.mojang.ratelimit.RateLimiter;
+import de.timmi6790.api.mojang.resilience.CircuitBreakerInterceptor;
+import de.timmi6790.api.mojang.resilience.HedgedRequests;
+import de.timmi6790.api.mojang.status.StatusInterceptor;
+import de.timmi6790.api.mojang.status.StatusMonitor;
+import de.timmi6790.api.mojang.utilities.BoundedFanOut;
+import de.timmi6790.api.mojang.utilities.DeserializerUtilities;
+import de.timmi6790.api.mojang.utilities.PlayerNames;
+import de.timmi6790.api.mojang.utilities.RequestCoalescer;
+import de.timmi6790.api.mojang.utilities.VirtualThreads;
+import lombok.*;
+import lombok.experimental.Accessors;
+import okhttp3.*;
+import okio.BufferedSource;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
-public class MojangApiClient {
+public class MojangApiClient implements Closeable {
     private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_11_5) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/50.0.2661.102 Safari/537.36";
-
-    private static MojangApiClient instance;
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+    // Mojang rejects bulk profile requests with more than 10 names
+    private static final int BULK_PLAYER_INFO_LIMIT = 10;
+    private static final long BLOCKED_SERVERS_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(30);
 
     public static MojangApiClient getInstance() {
-        if (instance == null) {
-            instance = new MojangApiClient();
-        }
-        return instance;
+        return InstanceHolder.INSTANCE;
     }
 
-    private final Cache<UUID, PlayerProfile> playerProfileCache = Caffeine
-            .newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .maximumSize(100)
-            .build();
+    public static Builder builder() {
+        return new Builder();
+    }
 
-    private final Cache<String, PlayerInfo> playerInfoCache = Caffeine
-            .newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .maximumSize(100)
-            .build();
+    @Getter(AccessLevel.PACKAGE)
+    private final CacheBackend<UUID, PlayerProfile> playerProfileCache;
+    @Getter(AccessLevel.PACKAGE)
+    private final CacheBackend<String, PlayerInfo> playerInfoCache;
+    @Getter(AccessLevel.PACKAGE)
+    private final CacheBackend<UUID, List<NameEntry>> playerNameHistoryCache;
+
+    // Players reported as not existing
+    @Getter(AccessLevel.PACKAGE)
+    private final NegativeLookupCache<UUID> missingPlayerProfiles;
+    @Getter(AccessLevel.PACKAGE)
+    private final NegativeLookupCache<String> missingPlayerInfos;
+    @Getter(AccessLevel.PACKAGE)
+    private final NegativeLookupCache<UUID> missingPlayerNameHistories;
 
+    // Concurrent cache misses for the same key share one request
+    @Getter(AccessLevel.PACKAGE)
+    private final RequestCoalescer<UUID, MojangResult<PlayerProfile>> playerProfileCoalescer = new RequestCoalescer<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final RequestCoalescer<String, MojangResult<PlayerInfo>> playerInfoCoalescer = new RequestCoalescer<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final RequestCoalescer<UUID, MojangResult<List<NameEntry>>> playerNameHistoryCoalescer = new RequestCoalescer<>();
+
+    @Getter
+    private final RateLimiter rateLimiter;
+    @Getter
+    private final MetricsListener metricsListener;
+    @Getter(AccessLevel.PACKAGE)
     private final OkHttpClient httpClient;
+    // Runs the refresh ahead checks of both caches, null without refresh ahead
+    @Getter(AccessLevel.PACKAGE)
+    private final ScheduledExecutorService refreshAheadScheduler;
+    // Parts of the http client created by the client itself, the supplied ones stay open on close
+    private final boolean ownsDispatcher;
+    private final boolean ownsConnectionPool;
+    // Deserialization is moved away from OkHttp's callback threads
+    @Getter(AccessLevel.PACKAGE)
+    private final Executor asyncExecutor;
+    // True when calls, callbacks and lookupAll run on virtual threads
+    @Getter
+    private final boolean virtualThreads;
+    // Created by the client in virtual thread mode, null otherwise
+    private final ExecutorService virtualThreadExecutor;
+    // Max profile requests in flight for one bulk profile lookup
+    @Getter(AccessLevel.PACKAGE)
+    private final int playerProfileConcurrency;
+
+    // Last blocked servers list, used for isServerBlocked
+    private final Duration blockedServersRefreshInterval;
+    private final Object blockedServersLock = new Object();
+    private final AtomicBoolean blockedServersRefreshing = new AtomicBoolean();
+    private volatile BlockedServers blockedServers;
+    private volatile long blockedServersUpdatedAt;
+    private volatile boolean blockedServersFetchFailed;
+    private volatile long blockedServersFailedAt;
+
+    // Optional per host circuit breakers
+    @Getter(AccessLevel.PACKAGE)
+    private final CircuitBreakerInterceptor circuitBreakerInterceptor;
+    // Optional hedging of session server lookups
+    private final HedgedRequests hedgedRequests;
+    // Blocking calls wait inside the interceptor, enqueued calls are scheduled by it
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    // Optional background status polling
+    private final StatusMonitor statusMonitor;
+
+    // Optional second level cache
+    private final PlayerDiskStore diskStore;
+    // Optional index of every fetched name history
+    private final NameHistoryIndex nameHistoryIndex;
+    // Current names of every player seen in any response
+    @Getter(AccessLevel.PACKAGE)
+    private final IdentityStore identityStore;
+
+    private final String apiBaseUrl;
+    private final String sessionServerBaseUrl;
+    private final String statusBaseUrl;
+    private final boolean signedProfileProperties;
 
-    private final Moshi moshi = new Moshi.Builder()
-            .add(NameEntry.class, new NameEntryDeserializer())
-            .build();
     private final StatusMapDeserializer statusDeserializer = new StatusMapDeserializer();
     private final PlayerInfoDeserializer playerInfoDeserializer = new PlayerInfoDeserializer();
     private final PlayerProfileDeserializer playerProfileDeserializer = new PlayerProfileDeserializer();
+    private final Moshi moshi = new Moshi.Builder()
+            .add(NameEntry.class, new NameEntryDeserializer())
+            .add(PlayerInfo.class, this.playerInfoDeserializer)
+            .build();
     private final JsonAdapter<List<NameEntry>> nameEntriesDeserializer = this.moshi.adapter(Types.newParameterizedType(List.class, NameEntry.class));
+    private final JsonAdapter<List<PlayerInfo>> playerInfosDeserializer = this.moshi.adapter(Types.newParameterizedType(List.class, PlayerInfo.class));
+    private final JsonAdapter<List<String>> playerNamesSerializer = this.moshi.adapter(Types.newParameterizedType(List.class, String.class));
+
+    @Getter(AccessLevel.PACKAGE)
+    private final ResponseParser<Map<String, Status>> statusParser = body -> this.statusDeserializer.fromJson(body.source());
+    @Getter(AccessLevel.PACKAGE)
+    private final ResponseParser<List<String>> blockedServersParser = this::parseBlockedServers;
+    @Getter(AccessLevel.PACKAGE)
+    private final ResponseParser<BlockedServers> blockedServerHashesParser = body -> BlockedServers.parse(body.source());
+    @Getter(AccessLevel.PACKAGE)
+    private final ResponseParser<PlayerInfo> playerInfoParser = body -> this.playerInfoDeserializer.fromJson(body.source());
+    @Getter(AccessLevel.PACKAGE)
+    private final ResponseParser<List<NameEntry>> nameHistoryParser = body -> this.nameEntriesDeserializer.fromJson(body.source());
+    @Getter(AccessLevel.PACKAGE)
+    private final ResponseParser<PlayerProfile> playerProfileParser = body -> this.playerProfileDeserializer.fromJson(body.source());
+
+    // Feeds that are polled regularly are requested conditionally
+    @Getter(AccessLevel.PACKAGE)
+    private final ConditionalFeed<Map<String, Status>> statusFeed = new ConditionalFeed<>(Collections::unmodifiableMap);
+    @Getter(AccessLevel.PACKAGE)
+    private final ConditionalFeed<List<String>> blockedServersFeed = new ConditionalFeed<>(Collections::unmodifiableList);
+    @Getter(AccessLevel.PACKAGE)
+    private final ConditionalFeed<BlockedServers> blockedServerHashesFeed = new ConditionalFeed<>(UnaryOperator.identity());
+
+    @Getter
+    private final MojangApiClientAsync async = new MojangApiClientAsync(this);
 
     private MojangApiClient() {
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .addInterceptor(chain -> {
-                    final Request originalRequest = chain.request();
-                    final Request requestWithUserAgent = originalRequest.newBuilder()
-                            .header("User-Agent", USER_AGENT)
-                            .build();
-                    return chain.proceed(requestWithUserAgent);
-                })
+        this(new Builder());
+    }
+
+    private MojangApiClient(final Builder builder) {
+        this.rateLimiter = builder.rateLimiter;
+        this.metricsListener = builder.metricsListener;
+        // Without virtual threads on the runtime the client keeps using the platform executors
+        this.virtualThreadExecutor = builder.virtualThreads && VirtualThreads.isAvailable()
+                ? VirtualThreads.newExecutor("mojang-api-client-")
+                : null;
+        this.virtualThreads = this.virtualThreadExecutor != null;
+        this.asyncExecutor = this.virtualThreads ? this.virtualThreadExecutor : builder.asyncExecutor;
+        this.playerProfileConcurrency = builder.playerProfileConcurrency;
+        this.diskStore = builder.diskStore;
+        this.nameHistoryIndex = builder.nameHistoryIndex;
+        this.blockedServersRefreshInterval = builder.blockedServersRefreshInterval;
+        this.statusMonitor = builder.statusMonitorInterval == null ? null : new StatusMonitor(this::getStatus, builder.statusMonitorInterval);
+        this.circuitBreakerInterceptor = builder.circuitBreakerFailureThreshold > 0
+                ? new CircuitBreakerInterceptor(builder.circuitBreakerFailureThreshold, builder.circuitBreakerOpenDuration)
+                : null;
+        this.hedgedRequests = builder.hedgedRequests;
+        this.rateLimitInterceptor = new RateLimitInterceptor(this.rateLimiter, this.metricsListener);
+        this.apiBaseUrl = builder.apiBaseUrl;
+        this.sessionServerBaseUrl = builder.sessionServerBaseUrl;
+        this.statusBaseUrl = builder.statusBaseUrl;
+        this.signedProfileProperties = builder.signedProfileProperties;
+
+        this.identityStore = new IdentityStore(builder.identityStoreMaximumSize, builder.identityStoreTtl, this::invalidateStaleName);
+        this.missingPlayerProfiles = new NegativeLookupCache<>(builder.negativeCacheTtl, builder.negativeCacheMaximumSize);
+        this.missingPlayerInfos = new NegativeLookupCache<>(builder.negativeCacheTtl, builder.negativeCacheMaximumSize);
+        this.missingPlayerNameHistories = new NegativeLookupCache<>(builder.negativeCacheTtl, builder.negativeCacheMaximumSize);
+
+        // Refreshes keep serving the stale entry until the new response arrived
+        final CacheBackend<UUID, PlayerProfile> playerProfileBackend = builder.playerProfileCacheBackend != null
+                ? builder.playerProfileCacheBackend
+                : this.createCacheBackend(
+                builder.playerProfileCache,
+                builder.compactCaches ? CompactCodecs.playerProfile() : null,
+                this.missingPlayerProfiles,
+                playerUUID -> this.executeLookupAsync(this.getPlayerProfileRequest(playerUUID), this.playerProfileParser)
+                        .thenApply(this::recordIdentity),
+                Endpoint.PLAYER_PROFILE
+        );
+        final CacheBackend<String, PlayerInfo> playerInfoBackend = builder.playerInfoCacheBackend != null
+                ? builder.playerInfoCacheBackend
+                : this.createCacheBackend(
+                builder.playerInfoCache,
+                builder.compactCaches ? CompactCodecs.playerInfo() : null,
+                this.missingPlayerInfos,
+                playerName -> this.executeLookupAsync(this.getPlayerInfoRequest(playerName, LocalDateTime.now()), this.playerInfoParser)
+                        .thenApply(this::recordIdentity),
+                Endpoint.PLAYER_INFO
+        );
+        this.playerNameHistoryCache = builder.playerNameHistoryCacheBackend != null
+                ? builder.playerNameHistoryCacheBackend
+                : this.createCacheBackend(
+                builder.playerNameHistoryCache,
+                builder.compactCaches ? CompactCodecs.playerNameHistory() : null,
+                this.missingPlayerNameHistories,
+                playerUUID -> this.executeLookupAsync(this.getPlayerNameHistoryRequest(playerUUID), this.nameHistoryParser),
+                Endpoint.PLAYER_NAME_HISTORY
+        );
+
+        this.refreshAheadScheduler = builder.refreshAheadWindow == null ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "mojang-refresh-ahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.playerProfileCache = this.withRefreshAhead(playerProfileBackend, builder.playerProfileCache, builder, this.refreshAheadScheduler, this::refreshPlayerProfiles);
+        this.playerInfoCache = this.withRefreshAhead(playerInfoBackend, builder.playerInfoCache, builder, this.refreshAheadScheduler, this::refreshPlayerInfos);
+
+        // A supplied client shares its dispatcher and connection pool with the new client
+        final OkHttpClient.Builder httpClientBuilder = builder.httpClient != null ? builder.httpClient.newBuilder() : new OkHttpClient.Builder();
+        httpClientBuilder.connectTimeout(builder.connectTimeout);
+        if (builder.readTimeout != null) {
+            httpClientBuilder.readTimeout(builder.readTimeout);
+        }
+        if (builder.callTimeout != null) {
+            httpClientBuilder.callTimeout(builder.callTimeout);
+        }
+        if (builder.dispatcher != null) {
+            httpClientBuilder.dispatcher(builder.dispatcher);
+        } else if (this.virtualThreads && builder.httpClient == null) {
+            httpClientBuilder.dispatcher(new Dispatcher(this.virtualThreadExecutor));
+        }
+        if (builder.connectionPool != null) {
+            httpClientBuilder.connectionPool(builder.connectionPool);
+        }
+        this.ownsDispatcher = builder.httpClient == null && builder.dispatcher == null;
+        this.ownsConnectionPool = builder.httpClient == null && builder.connectionPool == null;
+        if (builder.httpCache != null) {
+            httpClientBuilder.cache(builder.httpCache);
+        }
+        if (this.metricsListener != MetricsListener.NOOP) {
+            httpClientBuilder.eventListenerFactory(MetricsEventListener.factory(this.metricsListener));
+        }
+        httpClientBuilder.addInterceptor(chain -> {
+            final Request originalRequest = chain.request();
+            final Request requestWithUserAgent = originalRequest.newBuilder()
+                    .header("User-Agent", USER_AGENT)
+                    .build();
+            return chain.proceed(requestWithUserAgent);
+        });
+        if (this.statusMonitor != null && builder.skipUnavailableServices) {
+            httpClientBuilder.addInterceptor(new StatusInterceptor(this.statusMonitor));
+        }
+        if (this.circuitBreakerInterceptor != null) {
+            httpClientBuilder.addInterceptor(this.circuitBreakerInterceptor);
+        }
+        this.httpClient = httpClientBuilder
+                .addInterceptor(this.rateLimitInterceptor)
                 .build();
+
+        if (this.statusMonitor != null) {
+            this.statusMonitor.start();
+        }
     }
 
     protected Request getGetRequest(final String url) {
@@ -79,35 +327,615 @@ public class MojangApiClient {
                 .build();
     }
 
-    @SneakyThrows
-    public Optional<Map<String, Status>> getStatus() {
-        final Request request = this.getGetRequest("https://status.mojang.com/check");
-        try (final Response response = this.httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                return Optional.empty();
+    protected Request getPostRequest(final String url, final RequestBody body) {
+        final HttpUrl httpUrl = HttpUrl.parse(url);
+        return new Request.Builder()
+                .url(httpUrl)
+                .post(body)
+                .build();
+    }
+
+    private Request withEndpoint(final Request request, final Endpoint endpoint) {
+        return request.newBuilder()
+                .tag(Endpoint.class, endpoint)
+                .build();
+    }
+
+    Request getStatusRequest() {
+        return this.withEndpoint(this.getGetRequest(this.statusBaseUrl + "/check"), Endpoint.STATUS);
+    }
+
+    Request getBlockedServersRequest() {
+        return this.withEndpoint(this.getGetRequest(this.sessionServerBaseUrl + "/blockedservers"), Endpoint.BLOCKED_SERVERS);
+    }
+
+    Request getPlayerInfoRequest(final String playerName, final LocalDateTime atTime) {
+        final long unixTime = atTime.toEpochSecond(ZoneOffset.UTC);
+        return this.withEndpoint(
+                this.getGetRequest(this.apiBaseUrl + "/users/profiles/minecraft/" + playerName + "?at=" + unixTime),
+                Endpoint.PLAYER_INFO
+        );
+    }
+
+    Request getPlayerNameHistoryRequest(final UUID playerUUID) {
+        return this.withEndpoint(
+                this.getGetRequest(this.apiBaseUrl + "/user/profiles/" + DeserializerUtilities.toMojangUUID(playerUUID) + "/names"),
+                Endpoint.PLAYER_NAME_HISTORY
+        );
+    }
+
+    Request getPlayerProfileRequest(final UUID playerUUID) {
+        return this.withEndpoint(
+                this.getGetRequest(this.sessionServerBaseUrl + "/session/minecraft/profile/" + DeserializerUtilities.toMojangUUID(playerUUID)
+                        + (this.signedProfileProperties ? "?unsigned=false" : "")),
+                Endpoint.PLAYER_PROFILE
+        );
+    }
+
+    protected <T> Optional<T> parseResponse(final Response response, final ResponseParser<T> parser) throws IOException {
+        if (!response.isSuccessful()) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(this.parseBody(response, parser));
+    }
+
+    /**
+     * Player lookups separate unknown players from failed requests.
+     *
+     * @return empty when the player doesn't exist
+     * @throws IOException for every other unsuccessful response
+     */
+    protected <T> Optional<T> parseLookupResponse(final Response response, final ResponseParser<T> parser) throws IOException {
+        // Mojang answers unknown players with 204 or 404
+        if (response.code() == 204 || response.code() == 404) {
+            return Optional.empty();
+        }
+
+        if (!response.isSuccessful()) {
+            throw this.unexpectedResponse(response);
+        }
+        return Optional.ofNullable(this.parseBody(response, parser));
+    }
+
+    private UnexpectedResponseException unexpectedResponse(final Response response) {
+        return new UnexpectedResponseException(
+                response.code(),
+                response.request().url().toString(),
+                RateLimitInterceptor.parseRetryAfter(response)
+        );
+    }
+
+    /**
+     * Reuses the value of the feed when the server answers with 304.
+     */
+    <T> Optional<T> parseConditionalResponse(final Response response,
+                                             final ConditionalFeed<T> feed,
+                                             final ResponseParser<T> parser) throws IOException {
+        if (response.code() == ConditionalFeed.NOT_MODIFIED) {
+            return feed.getValue();
+        }
+
+        return this.parseResponse(response, parser).map(parsedValue -> feed.update(response, parsedValue));
+    }
+
+    /**
+     * Conditional response that fails for every unsuccessful response except 304.
+     */
+    private <T> Optional<T> parseRequiredConditionalResponse(final Response response,
+                                                             final ConditionalFeed<T> feed,
+                                                             final ResponseParser<T> parser) throws IOException {
+        if (!response.isSuccessful() && response.code() != ConditionalFeed.NOT_MODIFIED) {
+            throw this.unexpectedResponse(response);
+        }
+        return this.parseConditionalResponse(response, feed, parser);
+    }
+
+    private <T> T parseBody(final Response response, final ResponseParser<T> parser) throws IOException {
+        final Endpoint endpoint = response.request().tag(Endpoint.class);
+        if (endpoint == null) {
+            return parser.parse(response.body());
+        }
+
+        final long start = System.nanoTime();
+        try {
+            return parser.parse(response.body());
+        } finally {
+            this.metricsListener.onDeserialization(endpoint, System.nanoTime() - start);
+        }
+    }
+
+    private boolean isHedged(final Request request) {
+        // Only the idempotent session server lookups are worth a second request
+        return this.hedgedRequests != null && request.tag(Endpoint.class) == Endpoint.PLAYER_PROFILE;
+    }
+
+    private Response call(final Request request) throws IOException {
+        if (!this.isHedged(request)) {
+            return this.httpClient.newCall(request).execute();
+        }
+
+        try {
+            return this.hedgedRequests.execute(this.httpClient, request).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private CompletableFuture<Response> enqueue(final Request request) {
+        return this.rateLimitInterceptor.enqueue(request, this::send);
+    }
+
+    private CompletableFuture<Response> send(final Request request) {
+        if (this.isHedged(request)) {
+            return this.hedgedRequests.execute(this.httpClient, request);
+        }
+
+        final CompletableFuture<Response> responseFuture = new CompletableFuture<>();
+        this.httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                responseFuture.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                responseFuture.complete(response);
+            }
+        });
+        return responseFuture;
+    }
+
+    private <T> Optional<T> execute(final Request request, final ResponseHandler<T> handler) throws IOException {
+        try (final Response response = this.call(request)) {
+            return handler.handle(response);
+        }
+    }
+
+    protected <T> Optional<T> executeRequest(final Request request, final ResponseParser<T> parser) throws IOException {
+        return this.execute(request, response -> this.parseResponse(response, parser));
+    }
+
+    protected <T> Optional<T> executeLookup(final Request request, final ResponseParser<T> parser) throws IOException {
+        return this.execute(request, response -> this.parseLookupResponse(response, parser));
+    }
+
+    private <T> CompletableFuture<Optional<T>> executeAsync(final Request request, final ResponseHandler<T> handler) {
+        return this.enqueue(request).thenApplyAsync(response -> {
+            try (final Response closeableResponse = response) {
+                return handler.handle(closeableResponse);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
             }
+        }, this.asyncExecutor);
+    }
+
+    protected <T> CompletableFuture<Optional<T>> executeRequestAsync(final Request request, final ResponseParser<T> parser) {
+        return this.executeAsync(request, response -> this.parseResponse(response, parser));
+    }
+
+    protected <T> CompletableFuture<Optional<T>> executeLookupAsync(final Request request, final ResponseParser<T> parser) {
+        return this.executeAsync(request, response -> this.parseLookupResponse(response, parser));
+    }
+
+    <T> MojangResult<T> executeConditionalResult(final Request request,
+                                                 final ConditionalFeed<T> feed,
+                                                 final ResponseParser<T> parser) {
+        try {
+            return MojangResult.of(this.execute(feed.applyValidators(request), response -> this.parseRequiredConditionalResponse(response, feed, parser)));
+        } catch (final IOException | JsonDataException e) {
+            return MojangResult.fromError(e);
+        }
+    }
+
+    <T> CompletableFuture<MojangResult<T>> executeConditionalResultAsync(final Request request,
+                                                                         final ConditionalFeed<T> feed,
+                                                                         final ResponseParser<T> parser) {
+        return toResult(this.executeAsync(feed.applyValidators(request), response -> this.parseRequiredConditionalResponse(response, feed, parser)));
+    }
+
+    static <T> CompletableFuture<MojangResult<T>> toResult(final CompletableFuture<Optional<T>> future) {
+        return future.handle((value, throwable) -> throwable == null ? MojangResult.of(value) : MojangResult.fromError(throwable));
+    }
+
+    private Supplier<StatsCounter> createStatsCounterSupplier(final Endpoint endpoint) {
+        if (this.metricsListener == MetricsListener.NOOP) {
+            return null;
+        }
+        return () -> new MetricsStatsCounter(endpoint, this.metricsListener);
+    }
+
+    /**
+     * @param codec stores the values packed when present
+     */
+    private <K, V, C> CacheBackend<K, V> createCacheBackend(final CacheSettings<K, V> settings,
+                                                            final CompactCodec<V, C> codec,
+                                                            final NegativeLookupCache<K> negativeCache,
+                                                            final Function<K, CompletableFuture<Optional<V>>> lookup,
+                                                            final Endpoint endpoint) {
+        if (codec == null) {
+            return new CaffeineCacheBackend<>(settings.buildCache(
+                    this.createRefreshLoader(negativeCache, lookup, Function.identity()),
+                    this.createStatsCounterSupplier(endpoint)
+            ));
+        }
+
+        return new CompactCacheBackend<>(settings.buildCompactCache(
+                codec,
+                this.createRefreshLoader(negativeCache, lookup, codec::pack),
+                this.createStatsCounterSupplier(endpoint)
+        ), codec);
+    }
 
-            return Optional.ofNullable(this.statusDeserializer.fromJson(response.body().source()));
+    private <K, V> CacheBackend<K, V> withRefreshAhead(final CacheBackend<K, V> backend,
+                                                      final CacheSettings<K, V> settings,
+                                                      final Builder builder,
+                                                      final ScheduledExecutorService scheduler,
+                                                      final Function<Collection<K>, CompletableFuture<?>> refresher) {
+        // Entries without a time to live never need a refresh
+        if (scheduler == null || settings.getExpireAfterWrite() == null) {
+            return backend;
         }
+
+        return new RefreshAheadCacheBackend<>(
+                backend,
+                settings.getExpireAfterWrite(),
+                builder.refreshAheadWindow,
+                builder.refreshAheadMinimumHits,
+                builder.refreshAheadMaximumKeys,
+                refresher
+        ).start(scheduler);
+    }
+
+    private CompletableFuture<?> refreshPlayerProfiles(final Collection<UUID> playerUUIDs) {
+        // Skips the cache, the entries are still present until they expire
+        return BoundedFanOut.execute(
+                playerUUIDs,
+                this.playerProfileConcurrency,
+                playerUUID -> this.executeLookupAsync(this.getPlayerProfileRequest(playerUUID), this.playerProfileParser)
+                        .thenCompose(playerProfile -> this.storePlayerProfileLookupAsync(playerUUID, playerProfile))
+                        // A failed refresh must not stop the remaining ones
+                        .exceptionally(throwable -> Optional.empty()),
+                (playerUUID, playerProfile) -> {
+                }
+        );
+    }
+
+    private CompletableFuture<?> refreshPlayerInfos(final Collection<String> playerNames) {
+        // Skips the cache and uses the bulk endpoint, unknown names expire normally
+        final Set<String> playerNameKeys = new LinkedHashSet<>(playerNames.size());
+        for (final String playerName : playerNames) {
+            playerNameKeys.add(PlayerNames.toKey(playerName));
+        }
+        final List<String> uniquePlayerNames = new ArrayList<>(playerNameKeys);
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int index = 0; uniquePlayerNames.size() > index; index += BULK_PLAYER_INFO_LIMIT) {
+            final List<String> chunk = uniquePlayerNames.subList(index, Math.min(index + BULK_PLAYER_INFO_LIMIT, uniquePlayerNames.size()));
+            futures.add(this.requestPlayerInfos(chunk).thenCompose(playerInfos -> playerInfos.isPresent()
+                    ? this.storePlayerInfosAsync(playerInfos.get())
+                    : CompletableFuture.completedFuture(null)
+            ));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private <K, V, S> CacheLoader<K, S> createRefreshLoader(final NegativeLookupCache<K> negativeCache,
+                                                            final Function<K, CompletableFuture<Optional<V>>> lookup,
+                                                            final Function<V, S> toStoredValue) {
+        return new CacheLoader<K, S>() {
+            @Override
+            public S load(final K key) {
+                return this.asyncReload(key, null, MojangApiClient.this.asyncExecutor).join();
+            }
+
+            @Override
+            public CompletableFuture<S> asyncReload(final K key, final S oldValue, final Executor executor) {
+                // A failed refresh keeps the old value, an unknown player removes it
+                return lookup.apply(key).thenApply(value -> {
+                    if (!value.isPresent()) {
+                        negativeCache.markMissing(key);
+                    }
+                    return value.map(toStoredValue).orElse(null);
+                });
+            }
+        };
+    }
+
+    private List<String> parseBlockedServers(final ResponseBody responseBody) throws IOException {
+        final BufferedSource source = responseBody.source();
+        final List<String> blockedServers = new ArrayList<>();
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            blockedServers.add(line.trim());
+        }
+        return blockedServers;
+    }
+
+    Optional<PlayerProfile> getStoredPlayerProfile(final UUID playerUUID) {
+        final Optional<PlayerProfile> cacheEntry = this.playerProfileCache.get(playerUUID);
+        if (cacheEntry.isPresent()) {
+            return cacheEntry;
+        }
+        return this.getDiskPlayerProfile(playerUUID);
+    }
+
+    CompletableFuture<Optional<PlayerProfile>> getStoredPlayerProfileAsync(final UUID playerUUID) {
+        return this.playerProfileCache.getAsync(playerUUID)
+                .thenApply(cacheEntry -> cacheEntry.isPresent() ? cacheEntry : this.getDiskPlayerProfile(playerUUID));
+    }
+
+    private Optional<PlayerProfile> getDiskPlayerProfile(final UUID playerUUID) {
+        if (this.diskStore != null) {
+            try {
+                final Optional<PlayerProfile> diskEntry = this.diskStore.getPlayerProfile(playerUUID);
+                // Filling the cache doesn't delay the lookup
+                diskEntry.ifPresent(playerProfile -> this.playerProfileCache.putAsync(playerUUID, playerProfile));
+                return diskEntry;
+            } catch (final IOException ignore) {
+                // The disk store is only a best effort cache
+            }
+        }
+        return Optional.empty();
+    }
+
+    void storePlayerProfile(final UUID playerUUID, final PlayerProfile playerProfile) {
+        this.storePlayerProfileAsync(playerUUID, playerProfile).join();
+    }
+
+    /**
+     * @return completes after the cache stored the profile, without blocking on remote cache backends
+     */
+    private CompletableFuture<Void> storePlayerProfileAsync(final UUID playerUUID, final PlayerProfile playerProfile) {
+        this.recordIdentity(playerProfile.getUuid(), playerProfile.getName());
+        this.missingPlayerProfiles.invalidate(playerUUID);
+        final CompletableFuture<Void> cacheWrite = this.playerProfileCache.putAsync(playerUUID, playerProfile);
+        if (this.diskStore != null) {
+            try {
+                this.diskStore.putPlayerProfile(playerProfile);
+            } catch (final IOException ignore) {
+                // The disk store is only a best effort cache
+            }
+        }
+        return cacheWrite;
+    }
+
+    Optional<PlayerInfo> getStoredPlayerInfo(final String playerName) {
+        final Optional<PlayerInfo> cacheEntry = this.playerInfoCache.get(playerName);
+        if (cacheEntry.isPresent()) {
+            return cacheEntry;
+        }
+        return this.getKnownPlayerInfo(playerName);
+    }
+
+    CompletableFuture<Optional<PlayerInfo>> getStoredPlayerInfoAsync(final String playerName) {
+        return this.playerInfoCache.getAsync(playerName)
+                .thenApply(cacheEntry -> cacheEntry.isPresent() ? cacheEntry : this.getKnownPlayerInfo(playerName));
+    }
+
+    /**
+     * Builds the player info from a name seen in another response, e.g. a profile, before checking the disk store.
+     */
+    private Optional<PlayerInfo> getKnownPlayerInfo(final String playerName) {
+        final Optional<UUID> knownUUID = this.identityStore.getUUID(playerName);
+        if (knownUUID.isPresent()) {
+            final Optional<String> knownName = this.identityStore.getName(knownUUID.get());
+            if (knownName.isPresent() && knownName.get().equalsIgnoreCase(playerName)) {
+                final PlayerInfo playerInfo = new PlayerInfo(knownUUID.get(), knownName.get());
+                this.playerInfoCache.putAsync(playerName, playerInfo);
+                return Optional.of(playerInfo);
+            }
+        }
+        return this.getDiskPlayerInfo(playerName);
+    }
+
+    private <T extends PlayerInfo> Optional<T> recordIdentity(final Optional<T> playerInfo) {
+        playerInfo.ifPresent(info -> this.recordIdentity(info.getUuid(), info.getName()));
+        return playerInfo;
+    }
+
+    private void recordIdentity(final UUID playerUUID, final String playerName) {
+        this.identityStore.record(playerUUID, playerName);
+        this.missingPlayerProfiles.invalidate(playerUUID);
+        this.missingPlayerInfos.invalidate(PlayerNames.toKey(playerName));
+    }
+
+    /**
+     * The name moved to another player, the previous owner has a new name.
+     */
+    private void invalidateStaleName(final String playerName, final UUID previousOwner) {
+        this.playerInfoCache.invalidateAsync(PlayerNames.toKey(playerName));
+        this.playerProfileCache.getAsync(previousOwner).thenAccept(playerProfile -> {
+            if (playerProfile.isPresent() && playerProfile.get().getName().equalsIgnoreCase(playerName)) {
+                this.playerProfileCache.invalidateAsync(previousOwner);
+            }
+        });
+    }
+
+    private Optional<PlayerInfo> getDiskPlayerInfo(final String playerName) {
+        if (this.diskStore != null) {
+            try {
+                final Optional<PlayerInfo> diskEntry = this.diskStore.getPlayerInfo(playerName);
+                diskEntry.ifPresent(playerInfo -> this.playerInfoCache.putAsync(playerName, playerInfo));
+                return diskEntry;
+            } catch (final IOException ignore) {
+                // The disk store is only a best effort cache
+            }
+        }
+        return Optional.empty();
+    }
+
+    void storePlayerInfo(final String playerName, final PlayerInfo playerInfo) {
+        this.storePlayerInfosAsync(Collections.singletonMap(playerName, playerInfo)).join();
+    }
+
+    private CompletableFuture<Void> storePlayerInfosAsync(final Map<String, PlayerInfo> playerInfos) {
+        if (playerInfos.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        for (final PlayerInfo playerInfo : playerInfos.values()) {
+            this.recordIdentity(playerInfo.getUuid(), playerInfo.getName());
+        }
+        playerInfos.keySet().forEach(this.missingPlayerInfos::invalidate);
+        final CompletableFuture<Void> cacheWrite = this.playerInfoCache.putAllAsync(playerInfos);
+        if (this.diskStore != null) {
+            try {
+                for (final Map.Entry<String, PlayerInfo> entry : playerInfos.entrySet()) {
+                    this.diskStore.putPlayerInfo(entry.getKey(), entry.getValue());
+                }
+            } catch (final IOException ignore) {
+                // The disk store is only a best effort cache
+            }
+        }
+        return cacheWrite;
+    }
+
+    Optional<PlayerProfile> storePlayerProfileLookup(final UUID playerUUID, final Optional<PlayerProfile> playerProfile) {
+        return this.storePlayerProfileLookupAsync(playerUUID, playerProfile).join();
+    }
+
+    CompletableFuture<Optional<PlayerProfile>> storePlayerProfileLookupAsync(final UUID playerUUID, final Optional<PlayerProfile> playerProfile) {
+        if (playerProfile.isPresent()) {
+            return this.storePlayerProfileAsync(playerUUID, playerProfile.get()).thenApply(ignored -> playerProfile);
+        }
+
+        this.identityStore.invalidate(playerUUID);
+        this.missingPlayerProfiles.markMissing(playerUUID);
+        return CompletableFuture.completedFuture(playerProfile);
+    }
+
+    Optional<PlayerInfo> storePlayerInfoLookup(final String playerName, final Optional<PlayerInfo> playerInfo) {
+        return this.storePlayerInfoLookupAsync(playerName, playerInfo).join();
+    }
+
+    CompletableFuture<Optional<PlayerInfo>> storePlayerInfoLookupAsync(final String playerName, final Optional<PlayerInfo> playerInfo) {
+        if (playerInfo.isPresent()) {
+            return this.storePlayerInfosAsync(Collections.singletonMap(playerName, playerInfo.get())).thenApply(ignored -> playerInfo);
+        }
+
+        this.identityStore.invalidate(playerName);
+        this.missingPlayerInfos.markMissing(playerName);
+        return CompletableFuture.completedFuture(playerInfo);
+    }
+
+    Optional<List<NameEntry>> storePlayerNameHistoryLookup(final UUID playerUUID, final Optional<List<NameEntry>> nameHistory) {
+        return this.storePlayerNameHistoryLookupAsync(playerUUID, nameHistory).join();
+    }
+
+    CompletableFuture<Optional<List<NameEntry>>> storePlayerNameHistoryLookupAsync(final UUID playerUUID, final Optional<List<NameEntry>> nameHistory) {
+        if (!nameHistory.isPresent()) {
+            this.missingPlayerNameHistories.markMissing(playerUUID);
+            return CompletableFuture.completedFuture(nameHistory);
+        }
+
+        // The last entry is the current name
+        if (!nameHistory.get().isEmpty()) {
+            this.recordIdentity(playerUUID, nameHistory.get().get(nameHistory.get().size() - 1).getName());
+        }
+        this.missingPlayerNameHistories.invalidate(playerUUID);
+        final CompletableFuture<Void> cacheWrite = this.playerNameHistoryCache.putAsync(playerUUID, nameHistory.get());
+        if (this.nameHistoryIndex != null) {
+            this.nameHistoryIndex.update(playerUUID, nameHistory.get());
+        }
+        return cacheWrite.thenApply(ignored -> nameHistory);
+    }
+
+    public Optional<Map<String, Status>> getStatus() {
+        return this.getStatusResult().getValue();
+    }
+
+    public MojangResult<Map<String, Status>> getStatusResult() {
+        return this.executeConditionalResult(this.getStatusRequest(), this.statusFeed, this.statusParser);
+    }
+
+    /**
+     * @return the monitor enabled with {@link Builder#statusMonitorInterval(Duration)}
+     */
+    public Optional<StatusMonitor> getStatusMonitor() {
+        return Optional.ofNullable(this.statusMonitor);
+    }
+
+    /**
+     * @return the index enabled with {@link Builder#nameHistoryIndex(NameHistoryIndex)}
+     */
+    public Optional<NameHistoryIndex> getNameHistoryIndex() {
+        return Optional.ofNullable(this.nameHistoryIndex);
     }
 
     public Optional<List<String>> getBlockedServers() {
-        final Request request = this.getGetRequest("https://sessionserver.mojang.com/blockedservers");
-        try (final Response response = this.httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                return Optional.empty();
+        return this.getBlockedServersResult().getValue();
+    }
+
+    public MojangResult<List<String>> getBlockedServersResult() {
+        return this.executeConditionalResult(this.getBlockedServersRequest(), this.blockedServersFeed, this.blockedServersParser);
+    }
+
+    /**
+     * Streams the blocked servers list into a compact hash set, without keeping the hashes as strings.
+     */
+    public Optional<BlockedServers> getBlockedServerHashes() {
+        return this.getBlockedServerHashesResult().getValue();
+    }
+
+    public MojangResult<BlockedServers> getBlockedServerHashesResult() {
+        final MojangResult<BlockedServers> result = this.executeConditionalResult(
+                this.getBlockedServersRequest(),
+                this.blockedServerHashesFeed,
+                this.blockedServerHashesParser
+        );
+        result.getValue().ifPresent(this::setBlockedServers);
+        return result;
+    }
+
+    void setBlockedServers(final BlockedServers blockedServers) {
+        this.blockedServers = blockedServers;
+        this.blockedServersUpdatedAt = System.nanoTime();
+    }
+
+    /**
+     * Checks the address against the last fetched blocked servers list.
+     * Only the first call waits for the list, later calls refresh it in the background.
+     * A failed first fetch is retried after a delay, until then the calls don't wait for the network.
+     *
+     * @param address hostname or ipv4 address, an optional port is ignored
+     * @return false if the list could not be fetched
+     */
+    public boolean isServerBlocked(final String address) {
+        BlockedServers currentBlockedServers = this.blockedServers;
+        if (currentBlockedServers == null) {
+            if (this.isBlockedServersRetryPending()) {
+                return false;
             }
 
-            final String body = response.body().string();
-            final String[] lines = body.split("\n");
-            final List<String> formattedLines = new ArrayList<>(lines.length);
-            for (final String line : lines) {
-                formattedLines.add(line.trim());
+            synchronized (this.blockedServersLock) {
+                if (this.blockedServers == null && !this.isBlockedServersRetryPending()) {
+                    this.getBlockedServerHashes();
+                    if (this.blockedServers == null) {
+                        this.blockedServersFailedAt = System.nanoTime();
+                        this.blockedServersFetchFailed = true;
+                    }
+                }
+                currentBlockedServers = this.blockedServers;
             }
-            return Optional.of(formattedLines);
-        } catch (final IOException e) {
-            return Optional.empty();
+            if (currentBlockedServers == null) {
+                return false;
+            }
+        } else if (System.nanoTime() - this.blockedServersUpdatedAt > this.blockedServersRefreshInterval.toNanos()
+                && this.blockedServersRefreshing.compareAndSet(false, true)) {
+            this.async.getBlockedServerHashesAsync().whenComplete((result, throwable) -> this.blockedServersRefreshing.set(false));
         }
+
+        return currentBlockedServers.isServerBlocked(address);
+    }
+
+    private boolean isBlockedServersRetryPending() {
+        return this.blockedServersFetchFailed && BLOCKED_SERVERS_RETRY_DELAY_NANOS > System.nanoTime() - this.blockedServersFailedAt;
     }
 
     public Optional<PlayerInfo> getPlayerInfo(final String playerName) {
@@ -115,71 +943,448 @@ public class MojangApiClient {
     }
 
     public Optional<PlayerInfo> getPlayerInfo(final String playerName, final LocalDateTime atTime) {
+        return this.getPlayerInfoResult(playerName, atTime).getValue();
+    }
+
+    public MojangResult<PlayerInfo> getPlayerInfoResult(final String playerName) {
+        return this.getPlayerInfoResult(playerName, LocalDateTime.now());
+    }
+
+    public MojangResult<PlayerInfo> getPlayerInfoResult(@NonNull final String playerName, final LocalDateTime atTime) {
+        if (!PlayerNames.isValid(playerName)) {
+            return MojangResult.notFound();
+        }
+
         // Cache check
         // We can do this for now without caring for the timestamp, it is currently broken
-        final PlayerInfo cacheEntry = this.playerInfoCache.getIfPresent(playerName);
-        if (cacheEntry != null) {
-            return Optional.of(cacheEntry);
+        final String playerKey = PlayerNames.toKey(playerName);
+        final Optional<PlayerInfo> cacheEntry = this.playerInfoCache.get(playerKey);
+        if (cacheEntry.isPresent()) {
+            return MojangResult.found(cacheEntry.get());
         }
 
-        final long unixTime = atTime.toEpochSecond(ZoneOffset.UTC);
-        final Request request = this.getGetRequest("https://api.mojang.com/users/profiles/minecraft/" + playerName + "?at=" + unixTime);
-        try (final Response response = this.httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                return Optional.empty();
+        if (this.missingPlayerInfos.isMissing(playerKey)) {
+            return MojangResult.notFound();
+        }
+
+        return this.playerInfoCoalescer.execute(playerKey, () -> this.requestPlayerInfo(playerKey, atTime));
+    }
+
+    private MojangResult<PlayerInfo> requestPlayerInfo(final String playerName, final LocalDateTime atTime) {
+        // The cache could be filled by a request that finished after the first cache check
+        final Optional<PlayerInfo> storedPlayerInfo = this.getStoredPlayerInfo(playerName);
+        if (storedPlayerInfo.isPresent()) {
+            return MojangResult.found(storedPlayerInfo.get());
+        }
+
+        try {
+            return MojangResult.of(this.storePlayerInfoLookup(playerName, this.fetchPlayerInfo(playerName, atTime)));
+        } catch (final IOException | JsonDataException e) {
+            return MojangResult.fromError(e);
+        }
+    }
+
+    private Optional<PlayerInfo> fetchPlayerInfo(final String playerName, final LocalDateTime atTime) throws IOException {
+        return this.executeLookup(this.getPlayerInfoRequest(playerName, atTime), this.playerInfoParser);
+    }
+
+    public Map<String, PlayerInfo> getPlayerInfos(@NonNull final Collection<String> playerNames) {
+        return this.getPlayerInfosAsync(playerNames).join();
+    }
+
+    CompletableFuture<Map<String, PlayerInfo>> getPlayerInfosAsync(final Collection<String> playerNames) {
+        // Cache check, the whole batch is requested at once for remote cache backends
+        final Set<String> uniquePlayerNames = new LinkedHashSet<>(playerNames.size());
+        for (final String playerName : playerNames) {
+            if (PlayerNames.isValid(playerName)) {
+                uniquePlayerNames.add(PlayerNames.toKey(playerName));
+            }
+        }
+
+        return this.playerInfoCache.getAllAsync(uniquePlayerNames).thenCompose(cacheEntries -> {
+            final Map<String, PlayerInfo> playerInfos = new HashMap<>(playerNames.size());
+            playerInfos.putAll(cacheEntries);
+
+            final List<String> missingPlayerNames = new ArrayList<>();
+            for (final String playerName : uniquePlayerNames) {
+                if (playerInfos.containsKey(playerName) || this.missingPlayerInfos.isMissing(playerName)) {
+                    continue;
+                }
+
+                final Optional<PlayerInfo> knownEntry = this.getKnownPlayerInfo(playerName);
+                if (knownEntry.isPresent()) {
+                    playerInfos.put(playerName, knownEntry.get());
+                } else {
+                    missingPlayerNames.add(playerName);
+                }
             }
 
-            final PlayerInfo playerInfo = this.playerInfoDeserializer.fromJson(response.body().source());
-            if (playerInfo != null) {
-                this.playerInfoCache.put(playerName, playerInfo);
+            // Dispatch all chunks at once, OkHttp's dispatcher limits the parallel requests per host
+            final Map<List<String>, CompletableFuture<Optional<Map<String, PlayerInfo>>>> futures = new LinkedHashMap<>();
+            for (int index = 0; missingPlayerNames.size() > index; index += BULK_PLAYER_INFO_LIMIT) {
+                final List<String> chunk = missingPlayerNames.subList(index, Math.min(index + BULK_PLAYER_INFO_LIMIT, missingPlayerNames.size()));
+                futures.put(chunk, this.requestPlayerInfos(chunk));
+            }
+
+            return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenCompose(ignored -> {
+                final Map<String, PlayerInfo> foundPlayerInfos = new HashMap<>();
+                for (final Map.Entry<List<String>, CompletableFuture<Optional<Map<String, PlayerInfo>>>> entry : futures.entrySet()) {
+                    entry.getValue().join().ifPresent(chunkPlayerInfos -> {
+                        foundPlayerInfos.putAll(chunkPlayerInfos);
+                        // Unknown names are left out of a successful response
+                        for (final String playerName : entry.getKey()) {
+                            if (!chunkPlayerInfos.containsKey(playerName)) {
+                                this.identityStore.invalidate(playerName);
+                                this.missingPlayerInfos.markMissing(playerName);
+                            }
+                        }
+                    });
+                }
+                playerInfos.putAll(foundPlayerInfos);
+                return this.storePlayerInfosAsync(foundPlayerInfos);
+            }).thenApply(ignored -> {
+                // The results are keyed by the requested names, not by their cache keys
+                final Map<String, PlayerInfo> requestedPlayerInfos = new HashMap<>(playerInfos.size());
+                for (final String playerName : playerNames) {
+                    final PlayerInfo playerInfo = PlayerNames.isValid(playerName) ? playerInfos.get(PlayerNames.toKey(playerName)) : null;
+                    if (playerInfo != null) {
+                        requestedPlayerInfos.put(playerName, playerInfo);
+                    }
+                }
+                return requestedPlayerInfos;
+            });
+        });
+    }
+
+    private CompletableFuture<Optional<Map<String, PlayerInfo>>> requestPlayerInfos(final List<String> playerNames) {
+        final RequestBody body = RequestBody.create(this.playerNamesSerializer.toJson(playerNames), JSON_MEDIA_TYPE);
+        final Request request = this.withEndpoint(this.getPostRequest(this.apiBaseUrl + "/profiles/minecraft", body), Endpoint.PLAYER_INFOS);
+
+        return this.executeRequestAsync(request, responseBody -> this.playerInfosDeserializer.fromJson(responseBody.source()))
+                .thenApply(foundPlayerInfos -> foundPlayerInfos.map(infos -> this.mapToRequestedNames(playerNames, infos)))
+                .exceptionally(throwable -> Optional.empty());
+    }
+
+    private Map<String, PlayerInfo> mapToRequestedNames(final List<String> requestedNames, final List<PlayerInfo> playerInfos) {
+        // Mojang returns the names in their correct casing, the requested names are already cache keys
+        final Map<String, PlayerInfo> mappedPlayerInfos = new HashMap<>(playerInfos.size());
+        for (final PlayerInfo playerInfo : playerInfos) {
+            final String playerKey = PlayerNames.toKey(playerInfo.getName());
+            if (requestedNames.contains(playerKey)) {
+                mappedPlayerInfos.put(playerKey, playerInfo);
             }
-            return Optional.ofNullable(playerInfo);
-        } catch (final IOException e) {
-            return Optional.empty();
         }
+        return mappedPlayerInfos;
     }
 
     public Optional<List<NameEntry>> getPlayerNameHistory(final UUID playerUUID) {
-        final Request request = this.getGetRequest("https://api.mojang.com/user/profiles/" + playerUUID.toString() + "/names");
-        try (final Response response = this.httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                return Optional.empty();
-            }
+        return this.getPlayerNameHistoryResult(playerUUID).getValue();
+    }
 
-            return Optional.ofNullable(this.nameEntriesDeserializer.fromJson(response.body().source()));
-        } catch (final IOException e) {
-            return Optional.empty();
+    public MojangResult<List<NameEntry>> getPlayerNameHistoryResult(final UUID playerUUID) {
+        // Cache check
+        final Optional<List<NameEntry>> cacheEntry = this.playerNameHistoryCache.get(playerUUID);
+        if (cacheEntry.isPresent()) {
+            return MojangResult.found(cacheEntry.get());
+        }
+
+        if (this.missingPlayerNameHistories.isMissing(playerUUID)) {
+            return MojangResult.notFound();
+        }
+
+        return this.playerNameHistoryCoalescer.execute(playerUUID, () -> this.requestPlayerNameHistory(playerUUID));
+    }
+
+    private MojangResult<List<NameEntry>> requestPlayerNameHistory(final UUID playerUUID) {
+        // The cache could be filled by a request that finished after the first cache check
+        final Optional<List<NameEntry>> cacheEntry = this.playerNameHistoryCache.get(playerUUID);
+        if (cacheEntry.isPresent()) {
+            return MojangResult.found(cacheEntry.get());
+        }
+
+        try {
+            return MojangResult.of(this.storePlayerNameHistoryLookup(playerUUID, this.fetchPlayerNameHistory(playerUUID)));
+        } catch (final IOException | JsonDataException e) {
+            return MojangResult.fromError(e);
         }
     }
 
+    private Optional<List<NameEntry>> fetchPlayerNameHistory(final UUID playerUUID) throws IOException {
+        return this.executeLookup(this.getPlayerNameHistoryRequest(playerUUID), this.nameHistoryParser);
+    }
+
     public Optional<PlayerProfile> getPlayerProfiler(final UUID playerUUID) {
+        return this.getPlayerProfileResult(playerUUID).getValue();
+    }
+
+    public MojangResult<PlayerProfile> getPlayerProfileResult(final UUID playerUUID) {
         // Cache check
-        final PlayerProfile cacheEntry = this.playerProfileCache.getIfPresent(playerUUID);
-        if (cacheEntry != null) {
-            return Optional.of(cacheEntry);
+        final Optional<PlayerProfile> cacheEntry = this.playerProfileCache.get(playerUUID);
+        if (cacheEntry.isPresent()) {
+            return MojangResult.found(cacheEntry.get());
         }
 
-        final Request request = this.getGetRequest("https://sessionserver.mojang.com/session/minecraft/profile/" + playerUUID);
-        try (final Response response = this.httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                return Optional.empty();
-            }
+        if (this.missingPlayerProfiles.isMissing(playerUUID)) {
+            return MojangResult.notFound();
+        }
 
-            final PlayerProfile playerProfile = this.playerProfileDeserializer.fromJson(response.body().source());
-            if (playerProfile != null) {
-                this.playerProfileCache.put(playerUUID, playerProfile);
-            }
-            return Optional.ofNullable(playerProfile);
-        } catch (final IOException e) {
-            return Optional.empty();
+        return this.playerProfileCoalescer.execute(playerUUID, () -> this.requestPlayerProfile(playerUUID));
+    }
+
+    /**
+     * Resolves multiple profiles, see {@link MojangApiClientAsync#getPlayerProfilesAsync(Collection, BiConsumer)}.
+     *
+     * @return the found profiles
+     */
+    public Map<UUID, PlayerProfile> getPlayerProfiles(@NonNull final Collection<UUID> playerUUIDs) {
+        return this.async.getPlayerProfilesAsync(playerUUIDs).join();
+    }
+
+    /**
+     * @param callback called for every unique uuid as soon as its result is known
+     * @return the found profiles
+     */
+    public Map<UUID, PlayerProfile> getPlayerProfiles(@NonNull final Collection<UUID> playerUUIDs,
+                                                      @NonNull final BiConsumer<UUID, MojangResult<PlayerProfile>> callback) {
+        return this.async.getPlayerProfilesAsync(playerUUIDs, callback).join();
+    }
+
+    /**
+     * Preloads the profiles and player infos in the background, see {@link MojangApiClientAsync#warmUpAsync(Collection, Collection)}.
+     */
+    public CompletableFuture<Void> warmUp(@NonNull final Collection<UUID> playerUUIDs, @NonNull final Collection<String> playerNames) {
+        return this.async.warmUpAsync(playerUUIDs, playerNames);
+    }
+
+    /**
+     * Streams the profile and player info caches with their expiry times, see {@link CacheSnapshot}.
+     * The stream is not closed.
+     *
+     * @return number of written entries
+     * @throws UnsupportedOperationException if a cache backend can't list its entries, e.g. remote backends
+     */
+    public long exportCaches(@NonNull final OutputStream outputStream) throws IOException {
+        return CacheSnapshot.write(outputStream, this.playerProfileCache, this.playerInfoCache);
+    }
+
+    /**
+     * Seeds the caches from {@link #exportCaches(OutputStream)}, the entries keep their remaining time to live.
+     * The uuid and name pairs are known to the other lookup directions as well. The stream is not closed, but the
+     * snapshot has to be the rest of it, bytes behind the snapshot are consumed by the buffered read.
+     *
+     * @return number of imported entries, expired entries are skipped
+     */
+    public long importCaches(@NonNull final InputStream inputStream) throws IOException {
+        return CacheSnapshot.read(inputStream, this.playerProfileCache, this.playerInfoCache, this::recordIdentity);
+    }
+
+    /**
+     * Runs the blocking lookup for every key on the async executor, one virtual thread per key in virtual thread mode.
+     * <pre>{@code client.lookupAll(playerNames, 1_000, client::getPlayerInfo)}</pre>
+     *
+     * @param concurrency max lookups running at the same time
+     * @return lookup result of every key in the iteration order of the keys
+     */
+    public <K, V> Map<K, V> lookupAll(@NonNull final Collection<K> keys,
+                                      final int concurrency,
+                                      @NonNull final Function<? super K, ? extends V> lookup) {
+        // The fan out calls the consumer serialized
+        final Map<K, V> results = new HashMap<>(keys.size());
+        BoundedFanOut.<K, V>execute(
+                keys,
+                Math.max(1, Math.min(concurrency, keys.size())),
+                key -> CompletableFuture.supplyAsync(() -> lookup.apply(key), this.asyncExecutor),
+                results::put
+        ).join();
+
+        final Map<K, V> orderedResults = new LinkedHashMap<>(keys.size());
+        for (final K key : keys) {
+            orderedResults.put(key, results.get(key));
         }
+        return orderedResults;
+    }
+
+    private MojangResult<PlayerProfile> requestPlayerProfile(final UUID playerUUID) {
+        // The cache could be filled by a request that finished after the first cache check
+        final Optional<PlayerProfile> storedPlayerProfile = this.getStoredPlayerProfile(playerUUID);
+        if (storedPlayerProfile.isPresent()) {
+            return MojangResult.found(storedPlayerProfile.get());
+        }
+
+        try {
+            return MojangResult.of(this.storePlayerProfileLookup(playerUUID, this.fetchPlayerProfile(playerUUID)));
+        } catch (final IOException | JsonDataException e) {
+            return MojangResult.fromError(e);
+        }
+    }
+
+    private Optional<PlayerProfile> fetchPlayerProfile(final UUID playerUUID) throws IOException {
+        return this.executeLookup(this.getPlayerProfileRequest(playerUUID), this.playerProfileParser);
+    }
+
+    public long getCoalescedRequestCount() {
+        return this.playerProfileCoalescer.getCoalescedRequestCount()
+                + this.playerInfoCoalescer.getCoalescedRequestCount()
+                + this.playerNameHistoryCoalescer.getCoalescedRequestCount();
     }
 
     public Optional<String> getPlayerName(final UUID playerUUID) {
-        return this.getPlayerProfiler(playerUUID).map(PlayerProfile::getName);
+        return this.getPlayerNameResult(playerUUID).getValue();
     }
 
     public Optional<UUID> getPlayerUUID(final String playerName) {
         return this.getPlayerInfo(playerName).map(PlayerInfo::getUuid);
     }
+
+    public MojangResult<String> getPlayerNameResult(final UUID playerUUID) {
+        // Names seen in player infos or name histories don't need a profile request, a cached profile still comes first for its refreshes
+        final Optional<String> knownName = this.getKnownPlayerName(playerUUID);
+        if (knownName.isPresent()) {
+            return MojangResult.found(knownName.get());
+        }
+        return this.getPlayerProfileResult(playerUUID).map(PlayerProfile::getName);
+    }
+
+    Optional<String> getKnownPlayerName(final UUID playerUUID) {
+        final Optional<PlayerProfile> cacheEntry = this.playerProfileCache.get(playerUUID);
+        if (cacheEntry.isPresent()) {
+            return Optional.of(cacheEntry.get().getName());
+        }
+        return this.identityStore.getName(playerUUID);
+    }
+
+    CompletableFuture<Optional<String>> getKnownPlayerNameAsync(final UUID playerUUID) {
+        return this.playerProfileCache.getAsync(playerUUID).thenApply(cacheEntry -> cacheEntry.isPresent()
+                ? Optional.of(cacheEntry.get().getName())
+                : this.identityStore.getName(playerUUID)
+        );
+    }
+
+    public MojangResult<UUID> getPlayerUUIDResult(final String playerName) {
+        return this.getPlayerInfoResult(playerName).map(PlayerInfo::getUuid);
+    }
+
+    /**
+     * Stops the background threads and the http dispatcher of the client, requests fail afterwards.
+     * Resources passed to the builder, e.g. the http client or the disk store, are not closed.
+     * The shared {@link #getInstance()} client must not be closed.
+     */
+    @Override
+    public void close() {
+        if (this.statusMonitor != null) {
+            this.statusMonitor.close();
+        }
+        if (this.refreshAheadScheduler != null) {
+            this.refreshAheadScheduler.shutdownNow();
+        }
+        if (this.virtualThreadExecutor != null) {
+            this.virtualThreadExecutor.shutdown();
+        }
+        if (this.ownsDispatcher) {
+            this.httpClient.dispatcher().executorService().shutdown();
+        }
+        if (this.ownsConnectionPool) {
+            this.httpClient.connectionPool().evictAll();
+        }
+    }
+
+    @FunctionalInterface
+    protected interface ResponseParser<T> {
+        T parse(ResponseBody body) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        Optional<T> handle(Response response) throws IOException;
+    }
+
+    private static class InstanceHolder {
+        private static final MojangApiClient INSTANCE = new MojangApiClient();
+    }
+
+    @Setter
+    @Accessors(fluent = true)
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Builder {
+        // Http
+        private OkHttpClient httpClient;
+        private Dispatcher dispatcher;
+        private ConnectionPool connectionPool;
+        // Optional disk cache, keeps the status and blocked servers feeds valid across restarts
+        private Cache httpCache;
+        @NonNull
+        private Duration connectTimeout = Duration.ofSeconds(30);
+        private Duration readTimeout;
+        private Duration callTimeout;
+        @NonNull
+        private RateLimiter rateLimiter = RateLimiter.createMojangDefault();
+        @NonNull
+        private Executor asyncExecutor = ForkJoinPool.commonPool();
+        // Hot profiles and player infos are fetched again inside this window before expireAfterWrite, null disables it.
+        // Only entries with refreshAheadMinimumHits cache hits since their last write are refreshed
+        private Duration refreshAheadWindow;
+        private int refreshAheadMinimumHits = 2;
+        // Max entries tracked per cache, entries above it expire normally
+        private int refreshAheadMaximumKeys = 10_000;
+        // Runs the async executor and, unless a dispatcher or http client is supplied, the OkHttp dispatcher on virtual threads.
+        // Only takes effect on Java 21+, older runtimes keep the platform executors
+        private boolean virtualThreads;
+        // Uuid and name pairs of every response, serves getPlayerName and getPlayerUUID across the endpoints. 0 disables it
+        private long identityStoreMaximumSize = 10_000;
+        @NonNull
+        private Duration identityStoreTtl = Duration.ofMinutes(10);
+        // Max profile requests in flight for one getPlayerProfiles call, the rate limiter still applies to every request
+        private int playerProfileConcurrency = 8;
+        // Replaces the event listener factory of the http client when set
+        @NonNull
+        private MetricsListener metricsListener = MetricsListener.NOOP;
+
+        // Caches
+        @NonNull
+        private CacheSettings<UUID, PlayerProfile> playerProfileCache = new CacheSettings<>();
+        @NonNull
+        private CacheSettings<String, PlayerInfo> playerInfoCache = new CacheSettings<>();
+        @NonNull
+        private CacheSettings<UUID, List<NameEntry>> playerNameHistoryCache = new CacheSettings<>();
+        // Replace the in memory caches, e.g. with a cache shared between multiple instances
+        private CacheBackend<UUID, PlayerProfile> playerProfileCacheBackend;
+        private CacheBackend<String, PlayerInfo> playerInfoCacheBackend;
+        private CacheBackend<UUID, List<NameEntry>> playerNameHistoryCacheBackend;
+        // Stores the in memory cache values as packed primitives, players decode their uuid and name on access
+        private boolean compactCaches;
+        // Polls the status in the background when set
+        private Duration statusMonitorInterval;
+        // Fails requests to services reported as RED without sending them, requires the status monitor
+        private boolean skipUnavailableServices;
+        // Max age of the blocked servers list used by isServerBlocked
+        @NonNull
+        private Duration blockedServersRefreshInterval = Duration.ofMinutes(10);
+        // Unknown players are remembered for this duration, zero disables it
+        @NonNull
+        private Duration negativeCacheTtl = Duration.ofMinutes(1);
+        private long negativeCacheMaximumSize = 10_000;
+        // Fails requests to a host after this many consecutive failures, zero disables the circuit breaker
+        private int circuitBreakerFailureThreshold;
+        @NonNull
+        private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+        // Sends a second profile request when the first one is slow, every copy uses a rate limit token
+        private HedgedRequests hedgedRequests;
+        private PlayerDiskStore diskStore;
+        // Every fetched name history is added to this index
+        private NameHistoryIndex nameHistoryIndex;
+        // Requests the profile properties with their signatures
+        private boolean signedProfileProperties;
+
+        // Urls
+        @NonNull
+        private String apiBaseUrl = "https://api.mojang.com";
+        @NonNull
+        private String sessionServerBaseUrl = "https://sessionserver.mojang.com";
+        @NonNull
+        private String statusBaseUrl = "https://status.mojang.com";
+
+        public MojangApiClient build() {
+            return new MojangApiClient(this);
+        }
+    }
 }
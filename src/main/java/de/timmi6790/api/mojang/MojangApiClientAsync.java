@@ -0,0 +1,239 @@
+package de.timmi6790.api.mojang;
+
+import de.timmi6790.api.mojang.models.BlockedServers;
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.Status;
+import de.timmi6790.api.mojang.utilities.BoundedFanOut;
+import de.timmi6790.api.mojang.utilities.PlayerNames;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Async variants of the client calls, cache backends are accessed through their async methods so remote backends never block a thread.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class MojangApiClientAsync {
+    private final MojangApiClient apiClient;
+
+    public CompletableFuture<Optional<Map<String, Status>>> getStatusAsync() {
+        return this.getStatusResultAsync().thenApply(MojangResult::getValue);
+    }
+
+    public CompletableFuture<MojangResult<Map<String, Status>>> getStatusResultAsync() {
+        return this.apiClient.executeConditionalResultAsync(
+                this.apiClient.getStatusRequest(),
+                this.apiClient.getStatusFeed(),
+                this.apiClient.getStatusParser()
+        );
+    }
+
+    public CompletableFuture<Optional<List<String>>> getBlockedServersAsync() {
+        return this.getBlockedServersResultAsync().thenApply(MojangResult::getValue);
+    }
+
+    public CompletableFuture<MojangResult<List<String>>> getBlockedServersResultAsync() {
+        return this.apiClient.executeConditionalResultAsync(
+                this.apiClient.getBlockedServersRequest(),
+                this.apiClient.getBlockedServersFeed(),
+                this.apiClient.getBlockedServersParser()
+        );
+    }
+
+    public CompletableFuture<Optional<BlockedServers>> getBlockedServerHashesAsync() {
+        return this.getBlockedServerHashesResultAsync().thenApply(MojangResult::getValue);
+    }
+
+    public CompletableFuture<MojangResult<BlockedServers>> getBlockedServerHashesResultAsync() {
+        return this.apiClient.executeConditionalResultAsync(
+                this.apiClient.getBlockedServersRequest(),
+                this.apiClient.getBlockedServerHashesFeed(),
+                this.apiClient.getBlockedServerHashesParser()
+        ).thenApply(result -> {
+            result.getValue().ifPresent(this.apiClient::setBlockedServers);
+            return result;
+        });
+    }
+
+    public CompletableFuture<Optional<PlayerInfo>> getPlayerInfoAsync(final String playerName) {
+        return this.getPlayerInfoAsync(playerName, LocalDateTime.now());
+    }
+
+    public CompletableFuture<Optional<PlayerInfo>> getPlayerInfoAsync(final String playerName, final LocalDateTime atTime) {
+        return this.getPlayerInfoResultAsync(playerName, atTime).thenApply(MojangResult::getValue);
+    }
+
+    public CompletableFuture<MojangResult<PlayerInfo>> getPlayerInfoResultAsync(final String playerName) {
+        return this.getPlayerInfoResultAsync(playerName, LocalDateTime.now());
+    }
+
+    public CompletableFuture<MojangResult<PlayerInfo>> getPlayerInfoResultAsync(@NonNull final String playerName, final LocalDateTime atTime) {
+        if (!PlayerNames.isValid(playerName)) {
+            return CompletableFuture.completedFuture(MojangResult.notFound());
+        }
+
+        // Cache check
+        final String playerKey = PlayerNames.toKey(playerName);
+        return this.apiClient.getPlayerInfoCache().getAsync(playerKey).thenCompose(cacheEntry -> {
+            if (cacheEntry.isPresent()) {
+                return CompletableFuture.completedFuture(MojangResult.found(cacheEntry.get()));
+            }
+
+            if (this.apiClient.getMissingPlayerInfos().isMissing(playerKey)) {
+                return CompletableFuture.completedFuture(MojangResult.notFound());
+            }
+
+            return this.apiClient.getPlayerInfoCoalescer().executeAsync(playerKey, () -> this.requestPlayerInfoAsync(playerKey, atTime));
+        });
+    }
+
+    private CompletableFuture<MojangResult<PlayerInfo>> requestPlayerInfoAsync(final String playerName, final LocalDateTime atTime) {
+        return this.apiClient.getStoredPlayerInfoAsync(playerName).thenCompose(storedPlayerInfo -> {
+            if (storedPlayerInfo.isPresent()) {
+                return CompletableFuture.completedFuture(MojangResult.found(storedPlayerInfo.get()));
+            }
+
+            return MojangApiClient.toResult(
+                    this.apiClient.executeLookupAsync(this.apiClient.getPlayerInfoRequest(playerName, atTime), this.apiClient.getPlayerInfoParser())
+                            .thenCompose(playerInfo -> this.apiClient.storePlayerInfoLookupAsync(playerName, playerInfo))
+            );
+        });
+    }
+
+    /**
+     * Requests the player infos of the names missing in the cache through the bulk name endpoint.
+     *
+     * @return the found player infos by their requested names, failed lookups are left out
+     */
+    public CompletableFuture<Map<String, PlayerInfo>> getPlayerInfosAsync(@NonNull final Collection<String> playerNames) {
+        return this.apiClient.getPlayerInfosAsync(playerNames);
+    }
+
+    public CompletableFuture<Optional<List<NameEntry>>> getPlayerNameHistoryAsync(final UUID playerUUID) {
+        return this.getPlayerNameHistoryResultAsync(playerUUID).thenApply(MojangResult::getValue);
+    }
+
+    public CompletableFuture<MojangResult<List<NameEntry>>> getPlayerNameHistoryResultAsync(final UUID playerUUID) {
+        // Cache check
+        return this.apiClient.getPlayerNameHistoryCache().getAsync(playerUUID).thenCompose(cacheEntry -> {
+            if (cacheEntry.isPresent()) {
+                return CompletableFuture.completedFuture(MojangResult.found(cacheEntry.get()));
+            }
+
+            if (this.apiClient.getMissingPlayerNameHistories().isMissing(playerUUID)) {
+                return CompletableFuture.completedFuture(MojangResult.notFound());
+            }
+
+            return this.apiClient.getPlayerNameHistoryCoalescer().executeAsync(
+                    playerUUID,
+                    () -> MojangApiClient.toResult(
+                            this.apiClient.executeLookupAsync(this.apiClient.getPlayerNameHistoryRequest(playerUUID), this.apiClient.getNameHistoryParser())
+                                    .thenCompose(nameHistory -> this.apiClient.storePlayerNameHistoryLookupAsync(playerUUID, nameHistory))
+                    )
+            );
+        });
+    }
+
+    public CompletableFuture<Optional<PlayerProfile>> getPlayerProfileAsync(final UUID playerUUID) {
+        return this.getPlayerProfileResultAsync(playerUUID).thenApply(MojangResult::getValue);
+    }
+
+    public CompletableFuture<MojangResult<PlayerProfile>> getPlayerProfileResultAsync(final UUID playerUUID) {
+        // Cache check
+        return this.apiClient.getPlayerProfileCache().getAsync(playerUUID).thenCompose(cacheEntry -> {
+            if (cacheEntry.isPresent()) {
+                return CompletableFuture.completedFuture(MojangResult.found(cacheEntry.get()));
+            }
+            return this.requestMissingPlayerProfileAsync(playerUUID);
+        });
+    }
+
+    private CompletableFuture<MojangResult<PlayerProfile>> requestMissingPlayerProfileAsync(final UUID playerUUID) {
+        if (this.apiClient.getMissingPlayerProfiles().isMissing(playerUUID)) {
+            return CompletableFuture.completedFuture(MojangResult.notFound());
+        }
+        return this.apiClient.getPlayerProfileCoalescer().executeAsync(playerUUID, () -> this.requestPlayerProfileAsync(playerUUID));
+    }
+
+    public CompletableFuture<Map<UUID, PlayerProfile>> getPlayerProfilesAsync(final Collection<UUID> playerUUIDs) {
+        return this.getPlayerProfilesAsync(playerUUIDs, (playerUUID, result) -> {
+        });
+    }
+
+    /**
+     * Serves all cache hits with one cache call and requests the missing profiles with a bounded number of requests in flight.
+     *
+     * @param callback called for every unique uuid as soon as its result is known, never concurrently
+     * @return the found profiles
+     */
+    public CompletableFuture<Map<UUID, PlayerProfile>> getPlayerProfilesAsync(@NonNull final Collection<UUID> playerUUIDs,
+                                                                              @NonNull final BiConsumer<UUID, MojangResult<PlayerProfile>> callback) {
+        final Set<UUID> uniquePlayerUUIDs = new LinkedHashSet<>(playerUUIDs);
+        final Map<UUID, PlayerProfile> playerProfiles = new HashMap<>(uniquePlayerUUIDs.size());
+
+        return this.apiClient.getPlayerProfileCache().getAllAsync(uniquePlayerUUIDs).thenCompose(cacheEntries -> {
+            final List<UUID> missingPlayerUUIDs = new ArrayList<>(uniquePlayerUUIDs.size() - cacheEntries.size());
+            for (final UUID playerUUID : uniquePlayerUUIDs) {
+                final PlayerProfile cacheEntry = cacheEntries.get(playerUUID);
+                if (cacheEntry == null) {
+                    missingPlayerUUIDs.add(playerUUID);
+                } else {
+                    playerProfiles.put(playerUUID, cacheEntry);
+                    callback.accept(playerUUID, MojangResult.found(cacheEntry));
+                }
+            }
+
+            // The batch already missed the cache
+            return BoundedFanOut.execute(
+                    missingPlayerUUIDs,
+                    this.apiClient.getPlayerProfileConcurrency(),
+                    this::requestMissingPlayerProfileAsync,
+                    (playerUUID, result) -> {
+                        result.getValue().ifPresent(playerProfile -> playerProfiles.put(playerUUID, playerProfile));
+                        callback.accept(playerUUID, result);
+                    }
+            );
+        }).thenApply(ignored -> playerProfiles);
+    }
+
+    /**
+     * Loads the missing profiles through the bounded bulk profile lookup and the missing player infos through the bulk name endpoint.
+     * Entries already cached cause no request, e.g. for yesterday's active players after a restart.
+     *
+     * @return completes after every lookup finished, failed lookups are left out
+     */
+    public CompletableFuture<Void> warmUpAsync(@NonNull final Collection<UUID> playerUUIDs, @NonNull final Collection<String> playerNames) {
+        return CompletableFuture.allOf(this.getPlayerProfilesAsync(playerUUIDs), this.getPlayerInfosAsync(playerNames));
+    }
+
+    private CompletableFuture<MojangResult<PlayerProfile>> requestPlayerProfileAsync(final UUID playerUUID) {
+        return this.apiClient.getStoredPlayerProfileAsync(playerUUID).thenCompose(storedPlayerProfile -> {
+            if (storedPlayerProfile.isPresent()) {
+                return CompletableFuture.completedFuture(MojangResult.found(storedPlayerProfile.get()));
+            }
+
+            return MojangApiClient.toResult(
+                    this.apiClient.executeLookupAsync(this.apiClient.getPlayerProfileRequest(playerUUID), this.apiClient.getPlayerProfileParser())
+                            .thenCompose(playerProfile -> this.apiClient.storePlayerProfileLookupAsync(playerUUID, playerProfile))
+            );
+        });
+    }
+
+    public CompletableFuture<Optional<String>> getPlayerNameAsync(final UUID playerUUID) {
+        return this.apiClient.getKnownPlayerNameAsync(playerUUID).thenCompose(knownName -> knownName.isPresent()
+                ? CompletableFuture.completedFuture(knownName)
+                : this.getPlayerProfileAsync(playerUUID).thenApply(playerProfile -> playerProfile.map(PlayerProfile::getName))
+        );
+    }
+
+    public CompletableFuture<Optional<UUID>> getPlayerUUIDAsync(final String playerName) {
+        return this.getPlayerInfoAsync(playerName).thenApply(playerInfo -> playerInfo.map(PlayerInfo::getUuid));
+    }
+}
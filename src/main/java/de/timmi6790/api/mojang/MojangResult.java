@@ -0,0 +1,148 @@
+package de.timmi6790.api.mojang;
+
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.JsonEncodingException;
+import de.timmi6790.api.mojang.ratelimit.RateLimitedException;
+import de.timmi6790.api.mojang.resilience.CircuitOpenException;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Result of a request that keeps the reason why no value was returned.
+ * Not found results can be cached, rate limited and transient errors are worth a retry, permanent errors are not.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@ToString
+public final class MojangResult<T> {
+    private static final MojangResult<?> NOT_FOUND = new MojangResult<>(Type.NOT_FOUND, null, null, null);
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int REQUEST_TIMEOUT = 408;
+    private static final int SERVER_ERROR = 500;
+
+    @Getter
+    private final Type type;
+    private final T value;
+    private final Duration retryAfter;
+    private final Throwable error;
+
+    public static <T> MojangResult<T> found(@NonNull final T value) {
+        return new MojangResult<>(Type.FOUND, value, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> MojangResult<T> notFound() {
+        return (MojangResult<T>) NOT_FOUND;
+    }
+
+    public static <T> MojangResult<T> rateLimited(@NonNull final Duration retryAfter, final Throwable error) {
+        return new MojangResult<>(Type.RATE_LIMITED, null, retryAfter, error);
+    }
+
+    public static <T> MojangResult<T> transientError(final Duration retryAfter, @NonNull final Throwable error) {
+        return new MojangResult<>(Type.TRANSIENT_ERROR, null, retryAfter, error);
+    }
+
+    public static <T> MojangResult<T> permanentError(@NonNull final Throwable error) {
+        return new MojangResult<>(Type.PERMANENT_ERROR, null, null, error);
+    }
+
+    /**
+     * @return found for a present value, otherwise not found
+     */
+    public static <T> MojangResult<T> of(final Optional<T> value) {
+        return value.map(MojangResult::found).orElseGet(MojangResult::notFound);
+    }
+
+    /**
+     * Classifies the failure of a request.
+     */
+    public static <T> MojangResult<T> fromError(@NonNull final Throwable throwable) {
+        Throwable error = throwable;
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+
+        if (error instanceof RateLimitedException) {
+            return rateLimited(((RateLimitedException) error).getRetryAfter(), error);
+        }
+        if (error instanceof CircuitOpenException) {
+            return transientError(((CircuitOpenException) error).getRetryAfter(), error);
+        }
+        if (error instanceof UnexpectedResponseException) {
+            final int code = ((UnexpectedResponseException) error).getCode();
+            if (code == TOO_MANY_REQUESTS) {
+                return rateLimited(((UnexpectedResponseException) error).getRetryAfter(), error);
+            }
+            if (code == REQUEST_TIMEOUT || code >= SERVER_ERROR) {
+                return transientError(null, error);
+            }
+            return permanentError(error);
+        }
+        // Malformed responses won't get better with a retry
+        if (error instanceof JsonEncodingException || error instanceof JsonDataException) {
+            return permanentError(error);
+        }
+        if (error instanceof IOException) {
+            return transientError(null, error);
+        }
+        return permanentError(error);
+    }
+
+    public boolean isFound() {
+        return this.type == Type.FOUND;
+    }
+
+    public boolean isNotFound() {
+        return this.type == Type.NOT_FOUND;
+    }
+
+    /**
+     * @return true for rate limited and transient errors
+     */
+    public boolean isRetryable() {
+        return this.type == Type.RATE_LIMITED || this.type == Type.TRANSIENT_ERROR;
+    }
+
+    public Optional<T> getValue() {
+        return Optional.ofNullable(this.value);
+    }
+
+    /**
+     * @return the time to wait before the next attempt, if known
+     */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(this.retryAfter);
+    }
+
+    public Optional<Throwable> getError() {
+        return Optional.ofNullable(this.error);
+    }
+
+    public <R> MojangResult<R> map(@NonNull final Function<? super T, ? extends R> mapper) {
+        if (this.type != Type.FOUND) {
+            @SuppressWarnings("unchecked") final MojangResult<R> result = (MojangResult<R>) this;
+            return result;
+        }
+        return found(mapper.apply(this.value));
+    }
+
+    public enum Type {
+        FOUND,
+        NOT_FOUND,
+        RATE_LIMITED,
+        TRANSIENT_ERROR,
+        PERMANENT_ERROR
+    }
+}
@@ -0,0 +1,27 @@
+package de.timmi6790.api.mojang;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Thrown for unsuccessful responses that don't have a special meaning for the endpoint.
+ */
+@Getter
+public class UnexpectedResponseException extends IOException {
+    private final int code;
+    // Retry-After header of the response, zero when it has none
+    private final Duration retryAfter;
+
+    public UnexpectedResponseException(final int code, final String url) {
+        this(code, url, Duration.ZERO);
+    }
+
+    public UnexpectedResponseException(final int code, final String url, @NonNull final Duration retryAfter) {
+        super("Unexpected response code " + code + " for " + url);
+        this.code = code;
+        this.retryAfter = retryAfter;
+    }
+}
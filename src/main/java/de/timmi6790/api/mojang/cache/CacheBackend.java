@@ -0,0 +1,87 @@
+package de.timmi6790.api.mojang.cache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage used by the client for profiles, player infos and name histories.
+ * Implementations are expected to be thread safe and to treat failures as cache misses.
+ * The async variants run the blocking calls on the caller thread, backends doing remote io should override them.
+ */
+public interface CacheBackend<K, V> {
+    Optional<V> get(K key);
+
+    default Map<K, V> getAll(final Collection<K> keys) {
+        final Map<K, V> found = new HashMap<>(keys.size());
+        for (final K key : keys) {
+            this.get(key).ifPresent(value -> found.put(key, value));
+        }
+        return found;
+    }
+
+    /**
+     * Stores the value with the default time to live of this backend.
+     */
+    void put(K key, V value);
+
+    void put(K key, V value, Duration ttl);
+
+    default void putAll(final Map<K, V> entries) {
+        entries.forEach(this::put);
+    }
+
+    default void putAll(final Map<K, V> entries, final Duration ttl) {
+        entries.forEach((key, value) -> this.put(key, value, ttl));
+    }
+
+    void invalidate(K key);
+
+    default CompletableFuture<Optional<V>> getAsync(final K key) {
+        return CompletableFuture.completedFuture(this.get(key));
+    }
+
+    default CompletableFuture<Map<K, V>> getAllAsync(final Collection<K> keys) {
+        return CompletableFuture.completedFuture(this.getAll(keys));
+    }
+
+    default CompletableFuture<Void> putAsync(final K key, final V value) {
+        this.put(key, value);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    default CompletableFuture<Void> putAllAsync(final Map<K, V> entries) {
+        this.putAll(entries);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    default CompletableFuture<Void> invalidateAsync(final K key) {
+        this.invalidate(key);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @return true if {@link #forEachEntry(EntryVisitor)} is supported, backends that implement it must override this as well
+     */
+    default boolean canListEntries() {
+        return false;
+    }
+
+    /**
+     * Visits every entry with its expiry time in epoch millis, {@link Long#MAX_VALUE} for entries without expiry.
+     *
+     * @throws UnsupportedOperationException if the backend can't list its entries, e.g. remote backends
+     */
+    default void forEachEntry(final EntryVisitor<K, V> visitor) throws IOException {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + " can't list its entries.");
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor<K, V> {
+        void visit(K key, V value, long expiresAt) throws IOException;
+    }
+}
@@ -0,0 +1,14 @@
+package de.timmi6790.api.mojang.cache;
+
+/**
+ * String representation of cache keys and values for backends outside of the jvm.
+ */
+public interface CacheCodec<K, V> {
+    String encodeKey(K key);
+
+    K decodeKey(String key);
+
+    String encodeValue(V value);
+
+    V decodeValue(String value);
+}
@@ -0,0 +1,163 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
+import lombok.experimental.UtilityClass;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+@UtilityClass
+public class CacheCodecs {
+    // Player names can't contain the separators
+    private static final char FIELD_SEPARATOR = ':';
+    private static final String ENTRY_SEPARATOR = "\n";
+    // Change times are stored as epoch millis, the local date times of the models are in the system default zone
+    private static final long ORIGINAL_NAME_TIME = -1;
+
+    private <V extends PlayerInfo> CacheCodec<UUID, V> uuidPlayerCodec(final BiFunction<UUID, String, V> constructor) {
+        return new CacheCodec<UUID, V>() {
+            @Override
+            public String encodeKey(final UUID key) {
+                return key.toString();
+            }
+
+            @Override
+            public UUID decodeKey(final String key) {
+                return UUID.fromString(key);
+            }
+
+            @Override
+            public String encodeValue(final V value) {
+                return value.getUuid().toString() + FIELD_SEPARATOR + value.getName();
+            }
+
+            @Override
+            public V decodeValue(final String value) {
+                final int separatorIndex = value.indexOf(FIELD_SEPARATOR);
+                return constructor.apply(UUID.fromString(value.substring(0, separatorIndex)), value.substring(separatorIndex + 1));
+            }
+        };
+    }
+
+    public CacheCodec<UUID, PlayerProfile> playerProfile() {
+        final CacheCodec<UUID, PlayerProfile> playerCodec = uuidPlayerCodec(PlayerProfile::new);
+        return new CacheCodec<UUID, PlayerProfile>() {
+            @Override
+            public String encodeKey(final UUID key) {
+                return playerCodec.encodeKey(key);
+            }
+
+            @Override
+            public UUID decodeKey(final String key) {
+                return playerCodec.decodeKey(key);
+            }
+
+            @Override
+            public String encodeValue(final PlayerProfile value) {
+                // Property names and base64 values can't contain the separators either
+                final StringJoiner joiner = new StringJoiner(ENTRY_SEPARATOR);
+                joiner.add(playerCodec.encodeValue(value));
+                for (final ProfileProperty property : value.getProperties()) {
+                    final String encodedProperty = property.getName() + FIELD_SEPARATOR + property.getValue();
+                    joiner.add(property.getSignature().map(signature -> encodedProperty + FIELD_SEPARATOR + signature).orElse(encodedProperty));
+                }
+                return joiner.toString();
+            }
+
+            @Override
+            public PlayerProfile decodeValue(final String value) {
+                final String[] lines = value.split(ENTRY_SEPARATOR);
+                final PlayerProfile playerProfile = playerCodec.decodeValue(lines[0]);
+                if (lines.length == 1) {
+                    return playerProfile;
+                }
+
+                final List<ProfileProperty> properties = new ArrayList<>(lines.length - 1);
+                for (int index = 1; lines.length > index; index++) {
+                    final String[] fields = lines[index].split(String.valueOf(FIELD_SEPARATOR));
+                    properties.add(new ProfileProperty(fields[0], fields[1], fields.length > 2 ? fields[2] : null));
+                }
+                return new PlayerProfile(playerProfile.getUuid(), playerProfile.getName(), properties);
+            }
+        };
+    }
+
+    public CacheCodec<String, PlayerInfo> playerInfo() {
+        final CacheCodec<UUID, PlayerInfo> valueCodec = uuidPlayerCodec(PlayerInfo::new);
+        return new CacheCodec<String, PlayerInfo>() {
+            @Override
+            public String encodeKey(final String key) {
+                return key;
+            }
+
+            @Override
+            public String decodeKey(final String key) {
+                return key;
+            }
+
+            @Override
+            public String encodeValue(final PlayerInfo value) {
+                return valueCodec.encodeValue(value);
+            }
+
+            @Override
+            public PlayerInfo decodeValue(final String value) {
+                return valueCodec.decodeValue(value);
+            }
+        };
+    }
+
+    public CacheCodec<UUID, List<NameEntry>> playerNameHistory() {
+        return new CacheCodec<UUID, List<NameEntry>>() {
+            @Override
+            public String encodeKey(final UUID key) {
+                return key.toString();
+            }
+
+            @Override
+            public UUID decodeKey(final String key) {
+                return UUID.fromString(key);
+            }
+
+            @Override
+            public String encodeValue(final List<NameEntry> value) {
+                final StringJoiner joiner = new StringJoiner(ENTRY_SEPARATOR);
+                for (final NameEntry nameEntry : value) {
+                    final long changedAt = nameEntry.isOriginalName()
+                            ? ORIGINAL_NAME_TIME
+                            : nameEntry.getChangedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    joiner.add(changedAt + String.valueOf(FIELD_SEPARATOR) + nameEntry.getName());
+                }
+                return joiner.toString();
+            }
+
+            @Override
+            public List<NameEntry> decodeValue(final String value) {
+                if (value.isEmpty()) {
+                    return new ArrayList<>();
+                }
+
+                final String[] entries = value.split(ENTRY_SEPARATOR);
+                final List<NameEntry> nameEntries = new ArrayList<>(entries.length);
+                for (final String entry : entries) {
+                    final int separatorIndex = entry.indexOf(FIELD_SEPARATOR);
+                    final long changedAt = Long.parseLong(entry.substring(0, separatorIndex));
+                    nameEntries.add(new NameEntry(
+                            entry.substring(separatorIndex + 1),
+                            changedAt == ORIGINAL_NAME_TIME ? LocalDateTime.MIN : LocalDateTime.ofInstant(Instant.ofEpochMilli(changedAt), ZoneId.systemDefault())
+                    ));
+                }
+                return nameEntries;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package de.timmi6790.api.mojang.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Data
+public class CacheSettings<K, V> {
+    private long maximumSize = 100;
+    // Only used together with a weigher
+    private long maximumWeight = -1;
+    private Weigher<? super K, ? super V> weigher;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    private Duration expireAfterAccess;
+    private Duration refreshAfterWrite;
+
+    /**
+     * @param loader used to refresh entries in the background, only required with refreshAfterWrite
+     * @throws IllegalStateException if a weigher is set without a maximum weight
+     */
+    public Cache<K, V> buildCache(final CacheLoader<K, V> loader) {
+        return this.buildCache(loader, null);
+    }
+
+    /**
+     * @param statsCounterSupplier enables statistics when present
+     */
+    public Cache<K, V> buildCache(final CacheLoader<K, V> loader, final Supplier<? extends StatsCounter> statsCounterSupplier) {
+        return this.buildCache(loader, statsCounterSupplier, this.weigher);
+    }
+
+    /**
+     * Builds a cache for the packed values of the codec, the weigher sees the unpacked values.
+     */
+    public <C> Cache<K, C> buildCompactCache(final CompactCodec<V, C> codec,
+                                             final CacheLoader<K, C> loader,
+                                             final Supplier<? extends StatsCounter> statsCounterSupplier) {
+        final Weigher<? super K, ? super V> valueWeigher = this.weigher;
+        final Weigher<K, C> packedWeigher = valueWeigher == null ? null : (key, packedValue) -> valueWeigher.weigh(key, codec.unpack(packedValue));
+        return this.buildCache(loader, statsCounterSupplier, packedWeigher);
+    }
+
+    private <C> Cache<K, C> buildCache(final CacheLoader<K, C> loader,
+                                       final Supplier<? extends StatsCounter> statsCounterSupplier,
+                                       final Weigher<? super K, ? super C> cacheWeigher) {
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (statsCounterSupplier != null) {
+            builder.recordStats(statsCounterSupplier);
+        }
+        if (this.expireAfterAccess != null) {
+            builder.expireAfterAccess(this.expireAfterAccess.toNanos(), TimeUnit.NANOSECONDS);
+            if (this.expireAfterWrite != null) {
+                builder.expireAfterWrite(this.expireAfterWrite.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } else {
+            // Variable expiration allows backends to store single entries with their own time to live
+            builder.expireAfter(new WriteExpiry(this.expireAfterWrite == null ? Long.MAX_VALUE : this.expireAfterWrite.toNanos()));
+        }
+        if (this.refreshAfterWrite != null) {
+            builder.refreshAfterWrite(this.refreshAfterWrite.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        if (cacheWeigher != null) {
+            if (this.maximumWeight < 0) {
+                throw new IllegalStateException("A cache with a weigher requires a maximum weight.");
+            }
+            final Caffeine<K, C> weightedBuilder = builder
+                    .maximumWeight(this.maximumWeight)
+                    .weigher(cacheWeigher);
+            return this.refreshAfterWrite == null ? weightedBuilder.build() : weightedBuilder.build(loader);
+        }
+
+        builder.maximumSize(this.maximumSize);
+        return this.refreshAfterWrite == null ? builder.build() : builder.build(loader);
+    }
+
+    @RequiredArgsConstructor
+    private static class WriteExpiry implements Expiry<Object, Object> {
+        private final long expireAfterWriteNanos;
+
+        @Override
+        public long expireAfterCreate(final Object key, final Object value, final long currentTime) {
+            return this.expireAfterWriteNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final Object key, final Object value, final long currentTime, final long currentDuration) {
+            return this.expireAfterWriteNanos;
+        }
+
+        @Override
+        public long expireAfterRead(final Object key, final Object value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Utf8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Binary snapshot of the profile and player info caches.
+ * <p>
+ * Layout: magic, version, then one section per cache. A section starts with its type and every entry starts with
+ * {@link #ENTRY}, followed by the expiry time in epoch millis, the key and the value. {@link #END} closes the section.
+ * UUIDs are written as two longs and strings as utf 8 behind their unsigned short byte length. The entries are streamed,
+ * neither side holds the whole snapshot in memory.
+ */
+@UtilityClass
+public class CacheSnapshot {
+    // Differs from the disk store, each reader rejects the other file
+    private static final int MAGIC = 0x4D4A5350;
+    private static final byte VERSION = 1;
+
+    private static final byte END = 0;
+    private static final byte ENTRY = 1;
+    private static final byte PLAYER_PROFILES = 1;
+    private static final byte PLAYER_INFOS = 2;
+
+    /**
+     * @return number of written entries
+     * @throws UnsupportedOperationException if a backend can't list its entries, nothing is written in this case
+     */
+    public long write(@NonNull final OutputStream outputStream,
+                      @NonNull final CacheBackend<UUID, PlayerProfile> playerProfiles,
+                      @NonNull final CacheBackend<String, PlayerInfo> playerInfos) throws IOException {
+        // Checked up front, the sink flushes full segments while the profiles are written
+        checkListable(playerProfiles);
+        checkListable(playerInfos);
+
+        // Okio instead of the data streams, their buffered streams synchronize on every byte
+        final BufferedSink output = Okio.buffer(Okio.sink(outputStream));
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+
+        final long[] entries = new long[1];
+        output.writeByte(PLAYER_PROFILES);
+        playerProfiles.forEachEntry((playerUUID, playerProfile, expiresAt) -> {
+            output.writeByte(ENTRY);
+            output.writeLong(expiresAt);
+            writeUUID(output, playerUUID);
+            writePlayerProfile(output, playerProfile);
+            entries[0]++;
+        });
+        output.writeByte(END);
+
+        output.writeByte(PLAYER_INFOS);
+        playerInfos.forEachEntry((playerName, playerInfo, expiresAt) -> {
+            output.writeByte(ENTRY);
+            output.writeLong(expiresAt);
+            writeString(output, playerName);
+            writeUUID(output, playerInfo.getUuid());
+            writeString(output, playerInfo.getName());
+            entries[0]++;
+        });
+        output.writeByte(END);
+
+        output.writeByte(END);
+        output.flush();
+        return entries[0];
+    }
+
+    /**
+     * Stores every entry with its remaining time to live, entries that expired in the meantime are skipped.
+     * The input is read ahead in buffered chunks, the snapshot has to be the rest of the stream. Bytes behind the
+     * snapshot are consumed and the position of the stream is undefined afterwards.
+     *
+     * @return number of stored entries
+     */
+    public long read(@NonNull final InputStream inputStream,
+                     @NonNull final CacheBackend<UUID, PlayerProfile> playerProfiles,
+                     @NonNull final CacheBackend<String, PlayerInfo> playerInfos) throws IOException {
+        return read(inputStream, playerProfiles, playerInfos, (playerUUID, playerName) -> {
+        });
+    }
+
+    /**
+     * Same as {@link #read(InputStream, CacheBackend, CacheBackend)}, also takes over the rest of the stream.
+     *
+     * @param identityListener called with the uuid and name of every stored entry
+     */
+    public long read(@NonNull final InputStream inputStream,
+                     @NonNull final CacheBackend<UUID, PlayerProfile> playerProfiles,
+                     @NonNull final CacheBackend<String, PlayerInfo> playerInfos,
+                     @NonNull final BiConsumer<UUID, String> identityListener) throws IOException {
+        final BufferedSource input = Okio.buffer(Okio.source(inputStream));
+        if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+            throw new IOException("Unsupported cache snapshot format.");
+        }
+
+        long entries = 0;
+        byte section;
+        while ((section = input.readByte()) != END) {
+            while (input.readByte() == ENTRY) {
+                final long expiresAt = input.readLong();
+                if (section == PLAYER_PROFILES) {
+                    final UUID playerUUID = readUUID(input);
+                    final PlayerProfile playerProfile = readPlayerProfile(input);
+                    if (put(playerProfiles, playerUUID, playerProfile, expiresAt)) {
+                        identityListener.accept(playerProfile.getUuid(), playerProfile.getName());
+                        entries++;
+                    }
+                } else if (section == PLAYER_INFOS) {
+                    final String playerName = readString(input);
+                    final PlayerInfo playerInfo = new PlayerInfo(readUUID(input), readString(input));
+                    if (put(playerInfos, playerName, playerInfo, expiresAt)) {
+                        identityListener.accept(playerInfo.getUuid(), playerInfo.getName());
+                        entries++;
+                    }
+                } else {
+                    throw new IOException("Unknown cache snapshot section " + section + ".");
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void checkListable(final CacheBackend<?, ?> backend) {
+        if (!backend.canListEntries()) {
+            throw new UnsupportedOperationException(backend.getClass().getSimpleName() + " can't list its entries.");
+        }
+    }
+
+    private <K, V> boolean put(final CacheBackend<K, V> backend, final K key, final V value, final long expiresAt) {
+        if (expiresAt == Long.MAX_VALUE) {
+            backend.put(key, value);
+            return true;
+        }
+
+        final long ttl = expiresAt - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return false;
+        }
+        backend.put(key, value, Duration.ofMillis(ttl));
+        return true;
+    }
+
+    private void writeString(final BufferedSink output, final String value) throws IOException {
+        final long size = Utf8.size(value);
+        if (size > 0xFFFF) {
+            throw new IOException("String of " + size + " bytes is too long for the cache snapshot.");
+        }
+        output.writeShort((int) size);
+        output.writeUtf8(value);
+    }
+
+    private String readString(final BufferedSource input) throws IOException {
+        return input.readUtf8(input.readShort() & 0xFFFF);
+    }
+
+    private void writeUUID(final BufferedSink output, final UUID uuid) throws IOException {
+        output.writeLong(uuid.getMostSignificantBits());
+        output.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private UUID readUUID(final BufferedSource input) throws IOException {
+        return new UUID(input.readLong(), input.readLong());
+    }
+
+    private void writePlayerProfile(final BufferedSink output, final PlayerProfile playerProfile) throws IOException {
+        writeUUID(output, playerProfile.getUuid());
+        writeString(output, playerProfile.getName());
+        output.writeShort(playerProfile.getProperties().size());
+        for (final ProfileProperty property : playerProfile.getProperties()) {
+            writeString(output, property.getName());
+            writeString(output, property.getValue());
+            final String signature = property.getSignature().orElse(null);
+            output.writeByte(signature != null ? 1 : 0);
+            if (signature != null) {
+                writeString(output, signature);
+            }
+        }
+    }
+
+    private PlayerProfile readPlayerProfile(final BufferedSource input) throws IOException {
+        final UUID playerUUID = readUUID(input);
+        final String name = readString(input);
+        final int propertyCount = input.readShort() & 0xFFFF;
+        if (propertyCount == 0) {
+            return new PlayerProfile(playerUUID, name, Collections.emptyList());
+        }
+
+        final List<ProfileProperty> properties = new ArrayList<>(propertyCount);
+        for (int index = 0; propertyCount > index; index++) {
+            final String propertyName = readString(input);
+            final String value = readString(input);
+            final String signature = input.readByte() != 0 ? readString(input) : null;
+            properties.add(new ProfileProperty(propertyName, value, signature));
+        }
+        return new PlayerProfile(playerUUID, name, properties);
+    }
+}
@@ -0,0 +1,94 @@
+package de.timmi6790.api.mojang.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Default in memory backend. Custom time to lives are only supported for caches with variable expiration.
+ */
+public class CaffeineCacheBackend<K, V> implements CacheBackend<K, V> {
+    @Getter
+    private final Cache<K, V> cache;
+    private final Policy.VarExpiration<K, V> varExpiration;
+
+    public CaffeineCacheBackend(@NonNull final Cache<K, V> cache) {
+        this.cache = cache;
+        this.varExpiration = cache.policy().expireVariably().orElse(null);
+    }
+
+    @Override
+    public Optional<V> get(final K key) {
+        return Optional.ofNullable(this.cache.getIfPresent(key));
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<K> keys) {
+        return this.cache.getAllPresent(keys);
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        this.cache.put(key, value);
+    }
+
+    @Override
+    public void put(final K key, final V value, final Duration ttl) {
+        if (this.varExpiration != null) {
+            this.varExpiration.put(key, value, ttl);
+        } else {
+            this.cache.put(key, value);
+        }
+    }
+
+    @Override
+    public void putAll(final Map<K, V> entries) {
+        this.cache.putAll(entries);
+    }
+
+    @Override
+    public void invalidate(final K key) {
+        this.cache.invalidate(key);
+    }
+
+    @Override
+    public boolean canListEntries() {
+        return true;
+    }
+
+    @Override
+    public void forEachEntry(final EntryVisitor<K, V> visitor) throws IOException {
+        final ToLongFunction<K> expiresAt = getExpiresAt(this.cache, System.currentTimeMillis());
+        for (final Map.Entry<K, V> entry : this.cache.asMap().entrySet()) {
+            visitor.visit(entry.getKey(), entry.getValue(), expiresAt.applyAsLong(entry.getKey()));
+        }
+    }
+
+    /**
+     * @return expiry time of an entry in epoch millis, {@link Long#MAX_VALUE} when only expireAfterAccess or nothing applies
+     */
+    static <K, V> ToLongFunction<K> getExpiresAt(final Cache<K, V> cache, final long now) {
+        final Optional<Policy.VarExpiration<K, V>> varExpiration = cache.policy().expireVariably();
+        if (varExpiration.isPresent()) {
+            final Policy.VarExpiration<K, V> expiration = varExpiration.get();
+            return key -> expiration.getExpiresAfter(key, TimeUnit.MILLISECONDS).orElse(0L) + now;
+        }
+
+        final Optional<Policy.Expiration<K, V>> writeExpiration = cache.policy().expireAfterWrite();
+        if (writeExpiration.isPresent()) {
+            final Policy.Expiration<K, V> expiration = writeExpiration.get();
+            final long expiresAfter = expiration.getExpiresAfter(TimeUnit.MILLISECONDS);
+            return key -> expiresAfter - expiration.ageOf(key, TimeUnit.MILLISECONDS).orElse(0L) + now;
+        }
+        return key -> Long.MAX_VALUE;
+    }
+}
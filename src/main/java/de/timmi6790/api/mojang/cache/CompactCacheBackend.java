@@ -0,0 +1,76 @@
+package de.timmi6790.api.mojang.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * In memory backend that keeps the values packed and only creates the model objects on reads.
+ */
+public class CompactCacheBackend<K, V, C> implements CacheBackend<K, V> {
+    @Getter
+    private final Cache<K, C> cache;
+    private final CompactCodec<V, C> codec;
+    private final Policy.VarExpiration<K, C> varExpiration;
+
+    public CompactCacheBackend(@NonNull final Cache<K, C> cache, @NonNull final CompactCodec<V, C> codec) {
+        this.cache = cache;
+        this.codec = codec;
+        this.varExpiration = cache.policy().expireVariably().orElse(null);
+    }
+
+    @Override
+    public Optional<V> get(final K key) {
+        final C packedValue = this.cache.getIfPresent(key);
+        return packedValue == null ? Optional.empty() : Optional.of(this.codec.unpack(packedValue));
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<K> keys) {
+        final Map<K, C> packedValues = this.cache.getAllPresent(keys);
+        final Map<K, V> values = new HashMap<>(packedValues.size());
+        packedValues.forEach((key, packedValue) -> values.put(key, this.codec.unpack(packedValue)));
+        return values;
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        this.cache.put(key, this.codec.pack(value));
+    }
+
+    @Override
+    public void put(final K key, final V value, final Duration ttl) {
+        if (this.varExpiration != null) {
+            this.varExpiration.put(key, this.codec.pack(value), ttl);
+        } else {
+            this.cache.put(key, this.codec.pack(value));
+        }
+    }
+
+    @Override
+    public void invalidate(final K key) {
+        this.cache.invalidate(key);
+    }
+
+    @Override
+    public boolean canListEntries() {
+        return true;
+    }
+
+    @Override
+    public void forEachEntry(final EntryVisitor<K, V> visitor) throws IOException {
+        final ToLongFunction<K> expiresAt = CaffeineCacheBackend.getExpiresAt(this.cache, System.currentTimeMillis());
+        for (final Map.Entry<K, C> entry : this.cache.asMap().entrySet()) {
+            visitor.visit(entry.getKey(), this.codec.unpack(entry.getValue()), expiresAt.applyAsLong(entry.getKey()));
+        }
+    }
+}
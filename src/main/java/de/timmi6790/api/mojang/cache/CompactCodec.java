@@ -0,0 +1,13 @@
+package de.timmi6790.api.mojang.cache;
+
+/**
+ * Packed representation of cache values, used by {@link CompactCacheBackend} to reduce the heap usage of large caches.
+ */
+public interface CompactCodec<V, C> {
+    C pack(V value);
+
+    /**
+     * @return a view of the packed value, may materialize the model lazily
+     */
+    V unpack(C packedValue);
+}
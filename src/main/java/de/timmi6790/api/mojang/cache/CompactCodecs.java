@@ -0,0 +1,64 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+
+@UtilityClass
+public class CompactCodecs {
+    // The packed players are model views, reads don't create new objects
+    private static final CompactCodec<PlayerProfile, CompactPlayerProfile> PLAYER_PROFILE = new CompactCodec<PlayerProfile, CompactPlayerProfile>() {
+        @Override
+        public CompactPlayerProfile pack(final PlayerProfile value) {
+            if (value instanceof CompactPlayerProfile) {
+                return (CompactPlayerProfile) value;
+            }
+            return new CompactPlayerProfile(value.getUuid(), value.getName(), value.getProperties());
+        }
+
+        @Override
+        public PlayerProfile unpack(final CompactPlayerProfile packedValue) {
+            return packedValue;
+        }
+    };
+    private static final CompactCodec<PlayerInfo, CompactPlayerInfo> PLAYER_INFO = new CompactCodec<PlayerInfo, CompactPlayerInfo>() {
+        @Override
+        public CompactPlayerInfo pack(final PlayerInfo value) {
+            if (value instanceof CompactPlayerInfo) {
+                return (CompactPlayerInfo) value;
+            }
+            return new CompactPlayerInfo(value.getUuid(), value.getName());
+        }
+
+        @Override
+        public PlayerInfo unpack(final CompactPlayerInfo packedValue) {
+            return packedValue;
+        }
+    };
+    private static final CompactCodec<List<NameEntry>, CompactNameHistory> PLAYER_NAME_HISTORY = new CompactCodec<List<NameEntry>, CompactNameHistory>() {
+        @Override
+        public CompactNameHistory pack(final List<NameEntry> value) {
+            return CompactNameHistory.of(value);
+        }
+
+        @Override
+        public List<NameEntry> unpack(final CompactNameHistory packedValue) {
+            return packedValue.asList();
+        }
+    };
+
+    public CompactCodec<PlayerProfile, CompactPlayerProfile> playerProfile() {
+        return PLAYER_PROFILE;
+    }
+
+    public CompactCodec<PlayerInfo, CompactPlayerInfo> playerInfo() {
+        return PLAYER_INFO;
+    }
+
+    public CompactCodec<List<NameEntry>, CompactNameHistory> playerNameHistory() {
+        return PLAYER_NAME_HISTORY;
+    }
+}
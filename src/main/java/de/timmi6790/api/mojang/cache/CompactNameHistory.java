@@ -0,0 +1,113 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Name history stored as epoch millis and length prefixed names in two arrays.
+ * Change times are local date times in the system default zone, like the deserializer creates them.
+ */
+public final class CompactNameHistory {
+    // The original name has no change time
+    private static final long ORIGINAL = Long.MIN_VALUE;
+
+    private final long[] changedAt;
+    private final byte[] names;
+
+    private CompactNameHistory(final long[] changedAt, final byte[] names) {
+        this.changedAt = changedAt;
+        this.names = names;
+    }
+
+    static CompactNameHistory of(final List<NameEntry> nameHistory) {
+        final int size = nameHistory.size();
+        final long[] changedAt = new long[size];
+        final byte[][] encodedNames = new byte[size][];
+        int namesLength = 0;
+        for (int index = 0; size > index; index++) {
+            final NameEntry nameEntry = nameHistory.get(index);
+            changedAt[index] = nameEntry.isOriginalName()
+                    ? ORIGINAL
+                    : nameEntry.getChangedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            encodedNames[index] = CompactStrings.encode(nameEntry.getName());
+            if (encodedNames[index].length > 0xFFFF) {
+                throw new IllegalArgumentException("Name is too long to be stored compact");
+            }
+            namesLength += encodedNames[index].length + 2;
+        }
+
+        final byte[] names = new byte[namesLength];
+        int offset = 0;
+        for (final byte[] encodedName : encodedNames) {
+            names[offset++] = (byte) (encodedName.length >>> 8);
+            names[offset++] = (byte) encodedName.length;
+            System.arraycopy(encodedName, 0, names, offset, encodedName.length);
+            offset += encodedName.length;
+        }
+        return new CompactNameHistory(changedAt, names);
+    }
+
+    public int size() {
+        return this.changedAt.length;
+    }
+
+    /**
+     * @return epoch millis of the change, {@link Long#MIN_VALUE} for the original name
+     */
+    public long getChangedAt(final int index) {
+        return this.changedAt[index];
+    }
+
+    public String getName(final int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+        }
+
+        // Histories are short, skipping the previous names is cheaper than an offset array
+        int offset = 0;
+        for (int current = 0; index > current; current++) {
+            offset += this.readLength(offset) + 2;
+        }
+        return CompactStrings.decode(this.names, offset + 2, this.readLength(offset));
+    }
+
+    private int readLength(final int offset) {
+        return ((this.names[offset] & 0xFF) << 8) | (this.names[offset + 1] & 0xFF);
+    }
+
+    /**
+     * @return list view that creates the entries on access
+     */
+    public List<NameEntry> asList() {
+        return new View(this);
+    }
+
+    private static final class View extends AbstractList<NameEntry> implements RandomAccess {
+        private final CompactNameHistory nameHistory;
+
+        View(final CompactNameHistory nameHistory) {
+            this.nameHistory = nameHistory;
+        }
+
+        @Override
+        public NameEntry get(final int index) {
+            final String name = this.nameHistory.getName(index);
+            final long changedAt = this.nameHistory.getChangedAt(index);
+            return new NameEntry(
+                    name,
+                    changedAt == ORIGINAL ? LocalDateTime.MIN : LocalDateTime.ofInstant(Instant.ofEpochMilli(changedAt), ZoneId.systemDefault())
+            );
+        }
+
+        @Override
+        public int size() {
+            return this.nameHistory.size();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.PlayerInfo;
+
+import java.util.UUID;
+
+/**
+ * Player info stored as two longs and an encoded name instead of a uuid and string object.
+ * The cache hands out the packed instance itself, the uuid and name are decoded on access.
+ */
+public final class CompactPlayerInfo extends PlayerInfo {
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    private final byte[] name;
+
+    CompactPlayerInfo(final UUID uuid, final String name) {
+        super(null, null);
+        this.mostSignificantBits = uuid.getMostSignificantBits();
+        this.leastSignificantBits = uuid.getLeastSignificantBits();
+        this.name = CompactStrings.encode(name);
+    }
+
+    @Override
+    public UUID getUuid() {
+        return new UUID(this.mostSignificantBits, this.leastSignificantBits);
+    }
+
+    @Override
+    public String getName() {
+        return CompactStrings.decode(this.name, 0, this.name.length);
+    }
+}
@@ -0,0 +1,36 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Player profile stored as two longs and an encoded name instead of a uuid and string object.
+ * The cache hands out the packed instance itself, so the lazily decoded textures are kept between reads.
+ */
+public final class CompactPlayerProfile extends PlayerProfile {
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    private final byte[] name;
+
+    CompactPlayerProfile(final UUID uuid, final String name, final List<ProfileProperty> properties) {
+        // Copied into a fixed size list, the parsed list has spare capacity
+        super(null, null, Arrays.asList(properties.toArray(new ProfileProperty[0])));
+        this.mostSignificantBits = uuid.getMostSignificantBits();
+        this.leastSignificantBits = uuid.getLeastSignificantBits();
+        this.name = CompactStrings.encode(name);
+    }
+
+    @Override
+    public UUID getUuid() {
+        return new UUID(this.mostSignificantBits, this.leastSignificantBits);
+    }
+
+    @Override
+    public String getName() {
+        return CompactStrings.decode(this.name, 0, this.name.length);
+    }
+}
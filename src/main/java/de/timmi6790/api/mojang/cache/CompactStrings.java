@@ -0,0 +1,46 @@
+package de.timmi6790.api.mojang.cache;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Player names are ascii, they are stored as latin 1 bytes.
+ * Other names are stored as utf 8 behind a zero byte, which can't be the first character of a latin 1 name.
+ */
+@UtilityClass
+class CompactStrings {
+    private static final byte UTF_8_MARKER = 0;
+
+    private boolean isLatin1(final String value) {
+        if (!value.isEmpty() && value.charAt(0) == UTF_8_MARKER) {
+            return false;
+        }
+
+        for (int index = 0; value.length() > index; index++) {
+            if (value.charAt(index) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    byte[] encode(final String value) {
+        if (isLatin1(value)) {
+            return value.getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        final byte[] encoded = new byte[utf8.length + 1];
+        encoded[0] = UTF_8_MARKER;
+        System.arraycopy(utf8, 0, encoded, 1, utf8.length);
+        return encoded;
+    }
+
+    String decode(final byte[] bytes, final int offset, final int length) {
+        if (length > 0 && bytes[offset] == UTF_8_MARKER) {
+            return new String(bytes, offset + 1, length - 1, StandardCharsets.UTF_8);
+        }
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
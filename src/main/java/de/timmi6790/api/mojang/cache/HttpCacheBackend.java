@@ -0,0 +1,210 @@
+package de.timmi6790.api.mojang.cache;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+import lombok.NonNull;
+import okhttp3.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reference backend for a cache shared between multiple jvms.
+ * It talks to a small key value http service, all keys of one backend live in their own namespace:
+ * <ul>
+ *     <li>POST {baseUrl}/{namespace}/get with a json array of keys returns a json object of the found entries</li>
+ *     <li>POST {baseUrl}/{namespace}/put?ttl={seconds} with a json object of entries</li>
+ *     <li>DELETE {baseUrl}/{namespace}/{key}</li>
+ * </ul>
+ * Failed requests are treated as cache misses. The async variants enqueue their requests and never block the caller.
+ */
+public class HttpCacheBackend<K, V> implements CacheBackend<K, V> {
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+    private final OkHttpClient httpClient;
+    private final HttpUrl namespaceUrl;
+    private final CacheCodec<K, V> codec;
+    private final Duration defaultTtl;
+
+    private final JsonAdapter<List<String>> keysAdapter;
+    private final JsonAdapter<Map<String, String>> entriesAdapter;
+
+    public HttpCacheBackend(@NonNull final OkHttpClient httpClient,
+                            @NonNull final HttpUrl baseUrl,
+                            @NonNull final String namespace,
+                            @NonNull final CacheCodec<K, V> codec,
+                            @NonNull final Duration defaultTtl) {
+        this.httpClient = httpClient;
+        this.namespaceUrl = baseUrl.newBuilder().addPathSegment(namespace).build();
+        this.codec = codec;
+        this.defaultTtl = defaultTtl;
+
+        final Moshi moshi = new Moshi.Builder().build();
+        this.keysAdapter = moshi.adapter(Types.newParameterizedType(List.class, String.class));
+        this.entriesAdapter = moshi.adapter(Types.newParameterizedType(Map.class, String.class, String.class));
+    }
+
+    private boolean execute(final Request request) {
+        try (final Response response = this.httpClient.newCall(request).execute()) {
+            return response.isSuccessful();
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(final Request request, final ResponseReader<T> reader, final T fallback) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        this.httpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                future.complete(fallback);
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                try (final Response closedResponse = response) {
+                    future.complete(reader.read(closedResponse));
+                } catch (final IOException | RuntimeException e) {
+                    future.complete(fallback);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request getAllRequest(final Collection<K> keys) {
+        final List<String> encodedKeys = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            encodedKeys.add(this.codec.encodeKey(key));
+        }
+
+        return new Request.Builder()
+                .url(this.namespaceUrl.newBuilder().addPathSegment("get").build())
+                .post(RequestBody.create(this.keysAdapter.toJson(encodedKeys), JSON_MEDIA_TYPE))
+                .build();
+    }
+
+    private Map<K, V> readEntries(final Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, String> encodedEntries = this.entriesAdapter.fromJson(response.body().source());
+        if (encodedEntries == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<K, V> entries = new HashMap<>(encodedEntries.size());
+        for (final Map.Entry<String, String> entry : encodedEntries.entrySet()) {
+            entries.put(this.codec.decodeKey(entry.getKey()), this.codec.decodeValue(entry.getValue()));
+        }
+        return entries;
+    }
+
+    private Request putAllRequest(final Map<K, V> entries, final Duration ttl) {
+        final Map<String, String> encodedEntries = new HashMap<>(entries.size());
+        for (final Map.Entry<K, V> entry : entries.entrySet()) {
+            encodedEntries.put(this.codec.encodeKey(entry.getKey()), this.codec.encodeValue(entry.getValue()));
+        }
+
+        final HttpUrl url = this.namespaceUrl.newBuilder()
+                .addPathSegment("put")
+                .addQueryParameter("ttl", String.valueOf(ttl.getSeconds()))
+                .build();
+        return new Request.Builder()
+                .url(url)
+                .post(RequestBody.create(this.entriesAdapter.toJson(encodedEntries), JSON_MEDIA_TYPE))
+                .build();
+    }
+
+    private Request invalidateRequest(final K key) {
+        return new Request.Builder()
+                .url(this.namespaceUrl.newBuilder().addPathSegment(this.codec.encodeKey(key)).build())
+                .delete()
+                .build();
+    }
+
+    @Override
+    public Optional<V> get(final K key) {
+        return Optional.ofNullable(this.getAll(Collections.singletonList(key)).get(key));
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<K> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        try (final Response response = this.httpClient.newCall(this.getAllRequest(keys)).execute()) {
+            return this.readEntries(response);
+        } catch (final IOException | RuntimeException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> getAsync(final K key) {
+        return this.getAllAsync(Collections.singletonList(key)).thenApply(entries -> Optional.ofNullable(entries.get(key)));
+    }
+
+    @Override
+    public CompletableFuture<Map<K, V>> getAllAsync(final Collection<K> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+        return this.enqueue(this.getAllRequest(keys), this::readEntries, Collections.emptyMap());
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        this.put(key, value, this.defaultTtl);
+    }
+
+    @Override
+    public void put(final K key, final V value, final Duration ttl) {
+        this.putAll(Collections.singletonMap(key, value), ttl);
+    }
+
+    @Override
+    public void putAll(final Map<K, V> entries) {
+        this.putAll(entries, this.defaultTtl);
+    }
+
+    @Override
+    public void putAll(final Map<K, V> entries, final Duration ttl) {
+        if (!entries.isEmpty()) {
+            this.execute(this.putAllRequest(entries, ttl));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(final K key, final V value) {
+        return this.putAllAsync(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(final Map<K, V> entries) {
+        if (entries.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return this.enqueue(this.putAllRequest(entries, this.defaultTtl), response -> null, null);
+    }
+
+    @Override
+    public void invalidate(final K key) {
+        this.execute(this.invalidateRequest(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> invalidateAsync(final K key) {
+        return this.enqueue(this.invalidateRequest(key), response -> null, null);
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(Response response) throws IOException;
+    }
+}
@@ -0,0 +1,102 @@
+package de.timmi6790.api.mojang.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.timmi6790.api.mojang.utilities.PlayerNames;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Current name of a player in both directions, filled from every response that contains a uuid and a name.
+ * Names are matched case-insensitive, like Mojang does.
+ */
+public class IdentityStore {
+    private final Cache<UUID, String> names;
+    private final Cache<String, UUID> uuids;
+    private final BiConsumer<String, UUID> staleMappingListener;
+    private final boolean enabled;
+
+    /**
+     * @param maximumSize          0 disables the store, every lookup misses
+     * @param staleMappingListener called with a name and its previous owner when the name moved to another player
+     */
+    public IdentityStore(final long maximumSize,
+                         @NonNull final Duration ttl,
+                         @NonNull final BiConsumer<String, UUID> staleMappingListener) {
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+        this.uuids = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+        this.staleMappingListener = staleMappingListener;
+        this.enabled = maximumSize > 0;
+    }
+
+    public Optional<String> getName(final UUID playerUUID) {
+        return Optional.ofNullable(this.names.getIfPresent(playerUUID));
+    }
+
+    public Optional<UUID> getUUID(final String playerName) {
+        return Optional.ofNullable(this.uuids.getIfPresent(PlayerNames.toKey(playerName)));
+    }
+
+    /**
+     * Stores the current name of the player and drops the mappings this replaces.
+     */
+    public synchronized void record(@NonNull final UUID playerUUID, @NonNull final String playerName) {
+        if (!this.enabled) {
+            return;
+        }
+
+        final String key = PlayerNames.toKey(playerName);
+
+        // The player changed its name, the old name is free or owned by someone else now
+        final String previousName = this.names.getIfPresent(playerUUID);
+        if (previousName != null && !previousName.equalsIgnoreCase(playerName)) {
+            this.uuids.asMap().remove(PlayerNames.toKey(previousName), playerUUID);
+        }
+
+        // The name moved to this player, the previous owner must have a new name
+        final UUID previousOwner = this.uuids.getIfPresent(key);
+        if (previousOwner != null && !previousOwner.equals(playerUUID)) {
+            final String ownerName = this.names.getIfPresent(previousOwner);
+            if (ownerName != null && ownerName.equalsIgnoreCase(playerName)) {
+                this.names.invalidate(previousOwner);
+            }
+            this.staleMappingListener.accept(playerName, previousOwner);
+        }
+
+        this.names.put(playerUUID, playerName);
+        this.uuids.put(key, playerUUID);
+    }
+
+    /**
+     * Removes an unknown player.
+     */
+    public synchronized void invalidate(final UUID playerUUID) {
+        final String name = this.names.getIfPresent(playerUUID);
+        this.names.invalidate(playerUUID);
+        if (name != null) {
+            this.uuids.asMap().remove(PlayerNames.toKey(name), playerUUID);
+        }
+    }
+
+    /**
+     * Removes a name without owner, its last known owner changed the name.
+     */
+    public synchronized void invalidate(final String playerName) {
+        final UUID owner = this.uuids.getIfPresent(PlayerNames.toKey(playerName));
+        this.uuids.invalidate(PlayerNames.toKey(playerName));
+        if (owner != null) {
+            this.names.asMap().computeIfPresent(owner, (playerUUID, name) -> name.equalsIgnoreCase(playerName) ? null : name);
+        }
+    }
+}
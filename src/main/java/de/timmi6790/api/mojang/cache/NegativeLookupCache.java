@@ -0,0 +1,47 @@
+package de.timmi6790.api.mojang.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers keys that Mojang reported as not existing, so repeated lookups for them don't reach the api.
+ * A ttl of zero disables the cache.
+ */
+public class NegativeLookupCache<K> {
+    private final Cache<K, Boolean> cache;
+
+    public NegativeLookupCache(@NonNull final Duration ttl, final long maximumSize) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            this.cache = null;
+        } else {
+            this.cache = Caffeine.newBuilder()
+                    .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                    .maximumSize(maximumSize)
+                    .build();
+        }
+    }
+
+    public boolean isMissing(final K key) {
+        return this.cache != null && this.cache.getIfPresent(key) != null;
+    }
+
+    public void markMissing(final K key) {
+        if (this.cache != null) {
+            this.cache.put(key, Boolean.TRUE);
+        }
+    }
+
+    public void invalidate(final K key) {
+        if (this.cache != null) {
+            this.cache.invalidate(key);
+        }
+    }
+
+    public long size() {
+        return this.cache == null ? 0 : this.cache.estimatedSize();
+    }
+}
@@ -0,0 +1,349 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Append only file store used as second level cache behind the in memory caches.
+ * The file is read once on first access, later records replace earlier records of the same key.
+ */
+public class PlayerDiskStore implements Closeable {
+    private static final int MAGIC = 0x4D4A4353;
+    // Version 2 stores the profile properties, the profiles of version 1 files are dropped on load
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_PROPERTIES = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+    private static final byte PLAYER_PROFILE_RECORD = 1;
+    private static final byte PLAYER_INFO_RECORD = 2;
+
+    // Rewrite the file on load when it mostly consists of replaced or expired records
+    private static final int COMPACTION_MIN_RECORDS = 1_000;
+
+    @Getter
+    private final Path path;
+    private final Duration maxAge;
+    private final LongSupplier clock;
+
+    private final Map<UUID, Entry> playerProfiles = new ConcurrentHashMap<>();
+    private final Map<String, Entry> playerInfos = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+    private DataOutputStream output;
+
+    public PlayerDiskStore(@NonNull final Path path, @NonNull final Duration maxAge) {
+        this(path, maxAge, System::currentTimeMillis);
+    }
+
+    PlayerDiskStore(final Path path, final Duration maxAge, final LongSupplier clock) {
+        this.path = path;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    private static void writeHeader(final DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+    }
+
+    private static void writeRecord(final DataOutputStream output,
+                                    final byte type,
+                                    final String key,
+                                    final Entry entry) throws IOException {
+        output.writeByte(type);
+        output.writeLong(entry.getWrittenAt());
+        output.writeLong(entry.getUuid().getMostSignificantBits());
+        output.writeLong(entry.getUuid().getLeastSignificantBits());
+        output.writeUTF(entry.getName());
+        if (type == PLAYER_INFO_RECORD) {
+            output.writeUTF(key);
+        } else {
+            writeProperties(output, entry.getProperties());
+        }
+    }
+
+    private static void writeProperties(final DataOutputStream output, final List<ProfileProperty> properties) throws IOException {
+        output.writeShort(properties.size());
+        for (final ProfileProperty property : properties) {
+            output.writeUTF(property.getName());
+            output.writeUTF(property.getValue());
+            final String signature = property.getSignature().orElse(null);
+            output.writeBoolean(signature != null);
+            if (signature != null) {
+                output.writeUTF(signature);
+            }
+        }
+    }
+
+    private static List<ProfileProperty> readProperties(final DataInputStream input) throws IOException {
+        final int propertyCount = input.readUnsignedShort();
+        if (propertyCount == 0) {
+            return Collections.emptyList();
+        }
+
+        final List<ProfileProperty> properties = new ArrayList<>(propertyCount);
+        for (int index = 0; propertyCount > index; index++) {
+            final String name = input.readUTF();
+            final String value = input.readUTF();
+            final String signature = input.readBoolean() ? input.readUTF() : null;
+            properties.add(new ProfileProperty(name, value, signature));
+        }
+        return properties;
+    }
+
+    private boolean isExpired(final Entry entry) {
+        return this.clock.getAsLong() - entry.getWrittenAt() > this.maxAge.toMillis();
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (this.loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!this.loaded) {
+                // A failed load is not repeated for every lookup, the store stays empty and read only instead
+                try {
+                    this.load();
+                } finally {
+                    this.loaded = true;
+                }
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        long records = 0;
+        boolean outdatedVersion = false;
+        if (Files.exists(this.path) && Files.size(this.path) > 0) {
+            long validLength = 0;
+            boolean corrupt = false;
+            try (final CountingInputStream countingInput = new CountingInputStream(new BufferedInputStream(Files.newInputStream(this.path)));
+                 final DataInputStream input = new DataInputStream(countingInput)) {
+                final int magic = input.readInt();
+                final byte version = input.readByte();
+                if (magic != MAGIC || version != VERSION && version != VERSION_WITHOUT_PROPERTIES) {
+                    throw new IOException("Unsupported player store format in " + this.path);
+                }
+                outdatedVersion = version != VERSION;
+                validLength = HEADER_SIZE;
+
+                while (true) {
+                    final int type = input.read();
+                    if (type == -1) {
+                        break;
+                    }
+                    if (type != PLAYER_INFO_RECORD && type != PLAYER_PROFILE_RECORD) {
+                        corrupt = true;
+                        break;
+                    }
+
+                    try {
+                        final long writtenAt = input.readLong();
+                        final UUID uuid = new UUID(input.readLong(), input.readLong());
+                        final String name = input.readUTF();
+                        if (type == PLAYER_INFO_RECORD) {
+                            this.putLoaded(this.playerInfos, input.readUTF(), new Entry(uuid, name, Collections.emptyList(), writtenAt));
+                        } else if (!outdatedVersion) {
+                            this.putLoaded(this.playerProfiles, uuid, new Entry(uuid, name, readProperties(input), writtenAt));
+                        }
+                    } catch (final EOFException | UTFDataFormatException e) {
+                        corrupt = true;
+                        break;
+                    }
+
+                    records++;
+                    validLength = countingInput.getCount();
+                }
+            }
+
+            // A crash during the last write can leave an incomplete or corrupt record behind, the records before it are kept
+            if (corrupt) {
+                try (final FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                }
+            }
+        }
+
+        // Outdated files are rewritten in the current version before anything is appended
+        if (outdatedVersion || records > COMPACTION_MIN_RECORDS && records > 2L * (this.playerProfiles.size() + this.playerInfos.size())) {
+            this.compact();
+        } else {
+            this.openOutput();
+        }
+    }
+
+    private <K> void putLoaded(final Map<K, Entry> entries, final K key, final Entry entry) {
+        if (this.isExpired(entry)) {
+            entries.remove(key);
+        } else {
+            entries.put(key, entry);
+        }
+    }
+
+    private void openOutput() throws IOException {
+        final boolean newFile = !Files.exists(this.path) || Files.size(this.path) == 0;
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                this.path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+        )));
+        if (newFile) {
+            writeHeader(this.output);
+            this.output.flush();
+        }
+    }
+
+    private synchronized void append(final byte type, final String key, final Entry entry) throws IOException {
+        if (this.output == null) {
+            throw new IOException("Player store " + this.path + " is closed.");
+        }
+        writeRecord(this.output, type, key, entry);
+        this.output.flush();
+    }
+
+    private <K> Optional<Entry> getEntry(final Map<K, Entry> entries, final K key) throws IOException {
+        this.ensureLoaded();
+
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        if (this.isExpired(entry)) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    public Optional<PlayerProfile> getPlayerProfile(final UUID playerUUID) throws IOException {
+        return this.getEntry(this.playerProfiles, playerUUID)
+                .map(entry -> new PlayerProfile(entry.getUuid(), entry.getName(), entry.getProperties()));
+    }
+
+    public Optional<PlayerInfo> getPlayerInfo(final String playerName) throws IOException {
+        return this.getEntry(this.playerInfos, playerName)
+                .map(entry -> new PlayerInfo(entry.getUuid(), entry.getName()));
+    }
+
+    public void putPlayerProfile(final PlayerProfile playerProfile) throws IOException {
+        this.ensureLoaded();
+
+        final Entry entry = new Entry(playerProfile.getUuid(), playerProfile.getName(), playerProfile.getProperties(), this.clock.getAsLong());
+        this.playerProfiles.put(entry.getUuid(), entry);
+        this.append(PLAYER_PROFILE_RECORD, null, entry);
+    }
+
+    public void putPlayerInfo(final String playerName, final PlayerInfo playerInfo) throws IOException {
+        this.ensureLoaded();
+
+        final Entry entry = new Entry(playerInfo.getUuid(), playerInfo.getName(), Collections.emptyList(), this.clock.getAsLong());
+        this.playerInfos.put(playerName, entry);
+        this.append(PLAYER_INFO_RECORD, playerName, entry);
+    }
+
+    public int size() throws IOException {
+        this.ensureLoaded();
+        return this.playerProfiles.size() + this.playerInfos.size();
+    }
+
+    /**
+     * Rewrites the file with only the current and not expired entries.
+     */
+    public synchronized void compact() throws IOException {
+        if (this.output != null) {
+            this.output.close();
+            this.output = null;
+        }
+
+        final Path tempPath = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try (final DataOutputStream tempOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            writeHeader(tempOutput);
+            for (final Entry entry : this.playerProfiles.values()) {
+                if (!this.isExpired(entry)) {
+                    writeRecord(tempOutput, PLAYER_PROFILE_RECORD, null, entry);
+                }
+            }
+            for (final Map.Entry<String, Entry> entry : this.playerInfos.entrySet()) {
+                if (!this.isExpired(entry.getValue())) {
+                    writeRecord(tempOutput, PLAYER_INFO_RECORD, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        Files.move(tempPath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.openOutput();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.output != null) {
+            this.output.close();
+            this.output = null;
+        }
+    }
+
+    @Value
+    private static class Entry {
+        UUID uuid;
+        String name;
+        // Only used by profiles
+        List<ProfileProperty> properties;
+        long writtenAt;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        @Getter
+        private long count;
+
+        CountingInputStream(final InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int result = super.read();
+            if (result != -1) {
+                this.count++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final int result = super.read(bytes, offset, length);
+            if (result != -1) {
+                this.count += result;
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long result = super.skip(n);
+            this.count += result;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package de.timmi6790.api.mojang.cache;
+
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the write time and the hits of every entry and refreshes hot entries shortly before their time to live runs out.
+ * Entries with fewer hits are left to expire normally.
+ */
+public class RefreshAheadCacheBackend<K, V> implements CacheBackend<K, V>, Closeable {
+    private final CacheBackend<K, V> delegate;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final int minimumHits;
+    private final int maximumTrackedKeys;
+    private final Function<Collection<K>, CompletableFuture<?>> refresher;
+    private final LongSupplier nanoClock;
+    private final Map<K, TrackedEntry> trackedEntries = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> refreshFuture;
+
+    /**
+     * @param ttl          default time to live of the delegate
+     * @param refreshAhead entries are refreshed inside this window before they expire
+     * @param minimumHits  hits since the last write required for a refresh
+     * @param refresher    fetches and stores the given keys again, keys it didn't store are retried on the next check
+     */
+    public RefreshAheadCacheBackend(@NonNull final CacheBackend<K, V> delegate,
+                                    @NonNull final Duration ttl,
+                                    @NonNull final Duration refreshAhead,
+                                    final int minimumHits,
+                                    final int maximumTrackedKeys,
+                                    @NonNull final Function<Collection<K>, CompletableFuture<?>> refresher) {
+        this(delegate, ttl, refreshAhead, minimumHits, maximumTrackedKeys, refresher, System::nanoTime);
+    }
+
+    RefreshAheadCacheBackend(final CacheBackend<K, V> delegate,
+                             final Duration ttl,
+                             final Duration refreshAhead,
+                             final int minimumHits,
+                             final int maximumTrackedKeys,
+                             final Function<Collection<K>, CompletableFuture<?>> refresher,
+                             final LongSupplier nanoClock) {
+        if (refreshAhead.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("The refresh ahead window must be shorter than the time to live.");
+        }
+
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAheadNanos = refreshAhead.toNanos();
+        this.minimumHits = minimumHits;
+        this.maximumTrackedKeys = maximumTrackedKeys;
+        this.refresher = refresher;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Checks for due entries at half the refresh ahead window, so every entry is seen at least once inside its window.
+     */
+    public synchronized RefreshAheadCacheBackend<K, V> start(@NonNull final ScheduledExecutorService scheduler) {
+        if (this.refreshFuture == null) {
+            final long interval = Math.max(1, this.refreshAheadNanos / 2);
+            this.refreshFuture = scheduler.scheduleWithFixedDelay(this::refreshDueEntries, interval, interval, TimeUnit.NANOSECONDS);
+        }
+        return this;
+    }
+
+    @Override
+    public Optional<V> get(final K key) {
+        final Optional<V> value = this.delegate.get(key);
+        if (value.isPresent()) {
+            this.recordHit(key);
+        }
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<K> keys) {
+        final Map<K, V> values = this.delegate.getAll(keys);
+        values.keySet().forEach(this::recordHit);
+        return values;
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+        this.delegate.put(key, value);
+        this.recordWrite(key, this.ttlNanos);
+    }
+
+    @Override
+    public void put(final K key, final V value, final Duration ttl) {
+        this.delegate.put(key, value, ttl);
+        this.recordWrite(key, ttl.toNanos());
+    }
+
+    @Override
+    public void putAll(final Map<K, V> entries) {
+        this.delegate.putAll(entries);
+        entries.keySet().forEach(key -> this.recordWrite(key, this.ttlNanos));
+    }
+
+    @Override
+    public void putAll(final Map<K, V> entries, final Duration ttl) {
+        this.delegate.putAll(entries, ttl);
+        final long entryTtlNanos = ttl.toNanos();
+        entries.keySet().forEach(key -> this.recordWrite(key, entryTtlNanos));
+    }
+
+    @Override
+    public void invalidate(final K key) {
+        this.trackedEntries.remove(key);
+        this.delegate.invalidate(key);
+    }
+
+    @Override
+    public CompletableFuture<Optional<V>> getAsync(final K key) {
+        return this.delegate.getAsync(key).thenApply(value -> {
+            if (value.isPresent()) {
+                this.recordHit(key);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<K, V>> getAllAsync(final Collection<K> keys) {
+        return this.delegate.getAllAsync(keys).thenApply(values -> {
+            values.keySet().forEach(this::recordHit);
+            return values;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(final K key, final V value) {
+        final CompletableFuture<Void> future = this.delegate.putAsync(key, value);
+        this.recordWrite(key, this.ttlNanos);
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(final Map<K, V> entries) {
+        final CompletableFuture<Void> future = this.delegate.putAllAsync(entries);
+        entries.keySet().forEach(key -> this.recordWrite(key, this.ttlNanos));
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Void> invalidateAsync(final K key) {
+        this.trackedEntries.remove(key);
+        return this.delegate.invalidateAsync(key);
+    }
+
+    @Override
+    public boolean canListEntries() {
+        return this.delegate.canListEntries();
+    }
+
+    @Override
+    public void forEachEntry(final EntryVisitor<K, V> visitor) throws IOException {
+        this.delegate.forEachEntry(visitor);
+    }
+
+    public int getTrackedKeyCount() {
+        return this.trackedEntries.size();
+    }
+
+    private void recordHit(final K key) {
+        final TrackedEntry trackedEntry = this.trackedEntries.get(key);
+        if (trackedEntry != null) {
+            trackedEntry.hits.incrementAndGet();
+        }
+    }
+
+    private void recordWrite(final K key, final long entryTtlNanos) {
+        final long expiresAt = this.nanoClock.getAsLong() + entryTtlNanos;
+        final TrackedEntry trackedEntry = this.trackedEntries.get(key);
+        if (trackedEntry != null) {
+            trackedEntry.reset(expiresAt);
+        } else if (this.maximumTrackedKeys > this.trackedEntries.size()) {
+            // Keys above the limit are not refreshed, they still expire and load normally
+            this.trackedEntries.put(key, new TrackedEntry(expiresAt));
+        }
+    }
+
+    /**
+     * Drops expired entries and passes the hot entries inside their refresh window to the refresher.
+     *
+     * @return the keys passed to the refresher
+     */
+    public List<K> refreshDueEntries() {
+        final long now = this.nanoClock.getAsLong();
+        final List<K> dueKeys = new ArrayList<>();
+        final List<TrackedEntry> dueEntries = new ArrayList<>();
+        for (final Iterator<Map.Entry<K, TrackedEntry>> iterator = this.trackedEntries.entrySet().iterator(); iterator.hasNext(); ) {
+            final Map.Entry<K, TrackedEntry> entry = iterator.next();
+            final TrackedEntry trackedEntry = entry.getValue();
+            if (trackedEntry.expiresAt - now <= 0) {
+                iterator.remove();
+            } else if (trackedEntry.expiresAt - now <= this.refreshAheadNanos
+                    && trackedEntry.hits.get() >= this.minimumHits
+                    && trackedEntry.tryStartRefresh()) {
+                dueKeys.add(entry.getKey());
+                dueEntries.add(trackedEntry);
+            }
+        }
+
+        if (!dueKeys.isEmpty()) {
+            final CompletableFuture<?> refresh;
+            try {
+                refresh = this.refresher.apply(dueKeys);
+            } catch (final RuntimeException e) {
+                // Failures must not cancel the scheduled checks
+                dueEntries.forEach(TrackedEntry::finishRefresh);
+                return dueKeys;
+            }
+            // Successful refreshes already reset the entries with their new write
+            refresh.whenComplete((result, throwable) -> dueEntries.forEach(TrackedEntry::finishRefresh));
+        }
+        return dueKeys;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.refreshFuture != null) {
+            this.refreshFuture.cancel(false);
+            this.refreshFuture = null;
+        }
+    }
+
+    private static class TrackedEntry {
+        private final AtomicInteger hits = new AtomicInteger();
+        private volatile long expiresAt;
+        private volatile boolean refreshing;
+
+        private TrackedEntry(final long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        private void reset(final long newExpiresAt) {
+            this.expiresAt = newExpiresAt;
+            this.hits.set(0);
+        }
+
+        private synchronized boolean tryStartRefresh() {
+            if (this.refreshing) {
+                return false;
+            }
+            this.refreshing = true;
+            return true;
+        }
+
+        private synchronized void finishRefresh() {
+            this.refreshing = false;
+        }
+    }
+}
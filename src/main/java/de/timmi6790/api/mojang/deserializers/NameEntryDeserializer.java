@@ -1,11 +1,13 @@
 package de.timmi6790.api.mojang.deserializers;
 
+import com.squareup.moshi.JsonDataException;
 import com.squareup.moshi.JsonReader;
 import de.timmi6790.api.mojang.models.NameEntry;
 
 import java.io.IOException;
-import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 public class NameEntryDeserializer extends Deserializer<NameEntry> {
     @Override
@@ -20,7 +22,8 @@ public class NameEntryDeserializer extends Deserializer<NameEntry> {
                     playerName = reader.nextString();
                     break;
                 case "changedToAt":
-                    changedAt = new Timestamp(reader.nextLong()).toLocalDateTime();
+                    // Epoch millis as local date time in the system default zone
+                    changedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(reader.nextLong()), ZoneId.systemDefault());
                     break;
                 default:
                     reader.skipValue();
@@ -29,7 +32,7 @@ public class NameEntryDeserializer extends Deserializer<NameEntry> {
         reader.endObject();
 
         if (playerName == null) {
-            throw new IOException("PlayerName not found.");
+            throw new JsonDataException("PlayerName not found.");
         }
 
         return new NameEntry(
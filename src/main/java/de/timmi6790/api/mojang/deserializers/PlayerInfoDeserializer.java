@@ -1,5 +1,6 @@
 package de.timmi6790.api.mojang.deserializers;
 
+import com.squareup.moshi.JsonDataException;
 import com.squareup.moshi.JsonReader;
 import de.timmi6790.api.mojang.models.PlayerInfo;
 import de.timmi6790.api.mojang.utilities.DeserializerUtilities;
@@ -29,7 +30,7 @@ public class PlayerInfoDeserializer extends Deserializer<PlayerInfo> {
         reader.endObject();
 
         if (playerName == null || playerUUID == null) {
-            throw new IOException("PlayerName or PlayerUUID not found.");
+            throw new JsonDataException("PlayerName or PlayerUUID not found.");
         }
         return new PlayerInfo(
                 playerUUID,
@@ -1,10 +1,15 @@
 package de.timmi6790.api.mojang.deserializers;
 
+import com.squareup.moshi.JsonDataException;
 import com.squareup.moshi.JsonReader;
 import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
 import de.timmi6790.api.mojang.utilities.DeserializerUtilities;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 public class PlayerProfileDeserializer extends Deserializer<PlayerProfile> {
@@ -12,6 +17,7 @@ public class PlayerProfileDeserializer extends Deserializer<PlayerProfile> {
     public PlayerProfile fromJson(final JsonReader reader) throws IOException {
         String playerName = null;
         UUID playerUUID = null;
+        List<ProfileProperty> properties = Collections.emptyList();
 
         reader.beginObject();
         while (reader.hasNext()) {
@@ -22,6 +28,9 @@ public class PlayerProfileDeserializer extends Deserializer<PlayerProfile> {
                 case "id":
                     playerUUID = DeserializerUtilities.convertMojangUUID(reader.nextString());
                     break;
+                case "properties":
+                    properties = this.readProperties(reader);
+                    break;
                 default:
                     reader.skipValue();
             }
@@ -29,11 +38,47 @@ public class PlayerProfileDeserializer extends Deserializer<PlayerProfile> {
         reader.endObject();
 
         if (playerName == null || playerUUID == null) {
-            throw new IOException("PlayerName or PlayerUUID not found.");
+            throw new JsonDataException("PlayerName or PlayerUUID not found.");
         }
         return new PlayerProfile(
                 playerUUID,
-                playerName
+                playerName,
+                properties
         );
     }
+
+    private List<ProfileProperty> readProperties(final JsonReader reader) throws IOException {
+        final List<ProfileProperty> properties = new ArrayList<>(1);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String name = null;
+            String value = null;
+            String signature = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "name":
+                        name = reader.nextString();
+                        break;
+                    case "value":
+                        value = reader.nextString();
+                        break;
+                    case "signature":
+                        signature = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            // The values are only decoded when they are used
+            if (name != null && value != null) {
+                properties.add(new ProfileProperty(name, value, signature));
+            }
+        }
+        reader.endArray();
+        return properties;
+    }
 }
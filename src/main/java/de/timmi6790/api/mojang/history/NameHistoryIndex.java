@@ -0,0 +1,328 @@
+package de.timmi6790.api.mojang.history;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+import lombok.NonNull;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local index of fetched name histories, answers point in time lookups without network calls.
+ * Every player keeps its change times as epoch millis in a sorted long array, every name keeps the intervals it was owned in.
+ * Reads are lock free, updates replace the immutable timelines of one player.
+ */
+public class NameHistoryIndex {
+    private static final int MAGIC = 0x4D4A4E48;
+    private static final byte VERSION = 1;
+
+    // The original name has no change time
+    private static final long ORIGINAL = Long.MIN_VALUE;
+
+    private final Map<UUID, Timeline> timelines = new ConcurrentHashMap<>();
+    private final Map<String, Owners> owners = new ConcurrentHashMap<>();
+
+    private static String toKey(final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * NameEntry times are local date times in the system default zone.
+     */
+    private static long toEpochMilli(final LocalDateTime changedAt) {
+        if (changedAt == LocalDateTime.MIN) {
+            return ORIGINAL;
+        }
+        return changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void writeVarLong(final DataOutput output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(final DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; 64 > shift; shift += 7) {
+            final byte current = input.readByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length number.");
+    }
+
+    public static NameHistoryIndex readFrom(@NonNull final InputStream inputStream) throws IOException {
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+            throw new IOException("Unsupported name history index format.");
+        }
+
+        final NameHistoryIndex index = new NameHistoryIndex();
+        final int players = input.readInt();
+        for (int player = 0; players > player; player++) {
+            final UUID playerUUID = new UUID(input.readLong(), input.readLong());
+            final int size = (int) readVarLong(input);
+            final long[] changedAt = new long[size];
+            final String[] names = new String[size];
+
+            long previous = 0;
+            for (int entry = 0; size > entry; entry++) {
+                names[entry] = input.readUTF();
+                final long encoded = readVarLong(input);
+                if (encoded == 0) {
+                    changedAt[entry] = ORIGINAL;
+                } else {
+                    final long delta = encoded - 1;
+                    previous += (delta >>> 1) ^ -(delta & 1);
+                    changedAt[entry] = previous;
+                }
+            }
+            index.update(playerUUID, new Timeline(changedAt, names));
+        }
+        return index;
+    }
+
+    public static NameHistoryIndex load(@NonNull final Path path) throws IOException {
+        try (final InputStream inputStream = Files.newInputStream(path)) {
+            return readFrom(inputStream);
+        }
+    }
+
+    /**
+     * Replaces the known history of the player.
+     */
+    public void update(@NonNull final UUID playerUUID, @NonNull final List<NameEntry> nameHistory) {
+        final NameEntry[] entries = nameHistory.toArray(new NameEntry[0]);
+        final long[] changedAt = new long[entries.length];
+        for (int index = 0; entries.length > index; index++) {
+            changedAt[index] = toEpochMilli(entries[index].getChangedAt());
+        }
+
+        // Mojang returns the history in order, but the index depends on it
+        final Integer[] order = new Integer[entries.length];
+        for (int index = 0; entries.length > index; index++) {
+            order[index] = index;
+        }
+        Arrays.sort(order, Comparator.comparingLong(index -> changedAt[index]));
+
+        final long[] sortedChangedAt = new long[entries.length];
+        final String[] sortedNames = new String[entries.length];
+        for (int index = 0; entries.length > index; index++) {
+            sortedChangedAt[index] = changedAt[order[index]];
+            sortedNames[index] = entries[order[index]].getName();
+        }
+        this.update(playerUUID, new Timeline(sortedChangedAt, sortedNames));
+    }
+
+    private synchronized void update(final UUID playerUUID, final Timeline timeline) {
+        final Timeline previousTimeline = this.timelines.put(playerUUID, timeline);
+        if (previousTimeline != null) {
+            for (final String name : previousTimeline.names) {
+                this.owners.computeIfPresent(toKey(name), (key, nameOwners) -> nameOwners.without(playerUUID));
+            }
+        }
+
+        for (int index = 0; timeline.size() > index; index++) {
+            final long from = timeline.changedAt[index];
+            final long until = timeline.size() > index + 1 ? timeline.changedAt[index + 1] : Long.MAX_VALUE;
+            this.owners.compute(
+                    toKey(timeline.names[index]),
+                    (key, nameOwners) -> (nameOwners == null ? Owners.EMPTY : nameOwners).with(playerUUID, from, until)
+            );
+        }
+    }
+
+    public synchronized void remove(@NonNull final UUID playerUUID) {
+        final Timeline timeline = this.timelines.remove(playerUUID);
+        if (timeline != null) {
+            for (final String name : timeline.names) {
+                this.owners.computeIfPresent(toKey(name), (key, nameOwners) -> nameOwners.without(playerUUID));
+            }
+        }
+    }
+
+    /**
+     * @return the name the player used at the given time
+     */
+    public Optional<String> getName(@NonNull final UUID playerUUID, @NonNull final Instant atTime) {
+        final Timeline timeline = this.timelines.get(playerUUID);
+        if (timeline == null) {
+            return Optional.empty();
+        }
+
+        final int index = floorIndex(timeline.changedAt, timeline.size(), atTime.toEpochMilli());
+        return index == -1 ? Optional.empty() : Optional.of(timeline.names[index]);
+    }
+
+    /**
+     * @return the player that owned the name at the given time, the name is case insensitive
+     */
+    public Optional<UUID> getOwner(@NonNull final String name, @NonNull final Instant atTime) {
+        final Owners nameOwners = this.owners.get(toKey(name));
+        if (nameOwners == null) {
+            return Optional.empty();
+        }
+
+        final long time = atTime.toEpochMilli();
+        // Outdated histories can overlap, the latest claim wins
+        for (int index = floorIndex(nameOwners.from, nameOwners.size(), time); index >= 0; index--) {
+            if (nameOwners.until[index] > time) {
+                return Optional.of(nameOwners.uuids[index]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean contains(final UUID playerUUID) {
+        return this.timelines.containsKey(playerUUID);
+    }
+
+    public int size() {
+        return this.timelines.size();
+    }
+
+    /**
+     * @return last index with a value lower or equal to the key, -1 if there is none
+     */
+    private static int floorIndex(final long[] values, final int size, final long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Writes the index with delta encoded times.
+     */
+    public void writeTo(@NonNull final OutputStream outputStream) throws IOException {
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+
+        final Map<UUID, Timeline> snapshot = new HashMap<>(this.timelines);
+        output.writeInt(snapshot.size());
+        for (final Map.Entry<UUID, Timeline> entry : snapshot.entrySet()) {
+            final Timeline timeline = entry.getValue();
+            output.writeLong(entry.getKey().getMostSignificantBits());
+            output.writeLong(entry.getKey().getLeastSignificantBits());
+            writeVarLong(output, timeline.size());
+
+            long previous = 0;
+            for (int index = 0; timeline.size() > index; index++) {
+                output.writeUTF(timeline.names[index]);
+                if (timeline.changedAt[index] == ORIGINAL) {
+                    writeVarLong(output, 0);
+                } else {
+                    final long delta = timeline.changedAt[index] - previous;
+                    writeVarLong(output, ((delta << 1) ^ (delta >> 63)) + 1);
+                    previous = timeline.changedAt[index];
+                }
+            }
+        }
+        output.flush();
+    }
+
+    public void save(@NonNull final Path path) throws IOException {
+        final Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (final OutputStream outputStream = Files.newOutputStream(tempPath)) {
+            this.writeTo(outputStream);
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class Timeline {
+        private final long[] changedAt;
+        private final String[] names;
+
+        Timeline(final long[] changedAt, final String[] names) {
+            this.changedAt = changedAt;
+            this.names = names;
+        }
+
+        int size() {
+            return this.changedAt.length;
+        }
+    }
+
+    /**
+     * Owners of one name sorted by the start of their interval.
+     */
+    private static class Owners {
+        private static final Owners EMPTY = new Owners(new long[0], new long[0], new UUID[0]);
+
+        private final long[] from;
+        private final long[] until;
+        private final UUID[] uuids;
+
+        Owners(final long[] from, final long[] until, final UUID[] uuids) {
+            this.from = from;
+            this.until = until;
+            this.uuids = uuids;
+        }
+
+        int size() {
+            return this.from.length;
+        }
+
+        Owners with(final UUID playerUUID, final long start, final long end) {
+            final int size = this.size();
+            final int position = floorIndex(this.from, size, start) + 1;
+
+            final long[] newFrom = new long[size + 1];
+            final long[] newUntil = new long[size + 1];
+            final UUID[] newUuids = new UUID[size + 1];
+            System.arraycopy(this.from, 0, newFrom, 0, position);
+            System.arraycopy(this.until, 0, newUntil, 0, position);
+            System.arraycopy(this.uuids, 0, newUuids, 0, position);
+            newFrom[position] = start;
+            newUntil[position] = end;
+            newUuids[position] = playerUUID;
+            System.arraycopy(this.from, position, newFrom, position + 1, size - position);
+            System.arraycopy(this.until, position, newUntil, position + 1, size - position);
+            System.arraycopy(this.uuids, position, newUuids, position + 1, size - position);
+            return new Owners(newFrom, newUntil, newUuids);
+        }
+
+        /**
+         * @return null when no owner is left, which removes the name from the map
+         */
+        Owners without(final UUID playerUUID) {
+            final int size = this.size();
+            final long[] newFrom = new long[size];
+            final long[] newUntil = new long[size];
+            final UUID[] newUuids = new UUID[size];
+            int newSize = 0;
+            for (int index = 0; size > index; index++) {
+                if (!this.uuids[index].equals(playerUUID)) {
+                    newFrom[newSize] = this.from[index];
+                    newUntil[newSize] = this.until[index];
+                    newUuids[newSize] = this.uuids[index];
+                    newSize++;
+                }
+            }
+
+            if (newSize == 0) {
+                return null;
+            }
+            return new Owners(Arrays.copyOf(newFrom, newSize), Arrays.copyOf(newUntil, newSize), Arrays.copyOf(newUuids, newSize));
+        }
+    }
+}
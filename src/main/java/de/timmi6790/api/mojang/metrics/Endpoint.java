@@ -0,0 +1,13 @@
+package de.timmi6790.api.mojang.metrics;
+
+/**
+ * Api endpoints used by the client. The player endpoints are also used to identify their caches.
+ */
+public enum Endpoint {
+    STATUS,
+    BLOCKED_SERVERS,
+    PLAYER_INFO,
+    PLAYER_INFOS,
+    PLAYER_NAME_HISTORY,
+    PLAYER_PROFILE
+}
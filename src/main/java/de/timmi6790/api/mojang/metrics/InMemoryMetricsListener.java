@@ -0,0 +1,163 @@
+package de.timmi6790.api.mojang.metrics;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps all measurements in memory, e.g. to expose them through a status page or to export them periodically.
+ */
+public class InMemoryMetricsListener implements MetricsListener {
+    private final Map<Endpoint, EndpointMetrics> endpointMetrics = new EnumMap<>(Endpoint.class);
+    private final Map<String, RateLimitMetrics> rateLimitMetrics = new ConcurrentHashMap<>();
+
+    public InMemoryMetricsListener() {
+        for (final Endpoint endpoint : Endpoint.values()) {
+            this.endpointMetrics.put(endpoint, new EndpointMetrics());
+        }
+    }
+
+    public EndpointMetrics getEndpointMetrics(final Endpoint endpoint) {
+        return this.endpointMetrics.get(endpoint);
+    }
+
+    public RateLimitMetrics getRateLimitMetrics(final String host) {
+        return this.rateLimitMetrics.computeIfAbsent(host, key -> new RateLimitMetrics());
+    }
+
+    @Override
+    public void onResponse(final Endpoint endpoint, final int statusCode, final long latencyNanos) {
+        final EndpointMetrics metrics = this.endpointMetrics.get(endpoint);
+        metrics.latency.record(latencyNanos);
+        metrics.statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void onFailure(final Endpoint endpoint, final IOException exception) {
+        this.endpointMetrics.get(endpoint).failures.increment();
+    }
+
+    @Override
+    public void onBytesRead(final Endpoint endpoint, final long bytes) {
+        this.endpointMetrics.get(endpoint).bytesRead.add(bytes);
+    }
+
+    @Override
+    public void onDeserialization(final Endpoint endpoint, final long durationNanos) {
+        this.endpointMetrics.get(endpoint).deserialization.record(durationNanos);
+    }
+
+    @Override
+    public void onNetworkPhase(final Endpoint endpoint, final NetworkPhase phase, final long durationNanos) {
+        this.endpointMetrics.get(endpoint).networkPhases.get(phase).record(durationNanos);
+    }
+
+    @Override
+    public void onCacheHits(final Endpoint endpoint, final int count) {
+        this.endpointMetrics.get(endpoint).cacheHits.add(count);
+    }
+
+    @Override
+    public void onCacheMisses(final Endpoint endpoint, final int count) {
+        this.endpointMetrics.get(endpoint).cacheMisses.add(count);
+    }
+
+    @Override
+    public void onCacheEviction(final Endpoint endpoint, final RemovalCause cause) {
+        this.endpointMetrics.get(endpoint).cacheEvictions.increment();
+    }
+
+    @Override
+    public void onRateLimitWait(final String host, final long waitNanos) {
+        this.getRateLimitMetrics(host).waits.record(waitNanos);
+    }
+
+    @Override
+    public void onRateLimitRejected(final String host) {
+        this.getRateLimitMetrics(host).rejections.increment();
+    }
+
+    @Override
+    public void onRateLimitResponse(final String host, final Duration retryAfter) {
+        this.getRateLimitMetrics(host).rateLimitedResponses.increment();
+    }
+
+    public static class EndpointMetrics {
+        @Getter
+        private final LatencyHistogram latency = new LatencyHistogram();
+        @Getter
+        private final LatencyHistogram deserialization = new LatencyHistogram();
+        private final Map<NetworkPhase, LatencyHistogram> networkPhases = new EnumMap<>(NetworkPhase.class);
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+        private final LongAdder cacheEvictions = new LongAdder();
+
+        private EndpointMetrics() {
+            for (final NetworkPhase phase : NetworkPhase.values()) {
+                this.networkPhases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        public LatencyHistogram getNetworkPhase(final NetworkPhase phase) {
+            return this.networkPhases.get(phase);
+        }
+
+        public Map<Integer, Long> getStatusCodes() {
+            final Map<Integer, Long> counts = new TreeMap<>();
+            this.statusCodes.forEach((statusCode, count) -> counts.put(statusCode, count.sum()));
+            return counts;
+        }
+
+        public long getFailures() {
+            return this.failures.sum();
+        }
+
+        public long getBytesRead() {
+            return this.bytesRead.sum();
+        }
+
+        public long getCacheHits() {
+            return this.cacheHits.sum();
+        }
+
+        public long getCacheMisses() {
+            return this.cacheMisses.sum();
+        }
+
+        public long getCacheEvictions() {
+            return this.cacheEvictions.sum();
+        }
+
+        public double getCacheHitRate() {
+            final long hits = this.getCacheHits();
+            final long requests = hits + this.getCacheMisses();
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class RateLimitMetrics {
+        @Getter
+        private final LatencyHistogram waits = new LatencyHistogram();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder rateLimitedResponses = new LongAdder();
+
+        public long getRejections() {
+            return this.rejections.sum();
+        }
+
+        public long getRateLimitedResponses() {
+            return this.rateLimitedResponses.sum();
+        }
+    }
+}
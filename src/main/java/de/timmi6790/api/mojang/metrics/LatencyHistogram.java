@@ -0,0 +1,63 @@
+package de.timmi6790.api.mojang.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram with power of two buckets. Percentiles are reported as the upper bound of their bucket.
+ */
+public class LatencyHistogram {
+    // Bucket i contains values in [2^(i-1), 2^i)
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        this.buckets.incrementAndGet(Math.min(Long.SIZE - Long.numberOfLeadingZeros(value), Long.SIZE - 1));
+        this.count.increment();
+        this.totalNanos.add(value);
+        this.maxNanos.accumulate(value);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public Duration getTotal() {
+        return Duration.ofNanos(this.totalNanos.sum());
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(this.maxNanos.get());
+    }
+
+    public Duration getMean() {
+        final long currentCount = this.getCount();
+        return currentCount == 0 ? Duration.ZERO : Duration.ofNanos(this.totalNanos.sum() / currentCount);
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     */
+    public Duration getPercentile(final double percentile) {
+        final long currentCount = this.getCount();
+        if (currentCount == 0) {
+            return Duration.ZERO;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile * currentCount));
+        long seen = 0;
+        for (int bucket = 0; this.buckets.length() > bucket; bucket++) {
+            seen += this.buckets.get(bucket);
+            if (seen >= target) {
+                final long upperBound = bucket == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+                return Duration.ofNanos(Math.min(upperBound, this.maxNanos.get()));
+            }
+        }
+        return this.getMax();
+    }
+}
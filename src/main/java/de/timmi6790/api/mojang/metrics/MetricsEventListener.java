@@ -0,0 +1,81 @@
+package de.timmi6790.api.mojang.metrics;
+
+import lombok.RequiredArgsConstructor;
+import okhttp3.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * Reports the network timings of a single call. Calls without an {@link Endpoint} tag are ignored.
+ */
+@RequiredArgsConstructor
+public class MetricsEventListener extends EventListener {
+    private final MetricsListener metricsListener;
+    private final Endpoint endpoint;
+
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestStart;
+
+    public static EventListener.Factory factory(final MetricsListener metricsListener) {
+        return call -> {
+            final Endpoint endpoint = call.request().tag(Endpoint.class);
+            return endpoint == null ? EventListener.NONE : new MetricsEventListener(metricsListener, endpoint);
+        };
+    }
+
+    @Override
+    public void dnsStart(final Call call, final String domainName) {
+        this.dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(final Call call, final String domainName, final List<InetAddress> inetAddressList) {
+        this.metricsListener.onNetworkPhase(this.endpoint, NetworkPhase.DNS, System.nanoTime() - this.dnsStart);
+    }
+
+    @Override
+    public void connectStart(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy) {
+        this.connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(final Call call) {
+        this.secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(final Call call, final Handshake handshake) {
+        this.metricsListener.onNetworkPhase(this.endpoint, NetworkPhase.TLS, System.nanoTime() - this.secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy, final Protocol protocol) {
+        this.metricsListener.onNetworkPhase(this.endpoint, NetworkPhase.CONNECT, System.nanoTime() - this.connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(final Call call) {
+        this.requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersEnd(final Call call, final Response response) {
+        this.metricsListener.onResponse(this.endpoint, response.code(), System.nanoTime() - this.requestStart);
+    }
+
+    @Override
+    public void responseBodyEnd(final Call call, final long byteCount) {
+        this.metricsListener.onBytesRead(this.endpoint, byteCount);
+    }
+
+    @Override
+    public void callFailed(final Call call, final IOException ioe) {
+        this.metricsListener.onFailure(this.endpoint, ioe);
+    }
+}
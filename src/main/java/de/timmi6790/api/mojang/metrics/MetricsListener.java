@@ -0,0 +1,56 @@
+package de.timmi6790.api.mojang.metrics;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Receives measurements from the client. All methods are called on the request threads and should return quickly.
+ */
+public interface MetricsListener {
+    MetricsListener NOOP = new MetricsListener() {
+    };
+
+    /**
+     * @param latencyNanos time between sending the request and receiving the response headers
+     */
+    default void onResponse(final Endpoint endpoint, final int statusCode, final long latencyNanos) {
+    }
+
+    default void onFailure(final Endpoint endpoint, final IOException exception) {
+    }
+
+    default void onBytesRead(final Endpoint endpoint, final long bytes) {
+    }
+
+    default void onDeserialization(final Endpoint endpoint, final long durationNanos) {
+    }
+
+    default void onNetworkPhase(final Endpoint endpoint, final NetworkPhase phase, final long durationNanos) {
+    }
+
+    default void onCacheHits(final Endpoint endpoint, final int count) {
+    }
+
+    default void onCacheMisses(final Endpoint endpoint, final int count) {
+    }
+
+    default void onCacheEviction(final Endpoint endpoint, final RemovalCause cause) {
+    }
+
+    default void onRateLimitWait(final String host, final long waitNanos) {
+    }
+
+    /**
+     * A request was rejected locally, because the wait for the rate limit would have been too long.
+     */
+    default void onRateLimitRejected(final String host) {
+    }
+
+    /**
+     * The server answered with 429.
+     */
+    default void onRateLimitResponse(final String host, final Duration retryAfter) {
+    }
+}
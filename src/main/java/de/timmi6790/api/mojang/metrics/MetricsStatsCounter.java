@@ -0,0 +1,62 @@
+package de.timmi6790.api.mojang.metrics;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Forwards the statistics of a caffeine cache to a {@link MetricsListener}.
+ */
+@RequiredArgsConstructor
+public class MetricsStatsCounter implements StatsCounter {
+    private final StatsCounter delegate = new ConcurrentStatsCounter();
+    private final Endpoint endpoint;
+    private final MetricsListener metricsListener;
+
+    @Override
+    public void recordHits(final int count) {
+        this.delegate.recordHits(count);
+        this.metricsListener.onCacheHits(this.endpoint, count);
+    }
+
+    @Override
+    public void recordMisses(final int count) {
+        this.delegate.recordMisses(count);
+        this.metricsListener.onCacheMisses(this.endpoint, count);
+    }
+
+    @Override
+    public void recordLoadSuccess(final long loadTime) {
+        this.delegate.recordLoadSuccess(loadTime);
+    }
+
+    @Override
+    public void recordLoadFailure(final long loadTime) {
+        this.delegate.recordLoadFailure(loadTime);
+    }
+
+    @Override
+    @Deprecated
+    public void recordEviction() {
+        this.recordEviction(1, RemovalCause.SIZE);
+    }
+
+    @Override
+    @Deprecated
+    public void recordEviction(final int weight) {
+        this.recordEviction(weight, RemovalCause.SIZE);
+    }
+
+    @Override
+    public void recordEviction(final int weight, final RemovalCause cause) {
+        this.delegate.recordEviction(weight, cause);
+        this.metricsListener.onCacheEviction(this.endpoint, cause);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return this.delegate.snapshot();
+    }
+}
@@ -0,0 +1,7 @@
+package de.timmi6790.api.mojang.metrics;
+
+public enum NetworkPhase {
+    DNS,
+    CONNECT,
+    TLS
+}
@@ -0,0 +1,330 @@
+package de.timmi6790.api.mojang.models;
+
+import okio.BufferedSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Compact set of the sha1 hashes from the blocked servers list.
+ * The hashes are stored in an open addressing table of three longs per slot, without an object per entry.
+ */
+public class BlockedServers {
+    private static final int SLOT_SIZE = 3;
+    // Marks used slots in the last long, because the hash itself can be zero
+    private static final long USED_FLAG = 1L << 32;
+    private static final int HASH_LENGTH = 20;
+
+    private static final ThreadLocal<HashContext> HASH_CONTEXT = ThreadLocal.withInitial(HashContext::new);
+
+    private long[] table;
+    private int mask;
+    private int size;
+
+    private BlockedServers(final int expectedSize) {
+        int capacity = 16;
+        while (expectedSize * 2 > capacity) {
+            capacity <<= 1;
+        }
+        this.table = new long[capacity * SLOT_SIZE];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Reads one hex encoded sha1 hash per line. Lines that are not a valid hash are skipped.
+     */
+    public static BlockedServers parse(final BufferedSource source) throws IOException {
+        final BlockedServers blockedServers = new BlockedServers(4096);
+
+        long first = 0;
+        long second = 0;
+        long third = 0;
+        int nibbles = 0;
+        boolean valid = true;
+        while (!source.exhausted()) {
+            final byte character = source.readByte();
+            if (character == '\n') {
+                if (valid && nibbles == HASH_LENGTH * 2) {
+                    blockedServers.add(first, second, third);
+                }
+                first = 0;
+                second = 0;
+                third = 0;
+                nibbles = 0;
+                valid = true;
+                continue;
+            }
+
+            final int value = hexValue(character);
+            if (value == -1) {
+                // Whitespace around the hash is allowed
+                if (character != '\r' && character != ' ' && character != '\t') {
+                    valid = false;
+                }
+                continue;
+            }
+
+            if (nibbles < 16) {
+                first = first << 4 | value;
+            } else if (nibbles < 32) {
+                second = second << 4 | value;
+            } else if (nibbles < 40) {
+                third = third << 4 | value;
+            }
+            nibbles++;
+        }
+
+        if (valid && nibbles == HASH_LENGTH * 2) {
+            blockedServers.add(first, second, third);
+        }
+        return blockedServers;
+    }
+
+    private static int hexValue(final byte character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        if (character >= 'a' && character <= 'f') {
+            return character - 'a' + 10;
+        }
+        if (character >= 'A' && character <= 'F') {
+            return character - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static long readLong(final byte[] bytes, final int offset, final int length) {
+        long value = 0;
+        for (int index = offset; offset + length > index; index++) {
+            value = value << 8 | (bytes[index] & 0xFF);
+        }
+        return value;
+    }
+
+    private void add(final long first, final long second, final long third) {
+        if ((this.size + 1) * 2 > this.mask + 1) {
+            this.resize();
+        }
+
+        int slot = (int) first & this.mask;
+        while (true) {
+            final int index = slot * SLOT_SIZE;
+            if (this.table[index + 2] == 0) {
+                this.table[index] = first;
+                this.table[index + 1] = second;
+                this.table[index + 2] = third | USED_FLAG;
+                this.size++;
+                return;
+            }
+            if (this.table[index] == first && this.table[index + 1] == second && this.table[index + 2] == (third | USED_FLAG)) {
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    private void resize() {
+        final long[] oldTable = this.table;
+        this.table = new long[oldTable.length * 2];
+        this.mask = this.mask * 2 + 1;
+        this.size = 0;
+        for (int index = 0; oldTable.length > index; index += SLOT_SIZE) {
+            if (oldTable[index + 2] != 0) {
+                this.add(oldTable[index], oldTable[index + 1], oldTable[index + 2] & ~USED_FLAG);
+            }
+        }
+    }
+
+    private boolean contains(final long first, final long second, final long third) {
+        final long usedThird = third | USED_FLAG;
+        int slot = (int) first & this.mask;
+        while (true) {
+            final int index = slot * SLOT_SIZE;
+            final long storedThird = this.table[index + 2];
+            if (storedThird == 0) {
+                return false;
+            }
+            if (storedThird == usedThird && this.table[index] == first && this.table[index + 1] == second) {
+                return true;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    private boolean containsHash(final byte[] hash) {
+        return this.contains(
+                readLong(hash, 0, 8),
+                readLong(hash, 8, 8),
+                readLong(hash, 16, 4)
+        );
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param sha1Hash hex encoded sha1 hash
+     */
+    public boolean containsHash(final String sha1Hash) {
+        if (sha1Hash.length() != HASH_LENGTH * 2) {
+            return false;
+        }
+
+        long first = 0;
+        long second = 0;
+        long third = 0;
+        for (int index = 0; sha1Hash.length() > index; index++) {
+            final char character = sha1Hash.charAt(index);
+            final int value = character > 0x7F ? -1 : hexValue((byte) character);
+            if (value == -1) {
+                return false;
+            }
+
+            if (index < 16) {
+                first = first << 4 | value;
+            } else if (index < 32) {
+                second = second << 4 | value;
+            } else {
+                third = third << 4 | value;
+            }
+        }
+        return this.contains(first, second, third);
+    }
+
+    /**
+     * Checks the address and its wildcard variants the same way the minecraft client does.
+     * For hosts {@code *.example.com} and {@code *.com} are checked for {@code mc.example.com},
+     * for ip addresses {@code 1.2.3.*}, {@code 1.2.*} and {@code 1.*} are checked for {@code 1.2.3.4}.
+     *
+     * @param address hostname or ipv4 address, an optional port is ignored
+     */
+    public boolean isServerBlocked(final String address) {
+        final HashContext context = HASH_CONTEXT.get();
+        final int length = context.setAddress(address);
+        if (length == 0) {
+            return false;
+        }
+
+        final byte[] bytes = context.buffer;
+        if (this.containsHash(context.hash(null, bytes, 0, length))) {
+            return true;
+        }
+
+        if (isIpAddress(bytes, length)) {
+            for (int index = length - 1; index > 0; index--) {
+                if (bytes[index] == '.' && this.containsHash(context.hash(bytes, 0, index + 1, HashContext.WILDCARD))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int index = 0; length > index; index++) {
+            if (bytes[index] == '.' && this.containsHash(context.hash(HashContext.WILDCARD_PREFIX, bytes, index + 1, length - index - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIpAddress(final byte[] address, final int length) {
+        int dots = 0;
+        int digits = 0;
+        for (int index = 0; length > index; index++) {
+            final byte character = address[index];
+            if (character == '.') {
+                if (digits == 0) {
+                    return false;
+                }
+                dots++;
+                digits = 0;
+            } else if (character >= '0' && character <= '9' && digits < 3) {
+                digits++;
+            } else {
+                return false;
+            }
+        }
+        return dots == 3 && digits > 0;
+    }
+
+    /**
+     * Reusable buffers for the lookups, so a check doesn't allocate after the first call on a thread.
+     */
+    private static class HashContext {
+        private static final byte[] WILDCARD_PREFIX = "*.".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] WILDCARD = "*".getBytes(StandardCharsets.US_ASCII);
+
+        private final MessageDigest digest;
+        private final byte[] result = new byte[HASH_LENGTH];
+        private byte[] buffer = new byte[64];
+
+        HashContext() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-1");
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Writes the lower cased ascii address without port into the buffer.
+         *
+         * @return the address length
+         */
+        int setAddress(final String address) {
+            int start = 0;
+            int end = address.length();
+            while (end > start && address.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && address.charAt(end - 1) <= ' ') {
+                end--;
+            }
+
+            final int portSeparator = address.lastIndexOf(':', end - 1);
+            if (portSeparator >= start && address.indexOf(':', start) == portSeparator) {
+                end = portSeparator;
+            }
+            if (end > start && address.charAt(end - 1) == '.') {
+                end--;
+            }
+
+            final int length = end - start;
+            if (length > this.buffer.length) {
+                this.buffer = new byte[length];
+            }
+            for (int index = 0; length > index; index++) {
+                final char character = address.charAt(start + index);
+                this.buffer[index] = (byte) (character >= 'A' && character <= 'Z' ? character + ('a' - 'A') : character);
+            }
+            return length;
+        }
+
+        byte[] hash(final byte[] prefix, final byte[] bytes, final int offset, final int length) {
+            if (prefix != null) {
+                this.digest.update(prefix);
+            }
+            this.digest.update(bytes, offset, length);
+            return this.finish();
+        }
+
+        byte[] hash(final byte[] bytes, final int offset, final int length, final byte[] suffix) {
+            this.digest.update(bytes, offset, length);
+            this.digest.update(suffix);
+            return this.finish();
+        }
+
+        private byte[] finish() {
+            try {
+                this.digest.digest(this.result, 0, HASH_LENGTH);
+            } catch (final DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            return this.result;
+        }
+    }
+}
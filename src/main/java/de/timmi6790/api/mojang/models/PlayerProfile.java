@@ -1,9 +1,62 @@
 package de.timmi6790.api.mojang.models;
 
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+@Getter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
 public class PlayerProfile extends PlayerInfo {
+    private final List<ProfileProperty> properties;
+
+    // Decoded on first access, most callers only need the name
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private volatile Optional<Textures> textures;
+
     public PlayerProfile(final UUID uuid, final String name) {
+        this(uuid, name, Collections.emptyList());
+    }
+
+    public PlayerProfile(final UUID uuid, final String name, @NonNull final List<ProfileProperty> properties) {
         super(uuid, name);
+        this.properties = properties.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(properties);
+    }
+
+    public Optional<ProfileProperty> getProperty(final String name) {
+        for (final ProfileProperty property : this.properties) {
+            if (property.getName().equals(name)) {
+                return Optional.of(property);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return empty when the profile has no or an invalid textures property
+     */
+    public Optional<Textures> getTextures() {
+        Optional<Textures> currentTextures = this.textures;
+        if (currentTextures == null) {
+            currentTextures = this.getProperty(Textures.PROPERTY_NAME).flatMap(property -> {
+                try {
+                    return Optional.of(Textures.parse(property.getValue()));
+                } catch (final IOException | RuntimeException e) {
+                    return Optional.empty();
+                }
+            });
+            this.textures = currentTextures;
+        }
+        return currentTextures;
     }
 }
@@ -0,0 +1,18 @@
+package de.timmi6790.api.mojang.models;
+
+import lombok.Data;
+
+import java.util.Optional;
+
+@Data
+public class ProfileProperty {
+    private final String name;
+    // Base64 encoded
+    private final String value;
+    // Only returned for signed profile requests
+    private final String signature;
+
+    public Optional<String> getSignature() {
+        return Optional.ofNullable(this.signature);
+    }
+}
@@ -0,0 +1,116 @@
+package de.timmi6790.api.mojang.models;
+
+import com.squareup.moshi.JsonReader;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import okio.Buffer;
+import okio.ByteString;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Decoded textures property of a profile.
+ */
+@Data
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class Textures {
+    public static final String PROPERTY_NAME = "textures";
+
+    private final String skinUrl;
+    private final SkinModel skinModel;
+    private final String capeUrl;
+
+    /**
+     * @param value base64 encoded value of the textures property
+     */
+    public static Textures parse(final String value) throws IOException {
+        final ByteString decodedValue = ByteString.decodeBase64(value);
+        if (decodedValue == null) {
+            throw new IOException("Textures property is not base64 encoded.");
+        }
+
+        String skinUrl = null;
+        SkinModel skinModel = SkinModel.CLASSIC;
+        String capeUrl = null;
+
+        final JsonReader reader = JsonReader.of(new Buffer().write(decodedValue));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"textures".equals(reader.nextName())) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "SKIN":
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.nextName()) {
+                                case "url":
+                                    skinUrl = reader.nextString();
+                                    break;
+                                case "metadata":
+                                    skinModel = parseSkinModel(reader);
+                                    break;
+                                default:
+                                    reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        break;
+                    case "CAPE":
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if ("url".equals(reader.nextName())) {
+                                capeUrl = reader.nextString();
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+
+        return new Textures(skinUrl, skinModel, capeUrl);
+    }
+
+    private static SkinModel parseSkinModel(final JsonReader reader) throws IOException {
+        SkinModel skinModel = SkinModel.CLASSIC;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("model".equals(reader.nextName())) {
+                skinModel = "slim".equals(reader.nextString()) ? SkinModel.SLIM : SkinModel.CLASSIC;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return skinModel;
+    }
+
+    /**
+     * @return empty for players with the default skin
+     */
+    public Optional<String> getSkinUrl() {
+        return Optional.ofNullable(this.skinUrl);
+    }
+
+    public Optional<String> getCapeUrl() {
+        return Optional.ofNullable(this.capeUrl);
+    }
+
+    public enum SkinModel {
+        CLASSIC,
+        SLIM
+    }
+}
@@ -0,0 +1,235 @@
+package de.timmi6790.api.mojang.ratelimit;
+
+import de.timmi6790.api.mojang.metrics.MetricsListener;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Waits for the budget of the host and retries 429 responses with a backoff.
+ * Blocking calls wait inside the interceptor, calls sent through {@link #enqueue(Request, Function)} are scheduled instead.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements Interceptor {
+    private static final int TOO_MANY_REQUESTS = 429;
+    // Only hands the delayed calls to OkHttp, the requests themselves never run on it
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "mojang-rate-limit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RateLimiter rateLimiter;
+    private final int maxRetries;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final MetricsListener metricsListener;
+
+    public RateLimitInterceptor(final RateLimiter rateLimiter) {
+        this(rateLimiter, MetricsListener.NOOP);
+    }
+
+    public RateLimitInterceptor(final RateLimiter rateLimiter, final MetricsListener metricsListener) {
+        this(rateLimiter, 3, Duration.ofSeconds(1), Duration.ofMinutes(1), metricsListener);
+    }
+
+    public RateLimitInterceptor(final RateLimiter rateLimiter, final int maxRetries, final Duration baseBackoff, final Duration maxBackoff) {
+        this(rateLimiter, maxRetries, baseBackoff, maxBackoff, MetricsListener.NOOP);
+    }
+
+    /**
+     * @return the Retry-After header in seconds or as http date, zero without a valid header
+     */
+    public static Duration parseRetryAfter(final Response response) {
+        final String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return Duration.ZERO;
+        }
+
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (final NumberFormatException ignore) {
+            // Retry-After can also be a http date
+            final Date retryDate = response.headers().getDate("Retry-After");
+            if (retryDate == null) {
+                return Duration.ZERO;
+            }
+            return Duration.ofMillis(Math.max(0, retryDate.getTime() - System.currentTimeMillis()));
+        }
+    }
+
+    protected Duration getRetryAfter(final Response response) {
+        return parseRetryAfter(response);
+    }
+
+    protected Duration getBackoff(final int attempt, final Duration retryAfter) {
+        // Equal jitter, half of the exponential delay is fixed and the other half random
+        final long exponentialMillis = Math.min(this.maxBackoff.toMillis(), this.baseBackoff.toMillis() << Math.min(attempt, 20));
+        final long halfMillis = exponentialMillis / 2;
+        final long jitteredMillis = halfMillis + ThreadLocalRandom.current().nextLong(halfMillis + 1);
+        return Duration.ofMillis(Math.max(retryAfter.toMillis(), jitteredMillis));
+    }
+
+    private void acquire(final String host) throws IOException {
+        try {
+            final long waitNanos = this.rateLimiter.acquire(host);
+            if (waitNanos > 0) {
+                this.metricsListener.onRateLimitWait(host, waitNanos);
+            }
+        } catch (final RateLimitedException e) {
+            this.metricsListener.onRateLimitRejected(host);
+            throw e;
+        }
+    }
+
+    private long reserve(final String host) throws RateLimitedException {
+        try {
+            final long waitNanos = this.rateLimiter.reserve(host);
+            if (waitNanos > 0) {
+                this.metricsListener.onRateLimitWait(host, waitNanos);
+            }
+            return waitNanos;
+        } catch (final RateLimitedException e) {
+            this.metricsListener.onRateLimitRejected(host);
+            throw e;
+        }
+    }
+
+    private void acquireNow(final String host) throws RateLimitedException {
+        try {
+            this.rateLimiter.acquireNow(host);
+        } catch (final RateLimitedException e) {
+            this.metricsListener.onRateLimitRejected(host);
+            throw e;
+        }
+    }
+
+    private Duration onTooManyRequests(final String host, final Response response) {
+        response.close();
+
+        final Duration retryAfter = this.getRetryAfter(response);
+        this.metricsListener.onRateLimitResponse(host, retryAfter);
+        this.rateLimiter.penalize(host, retryAfter);
+        return retryAfter;
+    }
+
+    /**
+     * Non blocking variant of the interceptor for enqueued calls.
+     * The wait for the budget and the backoff after 429 responses are scheduled instead of sleeping on an OkHttp dispatcher thread.
+     *
+     * @param call sends the request without blocking, the interceptor of the client only takes the reserved budget
+     */
+    public CompletableFuture<Response> enqueue(@NonNull final Request request, @NonNull final Function<Request, CompletableFuture<Response>> call) {
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        this.enqueue(request, call, 0, result);
+        return result;
+    }
+
+    private void enqueue(final Request request,
+                         final Function<Request, CompletableFuture<Response>> call,
+                         final int attempt,
+                         final CompletableFuture<Response> result) {
+        final String host = request.url().host();
+        final long waitNanos;
+        try {
+            waitNanos = this.reserve(host);
+        } catch (final RateLimitedException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        final Request admittedRequest = request.newBuilder().tag(Admission.class, new Admission()).build();
+        final Runnable send = () -> {
+            try {
+                call.apply(admittedRequest).whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                    } else if (response.code() != TOO_MANY_REQUESTS) {
+                        result.complete(response);
+                    } else {
+                        final Duration retryAfter = this.onTooManyRequests(host, response);
+                        if (attempt >= this.maxRetries) {
+                            result.completeExceptionally(new RateLimitedException(host, retryAfter));
+                        } else {
+                            SCHEDULER.schedule(
+                                    () -> this.enqueue(request, call, attempt + 1, result),
+                                    this.getBackoff(attempt, retryAfter).toNanos(),
+                                    TimeUnit.NANOSECONDS
+                            );
+                        }
+                    }
+                });
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        if (waitNanos > 0) {
+            SCHEDULER.schedule(send, waitNanos, TimeUnit.NANOSECONDS);
+        } else {
+            send.run();
+        }
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String host = request.url().host();
+
+        final Admission admission = request.tag(Admission.class);
+        if (admission != null) {
+            // Copies of an enqueued call, e.g. hedged requests, only run when the budget allows it right now
+            if (!admission.claim()) {
+                this.acquireNow(host);
+            }
+            // 429 responses are retried by the enqueue call
+            return chain.proceed(request);
+        }
+
+        for (int attempt = 0; ; attempt++) {
+            this.acquire(host);
+
+            final Response response = chain.proceed(request);
+            if (response.code() != TOO_MANY_REQUESTS) {
+                return response;
+            }
+
+            final Duration retryAfter = this.onTooManyRequests(host, response);
+            if (attempt >= this.maxRetries) {
+                throw new RateLimitedException(host, retryAfter);
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(this.getBackoff(attempt, retryAfter).toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while backing off from " + host);
+            }
+        }
+    }
+
+    /**
+     * Budget reserved by {@link #enqueue(Request, Function)}, only the first call of the request uses it.
+     */
+    private static final class Admission {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private boolean claim() {
+            return this.claimed.compareAndSet(false, true);
+        }
+    }
+}
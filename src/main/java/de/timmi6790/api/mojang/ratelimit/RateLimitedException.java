@@ -0,0 +1,18 @@
+package de.timmi6790.api.mojang.ratelimit;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Getter
+public class RateLimitedException extends IOException {
+    private final String host;
+    private final Duration retryAfter;
+
+    public RateLimitedException(final String host, final Duration retryAfter) {
+        super("Rate limit reached for " + host + ", retry after " + retryAfter.toMillis() + "ms.");
+        this.host = host;
+        this.retryAfter = retryAfter;
+    }
+}
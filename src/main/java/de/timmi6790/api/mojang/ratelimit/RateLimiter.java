@@ -0,0 +1,91 @@
+package de.timmi6790.api.mojang.ratelimit;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a separate budget per host. Hosts without a budget are not limited.
+ */
+public class RateLimiter {
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Getter
+    @Setter
+    @NonNull
+    private Duration maxQueueTime = Duration.ofSeconds(30);
+
+    public static RateLimiter createMojangDefault() {
+        return new RateLimiter()
+                .setBudget("api.mojang.com", 600, Duration.ofMinutes(10))
+                .setBudget("sessionserver.mojang.com", 600, Duration.ofMinutes(10));
+    }
+
+    public RateLimiter setBudget(final String host, final long requests, final Duration period) {
+        this.buckets.put(host, new TokenBucket(requests, period));
+        return this;
+    }
+
+    public Optional<TokenBucket> getBucket(final String host) {
+        return Optional.ofNullable(this.buckets.get(host));
+    }
+
+    /**
+     * @return the time waited for the budget in nanoseconds
+     */
+    public long acquire(final String host) throws RateLimitedException, InterruptedIOException {
+        final long waitNanos = this.reserve(host);
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limit of " + host);
+            }
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Reserves the budget without waiting for it, used by callers that schedule the request instead of blocking.
+     *
+     * @return the nanoseconds until the request may be sent
+     */
+    public long reserve(final String host) throws RateLimitedException {
+        return this.reserve(host, this.maxQueueTime);
+    }
+
+    /**
+     * @throws RateLimitedException if the budget has no request left right now
+     */
+    public void acquireNow(final String host) throws RateLimitedException {
+        this.reserve(host, Duration.ZERO);
+    }
+
+    private long reserve(final String host, final Duration maxWait) throws RateLimitedException {
+        final TokenBucket bucket = this.buckets.get(host);
+        if (bucket == null) {
+            return 0;
+        }
+
+        final long waitNanos = bucket.reserve(maxWait.toNanos());
+        if (waitNanos < 0) {
+            throw new RateLimitedException(host, maxWait);
+        }
+        return waitNanos;
+    }
+
+    public void penalize(final String host, final Duration retryAfter) {
+        final TokenBucket bucket = this.buckets.get(host);
+        if (bucket != null) {
+            bucket.blockFor(retryAfter);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package de.timmi6790.api.mojang.ratelimit;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that hands out reservations instead of rejecting callers.
+ * A reservation can push the token count below zero, the returned wait time tells the caller when its token is due.
+ */
+public class TokenBucket {
+    @Getter
+    private final long capacity;
+    private final long nanosPerToken;
+    private final LongSupplier nanoClock;
+
+    private long tokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+
+    public TokenBucket(final long capacity, final Duration refillPeriod) {
+        this(capacity, refillPeriod, System::nanoTime);
+    }
+
+    TokenBucket(final long capacity, final Duration refillPeriod, final LongSupplier nanoClock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.blockedUntilNanos = this.lastRefillNanos;
+    }
+
+    private void refill(final long now) {
+        if (this.tokens >= this.capacity) {
+            this.lastRefillNanos = now;
+            return;
+        }
+
+        final long newTokens = (now - this.lastRefillNanos) / this.nanosPerToken;
+        if (newTokens > 0) {
+            this.tokens = Math.min(this.capacity, this.tokens + newTokens);
+            this.lastRefillNanos += newTokens * this.nanosPerToken;
+        }
+    }
+
+    /**
+     * @return the nanos to wait before the reserved token can be used, or -1 when the wait would exceed maxWaitNanos
+     */
+    public synchronized long reserve(final long maxWaitNanos) {
+        final long now = this.nanoClock.getAsLong();
+        this.refill(now);
+
+        long waitNanos = Math.max(0, this.blockedUntilNanos - now);
+        if (this.tokens <= 0) {
+            final long tokenWaitNanos = (1 - this.tokens) * this.nanosPerToken - (now - this.lastRefillNanos);
+            waitNanos = Math.max(waitNanos, tokenWaitNanos);
+        }
+
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+
+        this.tokens--;
+        return waitNanos;
+    }
+
+    public synchronized void blockFor(final Duration duration) {
+        final long now = this.nanoClock.getAsLong();
+        this.blockedUntilNanos = Math.max(this.blockedUntilNanos, now + duration.toNanos());
+    }
+
+    public synchronized long getAvailableTokens() {
+        this.refill(this.nanoClock.getAsLong());
+        return Math.max(0, this.tokens);
+    }
+}
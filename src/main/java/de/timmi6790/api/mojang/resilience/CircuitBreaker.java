@@ -0,0 +1,148 @@
+package de.timmi6790.api.mojang.resilience;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Opens after a number of consecutive failures and rejects calls until the open duration passed.
+ * Afterwards a single trial call decides whether the circuit closes again or stays open.
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    // Only the result of the trial call decides the half open state
+    private Permit trialPermit;
+
+    public CircuitBreaker(final int failureThreshold, final Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(final int failureThreshold, final Duration openDuration, final LongSupplier nanoClock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold must be positive.");
+        }
+
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return empty if the call should fail fast, otherwise the permit to report the result of the call with
+     */
+    public synchronized Optional<Permit> tryAcquire() {
+        switch (this.state) {
+            case CLOSED:
+                return Optional.of(new Permit());
+            case OPEN:
+                if (this.nanoClock.getAsLong() - this.openedAtNanos < this.openNanos) {
+                    return Optional.empty();
+                }
+                this.state = State.HALF_OPEN;
+                this.trialPermit = new Permit();
+                return Optional.of(this.trialPermit);
+            default:
+                if (this.trialPermit != null) {
+                    return Optional.empty();
+                }
+                this.trialPermit = new Permit();
+                return Optional.of(this.trialPermit);
+        }
+    }
+
+    private synchronized void onSuccess(final Permit permit) {
+        if (!permit.finish()) {
+            return;
+        }
+
+        if (permit == this.trialPermit) {
+            this.state = State.CLOSED;
+            this.trialPermit = null;
+            this.consecutiveFailures = 0;
+        } else if (this.state == State.CLOSED) {
+            this.consecutiveFailures = 0;
+        }
+    }
+
+    private synchronized void onFailure(final Permit permit) {
+        if (!permit.finish()) {
+            return;
+        }
+
+        // Calls acquired before the circuit opened don't extend the open duration
+        if (permit == this.trialPermit) {
+            this.trialPermit = null;
+            this.open();
+        } else if (this.state == State.CLOSED && ++this.consecutiveFailures >= this.failureThreshold) {
+            this.open();
+        }
+    }
+
+    private synchronized void release(final Permit permit) {
+        if (permit.finish() && permit == this.trialPermit) {
+            this.trialPermit = null;
+        }
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAtNanos = this.nanoClock.getAsLong();
+    }
+
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    public synchronized Duration getRemainingOpenTime() {
+        if (this.state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, this.openNanos - (this.nanoClock.getAsLong() - this.openedAtNanos)));
+    }
+
+    /**
+     * Reports the result of a single acquired call, only the first report counts.
+     */
+    public final class Permit {
+        private boolean finished;
+
+        private Permit() {
+        }
+
+        public void onSuccess() {
+            CircuitBreaker.this.onSuccess(this);
+        }
+
+        public void onFailure() {
+            CircuitBreaker.this.onFailure(this);
+        }
+
+        /**
+         * Releases the call without a result, e.g. when it was canceled.
+         */
+        public void release() {
+            CircuitBreaker.this.release(this);
+        }
+
+        // Guarded by the circuit breaker
+        private boolean finish() {
+            if (this.finished) {
+                return false;
+            }
+            this.finished = true;
+            return true;
+        }
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,67 @@
+package de.timmi6790.api.mojang.resilience;
+
+import de.timmi6790.api.mojang.ratelimit.RateLimitedException;
+import lombok.RequiredArgsConstructor;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link CircuitBreaker} per host. Io errors and server errors count as failures,
+ * local rate limit rejections and canceled calls are ignored.
+ */
+@RequiredArgsConstructor
+public class CircuitBreakerInterceptor implements Interceptor {
+    private static final int SERVER_ERROR = 500;
+
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    public Optional<CircuitBreaker> getCircuitBreaker(final String host) {
+        return Optional.ofNullable(this.circuitBreakers.get(host));
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String host = request.url().host();
+        final CircuitBreaker circuitBreaker = this.circuitBreakers.computeIfAbsent(
+                host,
+                key -> new CircuitBreaker(this.failureThreshold, this.openDuration)
+        );
+        final CircuitBreaker.Permit permit = circuitBreaker.tryAcquire()
+                .orElseThrow(() -> new CircuitOpenException(host, circuitBreaker.getRemainingOpenTime()));
+
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (final RateLimitedException e) {
+            permit.release();
+            throw e;
+        } catch (final IOException e) {
+            if (chain.call().isCanceled()) {
+                permit.release();
+            } else {
+                permit.onFailure();
+            }
+            throw e;
+        } catch (final RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+
+        if (response.code() >= SERVER_ERROR) {
+            permit.onFailure();
+        } else {
+            permit.onSuccess();
+        }
+        return response;
+    }
+}
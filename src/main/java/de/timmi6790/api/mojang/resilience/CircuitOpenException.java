@@ -0,0 +1,18 @@
+package de.timmi6790.api.mojang.resilience;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@Getter
+public class CircuitOpenException extends IOException {
+    private final String host;
+    private final Duration retryAfter;
+
+    public CircuitOpenException(final String host, final Duration retryAfter) {
+        super("Circuit for " + host + " is open, retry after " + retryAfter.toMillis() + "ms.");
+        this.host = host;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,131 @@
+package de.timmi6790.api.mojang.resilience;
+
+import lombok.NonNull;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends a second copy of a request when the first one is slower than the given percentile of the recent latencies.
+ * The first response wins, the other call is canceled. Only use this for idempotent requests.
+ */
+public class HedgedRequests {
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "mojang-hedged-requests");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final int WINDOW_SIZE = 256;
+    // Recalculating the delay sorts the window, so it is only done every few samples
+    private static final int RECALCULATE_INTERVAL = 16;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final int minSamples;
+
+    private final long[] samples = new long[WINDOW_SIZE];
+    private int sampleCount;
+    private int nextSample;
+    private volatile long delayNanos;
+
+    /**
+     * @param percentile   percentile of the recent latencies used as delay, e.g. 0.95
+     * @param minDelay     lower bound for the delay
+     * @param initialDelay delay until enough latencies are known
+     * @param minSamples   latencies required before the percentile is used
+     */
+    public HedgedRequests(final double percentile,
+                          @NonNull final Duration minDelay,
+                          @NonNull final Duration initialDelay,
+                          final int minSamples) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1.");
+        }
+
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.minSamples = Math.max(1, Math.min(minSamples, WINDOW_SIZE));
+        this.delayNanos = Math.max(this.minDelayNanos, initialDelay.toNanos());
+    }
+
+    public static HedgedRequests createDefault() {
+        return new HedgedRequests(0.95, Duration.ofMillis(50), Duration.ofSeconds(1), 20);
+    }
+
+    public Duration getDelay() {
+        return Duration.ofNanos(this.delayNanos);
+    }
+
+    synchronized void recordLatency(final long latencyNanos) {
+        this.samples[this.nextSample] = latencyNanos;
+        this.nextSample = (this.nextSample + 1) % WINDOW_SIZE;
+        this.sampleCount = Math.min(this.sampleCount + 1, WINDOW_SIZE);
+
+        if (this.sampleCount >= this.minSamples && this.nextSample % RECALCULATE_INTERVAL == 0) {
+            final long[] sortedSamples = Arrays.copyOf(this.samples, this.sampleCount);
+            Arrays.sort(sortedSamples);
+            final int index = Math.min(this.sampleCount - 1, (int) Math.ceil(this.percentile * this.sampleCount) - 1);
+            this.delayNanos = Math.max(this.minDelayNanos, sortedSamples[Math.max(0, index)]);
+        }
+    }
+
+    public CompletableFuture<Response> execute(final OkHttpClient httpClient, final Request request) {
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        final long start = System.nanoTime();
+        final Call primaryCall = httpClient.newCall(request);
+        final AtomicReference<Call> hedgedCall = new AtomicReference<>();
+        final AtomicInteger runningCalls = new AtomicInteger(1);
+
+        final Callback callback = new Callback() {
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                if (!result.complete(response)) {
+                    response.close();
+                    return;
+                }
+
+                HedgedRequests.this.recordLatency(System.nanoTime() - start);
+                final Call otherCall = call == primaryCall ? hedgedCall.get() : primaryCall;
+                if (otherCall != null) {
+                    otherCall.cancel();
+                }
+            }
+
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                // The request only fails when no other call can still answer it
+                if (runningCalls.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+
+        primaryCall.enqueue(callback);
+        final ScheduledFuture<?> hedgeFuture = SCHEDULER.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            runningCalls.incrementAndGet();
+            final Call call = primaryCall.clone();
+            hedgedCall.set(call);
+            call.enqueue(callback);
+        }, this.delayNanos, TimeUnit.NANOSECONDS);
+        result.whenComplete((response, throwable) -> hedgeFuture.cancel(false));
+
+        return result;
+    }
+}
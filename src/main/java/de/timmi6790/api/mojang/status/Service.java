@@ -0,0 +1,33 @@
+package de.timmi6790.api.mojang.status;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * Services reported by the mojang status endpoint.
+ */
+@Getter
+@AllArgsConstructor
+public enum Service {
+    MINECRAFT("minecraft.net"),
+    SESSION("session.minecraft.net"),
+    ACCOUNT("account.mojang.com"),
+    AUTH_SERVER("authserver.mojang.com"),
+    SESSION_SERVER("sessionserver.mojang.com"),
+    API("api.mojang.com"),
+    TEXTURES("textures.minecraft.net"),
+    MOJANG("mojang.com");
+
+    private final String host;
+
+    public static Optional<Service> ofHost(final String host) {
+        for (final Service service : Service.values()) {
+            if (service.host.equalsIgnoreCase(host)) {
+                return Optional.of(service);
+            }
+        }
+        return Optional.empty();
+    }
+}
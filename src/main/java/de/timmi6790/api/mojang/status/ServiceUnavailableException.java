@@ -0,0 +1,18 @@
+package de.timmi6790.api.mojang.status;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request to a service that the status monitor reports as unavailable.
+ */
+@Getter
+public class ServiceUnavailableException extends IOException {
+    private final Service service;
+
+    public ServiceUnavailableException(final Service service) {
+        super(service.getHost() + " is reported as unavailable");
+        this.service = service;
+    }
+}
@@ -0,0 +1,18 @@
+package de.timmi6790.api.mojang.status;
+
+import de.timmi6790.api.mojang.models.Status;
+import lombok.Data;
+
+import java.util.Optional;
+
+@Data
+public class StatusChangeEvent {
+    private final Service service;
+    // Null for the first status of a service
+    private final Status previousStatus;
+    private final Status status;
+
+    public Optional<Status> getPreviousStatus() {
+        return Optional.ofNullable(this.previousStatus);
+    }
+}
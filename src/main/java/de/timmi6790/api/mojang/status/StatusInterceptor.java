@@ -0,0 +1,26 @@
+package de.timmi6790.api.mojang.status;
+
+import lombok.RequiredArgsConstructor;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Fails requests to services that are currently reported as {@link de.timmi6790.api.mojang.models.Status#RED}.
+ * Outdated snapshots are ignored, see {@link StatusMonitor#isUnavailable(Service)}.
+ */
+@RequiredArgsConstructor
+public class StatusInterceptor implements Interceptor {
+    private final StatusMonitor statusMonitor;
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Optional<Service> service = Service.ofHost(chain.request().url().host());
+        if (service.isPresent() && this.statusMonitor.isUnavailable(service.get())) {
+            throw new ServiceUnavailableException(service.get());
+        }
+        return chain.proceed(chain.request());
+    }
+}
@@ -0,0 +1,150 @@
+package de.timmi6790.api.mojang.status;
+
+import de.timmi6790.api.mojang.MojangApiClient;
+import de.timmi6790.api.mojang.models.Status;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Polls the status endpoint in the background and shares the latest snapshot.
+ * Reading the snapshot never blocks and never causes a request.
+ */
+public class StatusMonitor implements Closeable {
+    // Snapshots older than this many intervals are outdated, the polling stopped succeeding
+    private static final int MAXIMUM_SNAPSHOT_AGE_INTERVALS = 3;
+
+    private final Supplier<Optional<Map<String, Status>>> statusSupplier;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final Duration interval;
+    private final List<Consumer<StatusChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile StatusSnapshot snapshot = StatusSnapshot.EMPTY;
+    private ScheduledFuture<?> pollFuture;
+
+    public StatusMonitor(@NonNull final MojangApiClient apiClient, @NonNull final Duration interval) {
+        this(apiClient::getStatus, interval);
+    }
+
+    /**
+     * Uses an own daemon thread, which is stopped on {@link #close()}.
+     */
+    public StatusMonitor(@NonNull final Supplier<Optional<Map<String, Status>>> statusSupplier, @NonNull final Duration interval) {
+        this(statusSupplier, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "mojang-status-monitor");
+            thread.setDaemon(true);
+            return thread;
+        }), true, interval);
+    }
+
+    /**
+     * The scheduler is not shut down on {@link #close()}.
+     */
+    public StatusMonitor(@NonNull final Supplier<Optional<Map<String, Status>>> statusSupplier,
+                         @NonNull final ScheduledExecutorService scheduler,
+                         @NonNull final Duration interval) {
+        this(statusSupplier, scheduler, false, interval);
+    }
+
+    private StatusMonitor(final Supplier<Optional<Map<String, Status>>> statusSupplier,
+                          final ScheduledExecutorService scheduler,
+                          final boolean ownsScheduler,
+                          final Duration interval) {
+        this.statusSupplier = statusSupplier;
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        this.interval = interval;
+    }
+
+    public synchronized StatusMonitor start() {
+        if (this.pollFuture == null) {
+            this.pollFuture = this.scheduler.scheduleWithFixedDelay(this::poll, 0, this.interval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return this;
+    }
+
+    public StatusSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Checks the latest snapshot, outdated snapshots report every service as available.
+     */
+    public boolean isUnavailable(final Service service) {
+        final StatusSnapshot currentSnapshot = this.snapshot;
+        final Duration age = Duration.between(currentSnapshot.getUpdatedAt(), Instant.now());
+        return currentSnapshot.isUnavailable(service) && age.compareTo(this.interval.multipliedBy(MAXIMUM_SNAPSHOT_AGE_INTERVALS)) <= 0;
+    }
+
+    public void addListener(@NonNull final Consumer<StatusChangeEvent> listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(final Consumer<StatusChangeEvent> listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Fetches the status once and notifies the listeners about changes.
+     *
+     * @return false if the status could not be fetched, the last snapshot is kept in that case
+     */
+    public boolean poll() {
+        final Optional<Map<String, Status>> statuses;
+        try {
+            statuses = this.statusSupplier.get();
+        } catch (final Exception e) {
+            // Failures must not cancel the scheduled polling
+            return false;
+        }
+        if (!statuses.isPresent()) {
+            return false;
+        }
+
+        final StatusSnapshot previousSnapshot = this.snapshot;
+        final StatusSnapshot newSnapshot = StatusSnapshot.of(statuses.get(), Instant.now());
+        this.snapshot = newSnapshot;
+
+        for (final Map.Entry<Service, Status> entry : newSnapshot.getStatuses().entrySet()) {
+            final Status previousStatus = previousSnapshot.getStatuses().get(entry.getKey());
+            if (previousStatus != entry.getValue()) {
+                this.notifyListeners(new StatusChangeEvent(entry.getKey(), previousStatus, entry.getValue()));
+            }
+        }
+        return true;
+    }
+
+    private void notifyListeners(final StatusChangeEvent event) {
+        for (final Consumer<StatusChangeEvent> listener : this.listeners) {
+            try {
+                listener.accept(event);
+            } catch (final RuntimeException ignore) {
+                // A broken listener should not stop the others
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.pollFuture != null) {
+            this.pollFuture.cancel(false);
+            this.pollFuture = null;
+        }
+        if (this.ownsScheduler) {
+            this.scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package de.timmi6790.api.mojang.status;
+
+import de.timmi6790.api.mojang.models.Status;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable view of one status response. Hosts without a matching {@link Service} are ignored.
+ */
+public final class StatusSnapshot {
+    public static final StatusSnapshot EMPTY = new StatusSnapshot(new EnumMap<>(Service.class), Instant.EPOCH);
+
+    private final Map<Service, Status> statuses;
+    @Getter
+    private final Instant updatedAt;
+
+    private StatusSnapshot(final EnumMap<Service, Status> statuses, final Instant updatedAt) {
+        this.statuses = Collections.unmodifiableMap(statuses);
+        this.updatedAt = updatedAt;
+    }
+
+    public static StatusSnapshot of(final Map<String, Status> hostStatuses, final Instant updatedAt) {
+        final EnumMap<Service, Status> statuses = new EnumMap<>(Service.class);
+        hostStatuses.forEach((host, status) -> Service.ofHost(host).ifPresent(service -> statuses.put(service, status)));
+        return new StatusSnapshot(statuses, updatedAt);
+    }
+
+    public Map<Service, Status> getStatuses() {
+        return this.statuses;
+    }
+
+    public Optional<Status> getStatus(final Service service) {
+        return Optional.ofNullable(this.statuses.get(service));
+    }
+
+    public boolean isUnavailable(final Service service) {
+        return this.statuses.get(service) == Status.RED;
+    }
+}
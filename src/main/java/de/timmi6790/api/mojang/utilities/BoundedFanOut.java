@@ -0,0 +1,113 @@
+package de.timmi6790.api.mojang.utilities;
+
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Runs an async task for every key with at most {@code concurrency} tasks in flight.
+ * The consumer is called once per key in completion order and never concurrently.
+ */
+public final class BoundedFanOut<K, V> {
+    private final Iterator<K> keys;
+    private final Function<K, CompletableFuture<V>> task;
+    private final BiConsumer<K, V> consumer;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private int remaining;
+
+    private BoundedFanOut(final Collection<K> keys, final Function<K, CompletableFuture<V>> task, final BiConsumer<K, V> consumer) {
+        this.keys = keys.iterator();
+        this.task = task;
+        this.consumer = consumer;
+        this.remaining = keys.size();
+    }
+
+    /**
+     * @return completes after the consumer was called for every key, fails with the first failed task or consumer
+     */
+    public static <K, V> CompletableFuture<Void> execute(@NonNull final Collection<K> keys,
+                                                         final int concurrency,
+                                                         @NonNull final Function<K, CompletableFuture<V>> task,
+                                                         @NonNull final BiConsumer<K, V> consumer) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive.");
+        }
+
+        final BoundedFanOut<K, V> fanOut = new BoundedFanOut<>(keys, task, consumer);
+        if (keys.isEmpty()) {
+            fanOut.completion.complete(null);
+            return fanOut.completion;
+        }
+
+        for (int index = 0; concurrency > index; index++) {
+            fanOut.startNext();
+        }
+        return fanOut.completion;
+    }
+
+    private synchronized K nextKey() {
+        if (this.completion.isDone() || !this.keys.hasNext()) {
+            return null;
+        }
+        return this.keys.next();
+    }
+
+    private void startNext() {
+        // Already completed tasks are handled in this loop instead of recursively, cache hits would overflow the stack otherwise
+        while (true) {
+            final K key = this.nextKey();
+            if (key == null) {
+                return;
+            }
+
+            final CompletableFuture<V> future;
+            try {
+                future = this.task.apply(key);
+            } catch (final RuntimeException e) {
+                this.completion.completeExceptionally(e);
+                return;
+            }
+
+            if (!future.isDone()) {
+                future.whenComplete((value, throwable) -> {
+                    this.complete(key, value, throwable);
+                    this.startNext();
+                });
+                return;
+            }
+
+            try {
+                this.complete(key, future.join(), null);
+            } catch (final CompletionException e) {
+                this.complete(key, null, e.getCause());
+            }
+        }
+    }
+
+    private synchronized void complete(final K key, final V value, final Throwable throwable) {
+        if (this.completion.isDone()) {
+            return;
+        }
+
+        if (throwable != null) {
+            this.completion.completeExceptionally(throwable);
+            return;
+        }
+
+        try {
+            this.consumer.accept(key, value);
+        } catch (final RuntimeException e) {
+            this.completion.completeExceptionally(e);
+            return;
+        }
+
+        if (--this.remaining == 0) {
+            this.completion.complete(null);
+        }
+    }
+}
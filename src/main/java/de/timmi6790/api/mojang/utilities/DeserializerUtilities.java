@@ -3,14 +3,76 @@ package de.timmi6790.api.mojang.utilities;
 import lombok.experimental.UtilityClass;
 
 import java.util.UUID;
-import java.util.regex.Pattern;
 
 @UtilityClass
 public class DeserializerUtilities {
-    private static final Pattern FULL_UUID_PATTERN = Pattern.compile("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})");
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
+    /**
+     * Parses the undashed uuid format used by mojang. The dashed format is accepted as well.
+     *
+     * @throws IllegalArgumentException if the input is not a valid uuid
+     */
     public UUID convertMojangUUID(final String mojangUUID) {
-        final String uuidString = FULL_UUID_PATTERN.matcher(mojangUUID).replaceAll("$1-$2-$3-$4-$5");
-        return UUID.fromString(uuidString);
+        if (mojangUUID.length() == 32) {
+            return new UUID(
+                    parseHex(mojangUUID, 0, 16),
+                    parseHex(mojangUUID, 16, 32)
+            );
+        }
+
+        if (mojangUUID.length() == 36
+                && mojangUUID.charAt(8) == '-'
+                && mojangUUID.charAt(13) == '-'
+                && mojangUUID.charAt(18) == '-'
+                && mojangUUID.charAt(23) == '-') {
+            return new UUID(
+                    parseHex(mojangUUID, 0, 8) << 32 | parseHex(mojangUUID, 9, 13) << 16 | parseHex(mojangUUID, 14, 18),
+                    parseHex(mojangUUID, 19, 23) << 48 | parseHex(mojangUUID, 24, 36)
+            );
+        }
+
+        throw new IllegalArgumentException("Invalid uuid " + mojangUUID);
+    }
+
+    /**
+     * Formats the uuid in the undashed format used by mojang.
+     */
+    public String toMojangUUID(final UUID uuid) {
+        final char[] chars = new char[32];
+        writeHex(chars, 0, uuid.getMostSignificantBits());
+        writeHex(chars, 16, uuid.getLeastSignificantBits());
+        return new String(chars);
+    }
+
+    private long parseHex(final String value, final int start, final int end) {
+        long result = 0;
+        for (int index = start; end > index; index++) {
+            final int digit = hexValue(value.charAt(index));
+            if (digit == -1) {
+                throw new IllegalArgumentException("Invalid uuid " + value);
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+
+    private int hexValue(final char character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        if (character >= 'a' && character <= 'f') {
+            return character - 'a' + 10;
+        }
+        if (character >= 'A' && character <= 'F') {
+            return character - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private void writeHex(final char[] chars, final int offset, final long value) {
+        for (int index = 0; 16 > index; index++) {
+            chars[offset + index] = HEX_DIGITS[(int) (value >>> (60 - index * 4)) & 0xF];
+        }
     }
 }
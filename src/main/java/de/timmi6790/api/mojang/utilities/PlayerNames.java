@@ -0,0 +1,57 @@
+package de.timmi6790.api.mojang.utilities;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class PlayerNames {
+    private static final int MAXIMUM_LENGTH = 16;
+
+    /**
+     * Checks the name against the names mojang allows, 1 to 16 ascii letters, digits or underscores.
+     * Other names can't exist and are rejected without a request.
+     */
+    public boolean isValid(final String playerName) {
+        final int length = playerName.length();
+        if (length == 0 || length > MAXIMUM_LENGTH) {
+            return false;
+        }
+
+        for (int index = 0; length > index; index++) {
+            final char character = playerName.charAt(index);
+            if (!(character >= 'a' && character <= 'z')
+                    && !(character >= 'A' && character <= 'Z')
+                    && !(character >= '0' && character <= '9')
+                    && character != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower case cache key of the name, mojang matches names case-insensitive. Only ascii letters are folded, which
+     * covers every valid name. Names that are already lower case are returned as they are, without a copy.
+     */
+    public String toKey(final String playerName) {
+        final int length = playerName.length();
+        int index = 0;
+        while (length > index && !isUpperCase(playerName.charAt(index))) {
+            index++;
+        }
+        if (index == length) {
+            return playerName;
+        }
+
+        final char[] chars = playerName.toCharArray();
+        for (; length > index; index++) {
+            if (isUpperCase(chars[index])) {
+                chars[index] = (char) (chars[index] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    private boolean isUpperCase(final char character) {
+        return character >= 'A' && character <= 'Z';
+    }
+}
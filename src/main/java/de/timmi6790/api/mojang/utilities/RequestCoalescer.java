@@ -0,0 +1,73 @@
+package de.timmi6790.api.mojang.utilities;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in flight load between all concurrent callers of the same key.
+ * Blocking and async callers can be mixed, they both wait on the same future.
+ */
+public class RequestCoalescer<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlightRequests = new ConcurrentHashMap<>();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    public V execute(final K key, final Supplier<V> loader) {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> inFlightFuture = this.inFlightRequests.putIfAbsent(key, future);
+        if (inFlightFuture != null) {
+            this.coalescedRequests.increment();
+            return inFlightFuture.join();
+        }
+
+        try {
+            final V value = loader.get();
+            this.inFlightRequests.remove(key, future);
+            future.complete(value);
+            return value;
+        } catch (final Throwable e) {
+            // Errors as well, a key left in flight would block every later caller
+            this.inFlightRequests.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public CompletableFuture<V> executeAsync(final K key, final Supplier<CompletableFuture<V>> loader) {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> inFlightFuture = this.inFlightRequests.putIfAbsent(key, future);
+        if (inFlightFuture != null) {
+            this.coalescedRequests.increment();
+            return inFlightFuture;
+        }
+
+        final CompletableFuture<V> loadFuture;
+        try {
+            loadFuture = loader.get();
+        } catch (final Throwable e) {
+            this.inFlightRequests.remove(key, future);
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        loadFuture.whenComplete((value, throwable) -> {
+            this.inFlightRequests.remove(key, future);
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+
+    public long getCoalescedRequestCount() {
+        return this.coalescedRequests.sum();
+    }
+
+    public int getInFlightRequestCount() {
+        return this.inFlightRequests.size();
+    }
+}
@@ -0,0 +1,23 @@
+package de.timmi6790.api.mojang.utilities;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Java 8 fallback, the multi release jar replaces this class with the virtual thread implementation on Java 21+.
+ */
+@UtilityClass
+public class VirtualThreads {
+    public boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * @return executor starting a new virtual thread for every task
+     * @throws UnsupportedOperationException when the runtime has no virtual threads
+     */
+    public ExecutorService newExecutor(final String namePrefix) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or newer.");
+    }
+}
@@ -0,0 +1,23 @@
+package de.timmi6790.api.mojang.utilities;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21+ version of {@code VirtualThreads}, compiled without lombok into the versioned part of the jar.
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    public static boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * @return executor starting a new virtual thread for every task
+     */
+    public static ExecutorService newExecutor(final String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+}
@@ -0,0 +1,90 @@
+package de.timmi6790.api.mojang;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+import lombok.SneakyThrows;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+abstract class BaseMojangApiClientTest {
+    @SneakyThrows
+    protected String getContentFromFile(final String path) {
+        final ClassLoader classLoader = BaseMojangApiClientTest.class.getClassLoader();
+
+        final URI uri = classLoader.getResource(path).toURI();
+        final byte[] encoded = Files.readAllBytes(Paths.get(uri));
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    protected void assertNameEntry(final NameEntry nameEntry,
+                                   final String name,
+                                   final long changeTimeInSeconds,
+                                   final boolean isFirstName) {
+        final LocalDateTime expectedTime = changeTimeInSeconds == 0 ? LocalDateTime.MIN : new Timestamp(changeTimeInSeconds).toLocalDateTime();
+
+        assertThat(nameEntry.getName()).isEqualTo(name);
+        assertThat(nameEntry.getChangedAt()).isEqualTo(expectedTime);
+        assertThat(nameEntry.isOriginalName()).isEqualTo(isFirstName);
+    }
+
+    protected Request getMockedGetRequest(final HttpUrl url) {
+        return new Request.Builder()
+                .url(url)
+                .build();
+    }
+
+    protected MojangApiClient getMojangApiClient(final HttpUrl url) {
+        final MojangApiClient apiClient = spy(MojangApiClient.class);
+        doReturn(this.getMockedGetRequest(url)).when(apiClient).getGetRequest(any());
+        doAnswer(invocation -> new Request.Builder()
+                .url(url)
+                .post(invocation.getArgument(1))
+                .build()
+        ).when(apiClient).getPostRequest(any(), any());
+
+        return apiClient;
+    }
+
+    protected UUID getBulkPlayerUUID(final String playerName) {
+        return UUID.nameUUIDFromBytes(playerName.toLowerCase().getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected Dispatcher getBulkPlayerInfoDispatcher(final Set<String> existingPlayerNames) {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                final String body = request.getBody().readUtf8();
+                final StringJoiner response = new StringJoiner(",", "[", "]");
+                for (final String requestedName : body.replaceAll("[\\[\\]\"]", "").split(",")) {
+                    // Mojang matches the names case-insensitive
+                    for (final String playerName : existingPlayerNames) {
+                        if (!playerName.equalsIgnoreCase(requestedName)) {
+                            continue;
+                        }
+
+                        final String mojangUUID = BaseMojangApiClientTest.this.getBulkPlayerUUID(playerName).toString().replace("-", "");
+                        // Mojang returns the correct casing of the name
+                        response.add("{\"id\":\"" + mojangUUID + "\",\"name\":\"" + playerName.toUpperCase() + "\"}");
+                    }
+                }
+                return new MockResponse().setBody(response.toString());
+            }
+        };
+    }
+}
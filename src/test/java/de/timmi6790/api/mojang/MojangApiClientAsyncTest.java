@@ -0,0 +1,275 @@
+package de.timmi6790.api.mojang;
+
+import de.timmi6790.api.mojang.cache.CacheCodecs;
+import de.timmi6790.api.mojang.cache.HttpCacheBackend;
+import de.timmi6790.api.mojang.cache.InMemoryCacheDispatcher;
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.Status;
+import de.timmi6790.api.mojang.utilities.DeserializerUtilities;
+import lombok.SneakyThrows;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MojangApiClientAsyncTest extends BaseMojangApiClientTest {
+    @Test
+    @SneakyThrows
+    void getStatusAsync() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("status.json")));
+
+            final HttpUrl url = server.url("/check");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<Map<String, Status>> foundStatusOpt = apiClient.getAsync().getStatusAsync().join();
+            assertThat(foundStatusOpt).isPresent();
+            assertThat(foundStatusOpt.get())
+                    .hasSize(8)
+                    .containsEntry("sessionserver.mojang.com", Status.RED);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getBlockedServersAsync() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("blocked_servers")));
+
+            final HttpUrl url = server.url("/blockedservers");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<List<String>> blockedServersOpt = apiClient.getAsync().getBlockedServersAsync().join();
+            assertThat(blockedServersOpt).isPresent();
+            assertThat(blockedServersOpt.get()).hasSize(2271);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getBlockedServersAsync_invalid_response_code() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+
+            final HttpUrl url = server.url("/blockedservers");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<List<String>> blockedServersOpt = apiClient.getAsync().getBlockedServersAsync().join();
+            assertThat(blockedServersOpt).isNotPresent();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerInfoAsync() {
+        final String playerName = "Timmi6790";
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_info.json")));
+
+            final HttpUrl url = server.url("/users/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<PlayerInfo> playerInfoOpt = apiClient.getAsync().getPlayerInfoAsync(playerName).join();
+            assertThat(playerInfoOpt).isPresent();
+            assertThat(playerInfoOpt.get().getUuid()).isEqualTo(UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750"));
+
+            // The async lookup shares the cache with the blocking api
+            final Optional<PlayerInfo> playerInfoCacheOpt = apiClient.getPlayerInfo(playerName);
+            assertThat(playerInfoCacheOpt).isEqualTo(playerInfoOpt);
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerInfoAsync_invalid_response_name() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_info_missing_name.json")));
+
+            final HttpUrl url = server.url("/users/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<PlayerInfo> playerInfoOpt = apiClient.getAsync().getPlayerInfoAsync("MissingName").join();
+            assertThat(playerInfoOpt).isNotPresent();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerNameHistoryAsync() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("name_history.json")));
+
+            final HttpUrl url = server.url("/users/profiles/names");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<List<NameEntry>> nameHistoryOpt = apiClient.getAsync().getPlayerNameHistoryAsync(UUID.randomUUID()).join();
+            assertThat(nameHistoryOpt).isPresent();
+            this.assertNameEntry(nameHistoryOpt.get().get(4), "0hVanny", 1608983359000L, false);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerProfileAsync() {
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+
+            final HttpUrl url = server.url("/session/minecraft/profile/");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<PlayerProfile> playerProfileOpt = apiClient.getAsync().getPlayerProfileAsync(playerUUID).join();
+            assertThat(playerProfileOpt).isPresent();
+            assertThat(playerProfileOpt.get().getName()).isEqualTo("Timmi6790");
+
+            // Cache check
+            final Optional<String> playerNameOpt = apiClient.getAsync().getPlayerNameAsync(playerUUID).join();
+            assertThat(playerNameOpt).contains("Timmi6790");
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerProfileAsync_invalid_response_code() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+
+            final HttpUrl url = server.url("/session/minecraft/profile/");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<PlayerProfile> playerProfileOpt = apiClient.getAsync().getPlayerProfileAsync(UUID.randomUUID()).join();
+            assertThat(playerProfileOpt).isNotPresent();
+        }
+    }
+    @Test
+    @SneakyThrows
+    void getPlayerProfilesAsync() {
+        final UUID cachedUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+        final UUID unknownUUID = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        final String profileBody = this.getContentFromFile("player_profile.json");
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(final RecordedRequest request) {
+                    if (request.getPath().endsWith(DeserializerUtilities.toMojangUUID(unknownUUID))) {
+                        return new MockResponse().setResponseCode(204);
+                    }
+                    return new MockResponse().setBody(profileBody);
+                }
+            });
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .sessionServerBaseUrl(baseUrl)
+                    .playerProfileConcurrency(2)
+                    .build();
+            apiClient.storePlayerProfile(cachedUUID, new PlayerProfile(cachedUUID, "Timmi6790"));
+
+            final List<UUID> playerUUIDs = new ArrayList<>();
+            playerUUIDs.add(cachedUUID);
+            playerUUIDs.add(unknownUUID);
+            for (int index = 0; 10 > index; index++) {
+                playerUUIDs.add(UUID.randomUUID());
+            }
+            // Duplicates are only requested once
+            playerUUIDs.add(playerUUIDs.get(5));
+
+            final Map<UUID, MojangResult.Type> results = new HashMap<>();
+            final Map<UUID, PlayerProfile> playerProfiles = apiClient.getAsync()
+                    .getPlayerProfilesAsync(playerUUIDs, (playerUUID, result) -> results.put(playerUUID, result.getType()))
+                    .join();
+
+            assertThat(playerProfiles).hasSize(11).doesNotContainKey(unknownUUID);
+            assertThat(results).hasSize(12).containsEntry(unknownUUID, MojangResult.Type.NOT_FOUND);
+            assertThat(server.getRequestCount()).isEqualTo(11);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void warmUpAsync() {
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+        final String profileBody = this.getContentFromFile("player_profile.json");
+        final Dispatcher bulkDispatcher = this.getBulkPlayerInfoDispatcher(new HashSet<>(Arrays.asList("mwmy", "Notch")));
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                    if ("POST".equals(request.getMethod())) {
+                        return bulkDispatcher.dispatch(request);
+                    }
+                    return new MockResponse().setBody(profileBody);
+                }
+            });
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .apiBaseUrl(baseUrl)
+                    .sessionServerBaseUrl(baseUrl)
+                    .build();
+
+            apiClient.warmUp(Collections.singletonList(playerUUID), Arrays.asList("mwmy", "Notch")).join();
+            assertThat(server.getRequestCount()).isEqualTo(2);
+
+            // Served from the warm caches
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isPresent();
+            assertThat(apiClient.getPlayerInfo("mwmy")).isPresent();
+            assertThat(apiClient.getPlayerInfo("Notch")).isPresent();
+            apiClient.warmUp(Collections.singletonList(playerUUID), Collections.singletonList("Notch")).join();
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerProfileResultAsync_remote_cache_backend() {
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+        final InMemoryCacheDispatcher cacheDispatcher = new InMemoryCacheDispatcher();
+        final CountDownLatch cacheAvailable = new CountDownLatch(1);
+
+        try (final MockWebServer mojangServer = new MockWebServer();
+             final MockWebServer cacheServer = new MockWebServer()) {
+            mojangServer.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+            cacheServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                    cacheAvailable.await();
+                    return cacheDispatcher.dispatch(request);
+                }
+            });
+
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .sessionServerBaseUrl(mojangServer.url("").toString().replaceAll("/$", ""))
+                    .playerProfileCacheBackend(new HttpCacheBackend<>(new OkHttpClient(), cacheServer.url("/"), "profiles", CacheCodecs.playerProfile(), Duration.ofMinutes(10)))
+                    .build();
+
+            // The caller is not blocked by the pending cache request
+            final CompletableFuture<MojangResult<PlayerProfile>> future = apiClient.getAsync().getPlayerProfileResultAsync(playerUUID);
+            assertThat(future).isNotDone();
+
+            cacheAvailable.countDown();
+            assertThat(future.join().getValue().map(PlayerProfile::getName)).contains("Timmi6790");
+            // Completes after the profile was stored
+            assertThat(cacheDispatcher.size()).isEqualTo(1);
+            assertThat(apiClient.getAsync().getPlayerProfileAsync(playerUUID).join()).isPresent();
+            assertThat(mojangServer.getRequestCount()).isEqualTo(1);
+            apiClient.close();
+        }
+    }
+}
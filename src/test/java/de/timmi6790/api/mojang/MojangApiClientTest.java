@@ -1,63 +1,52 @@
 package de.timmi6790.api.mojang;
 
+import de.timmi6790.api.mojang.cache.CacheCodecs;
+import de.timmi6790.api.mojang.cache.CacheSettings;
+import de.timmi6790.api.mojang.cache.CompactCacheBackend;
+import de.timmi6790.api.mojang.cache.HttpCacheBackend;
+import de.timmi6790.api.mojang.cache.InMemoryCacheDispatcher;
+import de.timmi6790.api.mojang.cache.PlayerDiskStore;
+import de.timmi6790.api.mojang.history.NameHistoryIndex;
+import de.timmi6790.api.mojang.metrics.Endpoint;
+import de.timmi6790.api.mojang.metrics.InMemoryMetricsListener;
+import de.timmi6790.api.mojang.metrics.NetworkPhase;
+import de.timmi6790.api.mojang.models.BlockedServers;
 import de.timmi6790.api.mojang.models.NameEntry;
 import de.timmi6790.api.mojang.models.PlayerInfo;
 import de.timmi6790.api.mojang.models.PlayerProfile;
 import de.timmi6790.api.mojang.models.Status;
+import de.timmi6790.api.mojang.models.Textures;
+import de.timmi6790.api.mojang.resilience.CircuitBreaker;
+import de.timmi6790.api.mojang.resilience.CircuitOpenException;
+import de.timmi6790.api.mojang.status.Service;
+import de.timmi6790.api.mojang.status.StatusMonitor;
 import lombok.SneakyThrows;
+import okhttp3.Cache;
 import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.net.URI;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.sql.Timestamp;
-import java.time.LocalDateTime;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.spy;
-
-class MojangApiClientTest {
-    @SneakyThrows
-    protected String getContentFromFile(final String path) {
-        final ClassLoader classLoader = MojangApiClientTest.class.getClassLoader();
-
-        final URI uri = classLoader.getResource(path).toURI();
-        final byte[] encoded = Files.readAllBytes(Paths.get(uri));
-        return new String(encoded, StandardCharsets.UTF_8);
-    }
-
-    protected void assertNameEntry(final NameEntry nameEntry,
-                                   final String name,
-                                   final long changeTimeInSeconds,
-                                   final boolean isFirstName) {
-        final LocalDateTime expectedTime = changeTimeInSeconds == 0 ? LocalDateTime.MIN : new Timestamp(changeTimeInSeconds).toLocalDateTime();
-
-        assertThat(nameEntry.getName()).isEqualTo(name);
-        assertThat(nameEntry.getChangedAt()).isEqualTo(expectedTime);
-        assertThat(nameEntry.isOriginalName()).isEqualTo(isFirstName);
-    }
-
-    protected Request getMockedGetRequest(final HttpUrl url) {
-        return new Request.Builder()
-                .url(url)
-                .build();
-    }
-
-    protected MojangApiClient getMojangApiClient(final HttpUrl url) {
-        final MojangApiClient apiClient = spy(MojangApiClient.class);
-        doReturn(this.getMockedGetRequest(url)).when(apiClient).getGetRequest(any());
-
-        return apiClient;
-    }
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
+class MojangApiClientTest extends BaseMojangApiClientTest {
     @Test
     @SneakyThrows
     void getStatus() {
@@ -97,6 +86,29 @@ class MojangApiClientTest {
         }
     }
 
+    @Test
+    @SneakyThrows
+    void getStatus_not_modified() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("status.json")).setHeader("ETag", "\"status-1\""));
+            server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"status-1\""));
+
+            final HttpUrl url = server.url("/check");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<Map<String, Status>> firstStatusOpt = apiClient.getStatus();
+            assertThat(firstStatusOpt).isPresent();
+            assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+
+            // The parsed value is reused, it is shared between all callers and can't be modified
+            final Optional<Map<String, Status>> secondStatusOpt = apiClient.getStatus();
+            assertThat(secondStatusOpt).isEqualTo(firstStatusOpt);
+            assertThatThrownBy(() -> firstStatusOpt.get().put("api.mojang.com", Status.RED)).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> secondStatusOpt.get().clear()).isInstanceOf(UnsupportedOperationException.class);
+            assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo("\"status-1\"");
+        }
+    }
+
     @Test
     @SneakyThrows
     void getBlockedServers() {
@@ -130,6 +142,90 @@ class MojangApiClientTest {
         }
     }
 
+    @Test
+    @SneakyThrows
+    void getBlockedServerHashes() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("blocked_servers")));
+
+            final HttpUrl url = server.url("/blockedservers");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<BlockedServers> blockedServersOpt = apiClient.getBlockedServerHashes();
+            assertThat(blockedServersOpt).hasValueSatisfying(blockedServers -> {
+                // The list contains 7 duplicates
+                assertThat(blockedServers.size()).isEqualTo(2264);
+                assertThat(blockedServers.containsHash("c5c03d9bad5c5ad25deb64600b9cd900312d4d74")).isTrue();
+                assertThat(blockedServers.containsHash("5d64ecee1e2494299dba4f5835e9e49254a3f6b4")).isTrue();
+            });
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getBlockedServers_not_modified() {
+        final String lastModified = "Wed, 21 Oct 2020 07:28:00 GMT";
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("blocked_servers")).setHeader("Last-Modified", lastModified));
+            server.enqueue(new MockResponse().setResponseCode(304));
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("blocked_servers")).setHeader("Last-Modified", lastModified));
+            server.enqueue(new MockResponse().setResponseCode(304));
+
+            final HttpUrl url = server.url("/blockedservers");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Optional<List<String>> firstBlockedServersOpt = apiClient.getBlockedServers();
+            assertThat(firstBlockedServersOpt).isPresent();
+            assertThat(apiClient.getBlockedServers()).hasValueSatisfying(blockedServers -> {
+                assertThat(blockedServers).isEqualTo(firstBlockedServersOpt.get());
+                assertThatThrownBy(() -> blockedServers.add("hash")).isInstanceOf(UnsupportedOperationException.class);
+            });
+
+            // Every representation keeps its own validators
+            final Optional<BlockedServers> firstBlockedServerHashesOpt = apiClient.getBlockedServerHashes();
+            assertThat(firstBlockedServerHashesOpt).isPresent();
+            assertThat(apiClient.getAsync().getBlockedServerHashesAsync().get())
+                    .hasValueSatisfying(blockedServers -> assertThat(blockedServers).isSameAs(firstBlockedServerHashesOpt.get()));
+
+            assertThat(server.takeRequest().getHeader("If-Modified-Since")).isNull();
+            assertThat(server.takeRequest().getHeader("If-Modified-Since")).isEqualTo(lastModified);
+            assertThat(server.takeRequest().getHeader("If-Modified-Since")).isNull();
+            assertThat(server.takeRequest().getHeader("If-Modified-Since")).isEqualTo(lastModified);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void isServerBlocked() {
+        try (final MockWebServer server = new MockWebServer()) {
+            // sha1 of *.example.com
+            server.enqueue(new MockResponse().setBody("8c7122d652cb7be22d1986f1f30b07fd5108d9c0\n" + this.getContentFromFile("blocked_servers")));
+
+            final HttpUrl url = server.url("/blockedservers");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            assertThat(apiClient.isServerBlocked("mc.example.com")).isTrue();
+            assertThat(apiClient.isServerBlocked("example.org")).isFalse();
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void isServerBlocked_failed_fetch() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+
+            final HttpUrl url = server.url("/blockedservers");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            assertThat(apiClient.isServerBlocked("mc.example.com")).isFalse();
+            // The failed fetch isn't repeated for every call
+            assertThat(apiClient.isServerBlocked("mc.example.com")).isFalse();
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
     @Test
     @SneakyThrows
     void getPlayerInfo() {
@@ -193,6 +289,56 @@ class MojangApiClientTest {
         }
     }
 
+    @Test
+    @SneakyThrows
+    void getPlayerInfos() {
+        final Set<String> existingPlayerNames = new HashSet<>();
+        final List<String> requestedPlayerNames = new ArrayList<>();
+        for (int index = 0; 25 > index; index++) {
+            final String playerName = "player" + index;
+            requestedPlayerNames.add(playerName);
+            if (index % 5 != 0) {
+                existingPlayerNames.add(playerName);
+            }
+        }
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(this.getBulkPlayerInfoDispatcher(existingPlayerNames));
+
+            final HttpUrl url = server.url("/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Map<String, PlayerInfo> playerInfos = apiClient.getPlayerInfos(requestedPlayerNames);
+            assertThat(playerInfos).containsOnlyKeys(existingPlayerNames);
+            for (final String playerName : existingPlayerNames) {
+                final PlayerInfo playerInfo = playerInfos.get(playerName);
+                assertThat(playerInfo.getName()).isEqualTo(playerName.toUpperCase());
+                assertThat(playerInfo.getUuid()).isEqualTo(this.getBulkPlayerUUID(playerName));
+            }
+            // 25 names are split into 3 chunks
+            assertThat(server.getRequestCount()).isEqualTo(3);
+
+            // Cache check
+            final Map<String, PlayerInfo> playerInfosCache = apiClient.getPlayerInfos(new ArrayList<>(existingPlayerNames));
+            assertThat(playerInfosCache).containsOnlyKeys(existingPlayerNames);
+            assertThat(server.getRequestCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerInfos_invalid_response_code() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+
+            final HttpUrl url = server.url("/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final Map<String, PlayerInfo> playerInfos = apiClient.getPlayerInfos(Arrays.asList("Timmi6790", "mwmy"));
+            assertThat(playerInfos).isEmpty();
+        }
+    }
+
     @Test
     @SneakyThrows
     void getPlayerNameHistory() {
@@ -287,6 +433,75 @@ class MojangApiClientTest {
             final PlayerProfile playerProfile = playerProfilerOpt.get();
             assertThat(playerProfile.getName()).isEqualTo("Timmi6790");
             assertThat(playerProfile.getUuid()).isEqualTo(playerUUID);
+            assertThat(playerProfile.getProperties()).hasSize(1);
+            assertThat(playerProfile.getTextures()).hasValueSatisfying(textures -> {
+                assertThat(textures.getSkinUrl()).contains("http://textures.minecraft.net/texture/c81271059c0ff09a72e30d2f9c777cb21b5e050f8861444bc668adb7b3c98369");
+                assertThat(textures.getSkinModel()).isEqualTo(Textures.SkinModel.SLIM);
+                assertThat(textures.getCapeUrl()).isEmpty();
+            });
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerProfiler_signed() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(
+                    "{\"id\": \"9d59daad6f624bd9b13ec961bf906750\", \"name\": \"Timmi6790\", "
+                            + "\"properties\": [{\"name\": \"textures\", \"value\": \"e30=\", \"signature\": \"c2lnbmF0dXJl\"}]}"
+            ));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .sessionServerBaseUrl(baseUrl)
+                    .signedProfileProperties(true)
+                    .build();
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerProfiler(playerUUID).flatMap(profile -> profile.getProperty("textures")))
+                    .hasValueSatisfying(property -> assertThat(property.getSignature()).contains("c2lnbmF0dXJl"));
+            assertThat(server.takeRequest().getPath()).isEqualTo("/session/minecraft/profile/9d59daad6f624bd9b13ec961bf906750?unsigned=false");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerProfiler_coalesced() {
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+        final int threads = 10;
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse()
+                    .setBody(this.getContentFromFile("player_profile.json"))
+                    .setBodyDelay(500, TimeUnit.MILLISECONDS)
+            );
+
+            final HttpUrl url = server.url("/session/minecraft/profile/");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final CountDownLatch startLatch = new CountDownLatch(1);
+                final List<Future<Optional<PlayerProfile>>> futures = new ArrayList<>();
+                for (int index = 0; threads > index; index++) {
+                    futures.add(executor.submit(() -> {
+                        startLatch.await();
+                        return apiClient.getPlayerProfiler(playerUUID);
+                    }));
+                }
+                startLatch.countDown();
+
+                for (final Future<Optional<PlayerProfile>> future : futures) {
+                    assertThat(future.get(10, TimeUnit.SECONDS))
+                            .isPresent()
+                            .hasValueSatisfying(profile -> assertThat(profile.getName()).isEqualTo("Timmi6790"));
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(server.getRequestCount()).isEqualTo(1);
+            assertThat(apiClient.getCoalescedRequestCount()).isPositive();
         }
     }
 
@@ -332,6 +547,114 @@ class MojangApiClientTest {
         }
     }
 
+    @Test
+    @SneakyThrows
+    void getPlayerProfiler_not_found_cached() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(404));
+
+            final HttpUrl url = server.url("/session/minecraft/profile/");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isNotPresent();
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isNotPresent();
+            assertThat(apiClient.getAsync().getPlayerProfileAsync(playerUUID).get()).isNotPresent();
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerProfiler_failure_not_cached() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+
+            final HttpUrl url = server.url("/session/minecraft/profile/");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isNotPresent();
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).hasValueSatisfying(profile -> assertThat(profile.getName()).isEqualTo("Timmi6790"));
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void parseLookupResponse_too_many_requests_retry_after() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "7"));
+
+            final MojangApiClient apiClient = this.getMojangApiClient(server.url("/"));
+            // Without the rate limit interceptor the 429 reaches the client
+            final Request request = new Request.Builder().url(server.url("/users/profiles/minecraft/Timmi6790")).build();
+            try (final Response response = new OkHttpClient().newCall(request).execute()) {
+                assertThatThrownBy(() -> apiClient.parseLookupResponse(response, ResponseBody::string))
+                        .isInstanceOfSatisfying(UnexpectedResponseException.class, exception -> {
+                            final MojangResult<String> result = MojangResult.fromError(exception);
+                            assertThat(result.getType()).isEqualTo(MojangResult.Type.RATE_LIMITED);
+                            assertThat(result.getRetryAfter()).contains(Duration.ofSeconds(7));
+                        });
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerProfileResult() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            server.enqueue(new MockResponse().setBody("{\"name\": \"Timmi6790\"}"));
+            server.enqueue(new MockResponse().setResponseCode(404));
+
+            final HttpUrl url = server.url("/session/minecraft/profile/");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerProfileResult(playerUUID).getType()).isEqualTo(MojangResult.Type.TRANSIENT_ERROR);
+            assertThat(apiClient.getPlayerProfileResult(playerUUID).getType()).isEqualTo(MojangResult.Type.PERMANENT_ERROR);
+            assertThat(apiClient.getPlayerProfileResult(playerUUID).getType()).isEqualTo(MojangResult.Type.NOT_FOUND);
+            // Served from the negative cache
+            assertThat(apiClient.getPlayerProfileResult(playerUUID).getType()).isEqualTo(MojangResult.Type.NOT_FOUND);
+            assertThat(server.getRequestCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getStatusResult_server_error() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(502));
+
+            final HttpUrl url = server.url("/check");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final MojangResult<Map<String, Status>> result = apiClient.getStatusResult();
+            assertThat(result.getType()).isEqualTo(MojangResult.Type.TRANSIENT_ERROR);
+            assertThat(result.getError()).hasValueSatisfying(error -> assertThat(error).isInstanceOf(UnexpectedResponseException.class));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerInfos_not_found_cached() {
+        final Set<String> existingNames = new HashSet<>(Collections.singletonList("Timmi6790"));
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(this.getBulkPlayerInfoDispatcher(existingNames));
+
+            final HttpUrl url = server.url("/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            final List<String> playerNames = Arrays.asList("Timmi6790", "UnknownPlayer");
+            assertThat(apiClient.getPlayerInfos(playerNames)).containsOnlyKeys("Timmi6790");
+            assertThat(apiClient.getPlayerInfos(playerNames)).containsOnlyKeys("Timmi6790");
+            assertThat(apiClient.getPlayerInfo("UnknownPlayer")).isNotPresent();
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
     @Test
     @SneakyThrows
     void getPlayerName() {
@@ -382,9 +705,529 @@ class MojangApiClientTest {
         }
     }
 
+    @Test
+    @SneakyThrows
+    void getPlayerInfo_case_insensitive() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_uuid.json")));
+
+            final HttpUrl url = server.url("/users/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            assertThat(apiClient.getPlayerInfo("MWMY")).hasValueSatisfying(playerInfo -> assertThat(playerInfo.getName()).isEqualTo("mwmy"));
+            assertThat(apiClient.getPlayerInfo("mwmy")).isPresent();
+            assertThat(apiClient.getPlayerInfo("Mwmy")).isPresent();
+            assertThat(apiClient.getPlayerInfos(Arrays.asList("mWmY", "MwMy"))).containsOnlyKeys("mWmY", "MwMy");
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerInfo_invalid_name() {
+        try (final MockWebServer server = new MockWebServer()) {
+            final HttpUrl url = server.url("/users/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            assertThat(apiClient.getPlayerInfoResult("Timmi 6790").getType()).isEqualTo(MojangResult.Type.NOT_FOUND);
+            assertThat(apiClient.getPlayerInfo("ThisNameIsTooLong")).isNotPresent();
+            assertThat(apiClient.getPlayerInfo("")).isNotPresent();
+            assertThat(apiClient.getPlayerInfos(Arrays.asList("Timmi-6790", "../profiles"))).isEmpty();
+            assertThat(server.getRequestCount()).isZero();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerName_known_identity() {
+        final UUID expectedUUID = UUID.fromString("5438ed1a-48ed-4086-a5a7-7912ca2bf1ee");
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_uuid.json")));
+
+            final HttpUrl url = server.url("/users/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            assertThat(apiClient.getPlayerUUID("mwmy")).contains(expectedUUID);
+            // Both directions are served from the identity store
+            assertThat(apiClient.getPlayerName(expectedUUID)).contains("mwmy");
+            assertThat(apiClient.getPlayerUUID("MWMY")).contains(expectedUUID);
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerName_from_name_history() {
+        final UUID playerUUID = UUID.fromString("05c02f83-c09e-4629-b35e-f17e061df8be");
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("name_history.json")));
+
+            final HttpUrl url = server.url("/users/profiles/names");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            assertThat(apiClient.getPlayerNameHistory(playerUUID)).isPresent();
+            // The last entry is the current name
+            assertThat(apiClient.getPlayerName(playerUUID)).contains("0hVanny");
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getPlayerInfo_name_moved() {
+        final UUID previousOwner = UUID.fromString("5438ed1a-48ed-4086-a5a7-7912ca2bf1ee");
+        final UUID newOwner = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_uuid.json")));
+            server.enqueue(new MockResponse().setBody("{\"id\": \"9d59daad6f624bd9b13ec961bf906750\", \"name\": \"mwmy\", \"properties\": []}"));
+            server.enqueue(new MockResponse().setBody("{\"id\": \"5438ed1a48ed4086a5a77912ca2bf1ee\", \"name\": \"Timmi\", \"properties\": []}"));
+
+            final HttpUrl url = server.url("/users/profiles/minecraft");
+            final MojangApiClient apiClient = this.getMojangApiClient(url);
+
+            assertThat(apiClient.getPlayerUUID("mwmy")).contains(previousOwner);
+            assertThat(apiClient.getPlayerProfiler(newOwner)).isPresent();
+
+            // The cached player info is dropped, the name belongs to the new owner
+            assertThat(apiClient.getPlayerUUID("mwmy")).contains(newOwner);
+            // The previous owner has a new name that is unknown
+            assertThat(apiClient.getPlayerName(previousOwner)).contains("Timmi");
+            assertThat(server.getRequestCount()).isEqualTo(3);
+        }
+    }
+
     @Test
     void getInstance() {
         final MojangApiClient apiClient = MojangApiClient.getInstance();
         assertThat(apiClient).isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getInstance_same_instance() {
+        assertThat(MojangApiClient.getInstance()).isSameAs(MojangApiClient.getInstance());
+    }
+
+    @Test
+    @SneakyThrows
+    void builder() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_info.json")));
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .httpClient(new OkHttpClient())
+                    .readTimeout(Duration.ofSeconds(5))
+                    .callTimeout(Duration.ofSeconds(10))
+                    .playerProfileCache(new CacheSettings<UUID, PlayerProfile>()
+                            .setMaximumSize(10_000)
+                            .setExpireAfterWrite(null)
+                            .setExpireAfterAccess(Duration.ofMinutes(5))
+                    )
+                    .playerInfoCache(new CacheSettings<String, PlayerInfo>()
+                            .setWeigher((name, info) -> name.length())
+                            .setMaximumWeight(1_000)
+                            .setRefreshAfterWrite(Duration.ofMinutes(1))
+                    )
+                    .apiBaseUrl(baseUrl)
+                    .sessionServerBaseUrl(baseUrl)
+                    .statusBaseUrl(baseUrl)
+                    .build();
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerUUID("Timmi6790")).contains(playerUUID);
+            assertThat(apiClient.getPlayerProfiler(playerUUID).map(PlayerProfile::getName)).contains("Timmi6790");
+
+            final RecordedRequest infoRequest = server.takeRequest();
+            assertThat(infoRequest.getPath()).startsWith("/users/profiles/minecraft/timmi6790?at=");
+            final RecordedRequest profileRequest = server.takeRequest();
+            assertThat(profileRequest.getPath()).isEqualTo("/session/minecraft/profile/9d59daad6f624bd9b13ec961bf906750");
+
+            // Cache check
+            assertThat(apiClient.getPlayerName(playerUUID)).contains("Timmi6790");
+            assertThat(apiClient.getPlayerUUID("Timmi6790")).contains(playerUUID);
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void builder_weigher_without_maximum_weight() {
+        final MojangApiClient.Builder builder = MojangApiClient.builder()
+                .playerInfoCache(new CacheSettings<String, PlayerInfo>().setWeigher((name, info) -> name.length()));
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("maximum weight");
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_stale_while_revalidate() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json").replace("Timmi6790", "Timmi")));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .playerProfileCache(new CacheSettings<UUID, PlayerProfile>().setRefreshAfterWrite(Duration.ofMillis(50)))
+                    .sessionServerBaseUrl(baseUrl)
+                    .build();
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerName(playerUUID)).contains("Timmi6790");
+
+            Thread.sleep(100);
+            // The stale value is served while the refresh is running
+            assertThat(apiClient.getPlayerName(playerUUID)).contains("Timmi6790");
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!apiClient.getPlayerName(playerUUID).equals(Optional.of("Timmi")) && deadline > System.nanoTime()) {
+                Thread.sleep(10);
+            }
+            assertThat(apiClient.getPlayerName(playerUUID)).contains("Timmi");
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_metrics() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+            server.enqueue(new MockResponse().setResponseCode(500));
+
+            final InMemoryMetricsListener metricsListener = new InMemoryMetricsListener();
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .metricsListener(metricsListener)
+                    .sessionServerBaseUrl(baseUrl)
+                    .statusBaseUrl(baseUrl)
+                    .build();
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isPresent();
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isPresent();
+            assertThat(apiClient.getStatus()).isNotPresent();
+
+            final InMemoryMetricsListener.EndpointMetrics profileMetrics = metricsListener.getEndpointMetrics(Endpoint.PLAYER_PROFILE);
+            assertThat(profileMetrics.getStatusCodes()).containsOnly(entry(200, 1L));
+            assertThat(profileMetrics.getLatency().getCount()).isEqualTo(1);
+            assertThat(profileMetrics.getDeserialization().getCount()).isEqualTo(1);
+            assertThat(profileMetrics.getBytesRead()).isEqualTo(this.getContentFromFile("player_profile.json").length());
+            assertThat(profileMetrics.getNetworkPhase(NetworkPhase.CONNECT).getCount()).isEqualTo(1);
+            assertThat(profileMetrics.getCacheHits()).isEqualTo(1);
+            assertThat(profileMetrics.getCacheMisses()).isEqualTo(2);
+
+            final InMemoryMetricsListener.EndpointMetrics statusMetrics = metricsListener.getEndpointMetrics(Endpoint.STATUS);
+            assertThat(statusMetrics.getStatusCodes()).containsOnly(entry(500, 1L));
+            assertThat(statusMetrics.getDeserialization().getCount()).isZero();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_http_cache(@TempDir final Path tempDir) {
+        try (final MockWebServer server = new MockWebServer();
+             final Cache httpCache = new Cache(tempDir.toFile(), 1024 * 1024)) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("status.json")).setHeader("ETag", "\"status-1\""));
+            server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"status-1\""));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final List<MojangApiClient> apiClients = new ArrayList<>();
+            for (int index = 0; 2 > index; index++) {
+                apiClients.add(MojangApiClient.builder()
+                        .httpCache(httpCache)
+                        .statusBaseUrl(baseUrl)
+                        .build()
+                );
+            }
+
+            assertThat(apiClients.get(0).getStatus()).isPresent();
+            // A new instance is answered from the disk cache after revalidation
+            assertThat(apiClients.get(1).getStatus()).hasValueSatisfying(status -> assertThat(status).hasSize(8));
+
+            assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+            assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo("\"status-1\"");
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_status_monitor() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("status.json")));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .statusMonitorInterval(Duration.ofHours(1))
+                    .statusBaseUrl(baseUrl)
+                    .build();
+
+            final StatusMonitor statusMonitor = apiClient.getStatusMonitor().orElseThrow(IllegalStateException::new);
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (statusMonitor.getSnapshot().getStatuses().isEmpty() && deadline > System.nanoTime()) {
+                Thread.sleep(5);
+            }
+            assertThat(statusMonitor.getSnapshot().getStatus(Service.SESSION_SERVER)).contains(Status.RED);
+
+            // The monitor thread is stopped with the client
+            apiClient.close();
+            assertThatThrownBy(statusMonitor::start).isInstanceOf(RejectedExecutionException.class);
+            assertThat(apiClient.getHttpClient().dispatcher().executorService().isShutdown()).isTrue();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void close_supplied_http_client() {
+        final OkHttpClient httpClient = new OkHttpClient();
+        final MojangApiClient apiClient = MojangApiClient.builder()
+                .httpClient(httpClient)
+                .build();
+        apiClient.close();
+
+        // Supplied resources are owned by the caller
+        assertThat(httpClient.dispatcher().executorService().isShutdown()).isFalse();
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_circuit_breaker() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            server.enqueue(new MockResponse().setResponseCode(500));
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .sessionServerBaseUrl(baseUrl)
+                    .circuitBreakerFailureThreshold(2)
+                    .circuitBreakerOpenDuration(Duration.ofHours(1))
+                    .negativeCacheTtl(Duration.ZERO)
+                    .build();
+
+            final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isEmpty();
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isEmpty();
+
+            // The open circuit fails without sending the request
+            assertThatThrownBy(() -> apiClient.executeLookup(apiClient.getPlayerProfileRequest(playerUUID), apiClient.getPlayerProfileParser())).isInstanceOf(CircuitOpenException.class);
+            assertThat(server.getRequestCount()).isEqualTo(2);
+            assertThat(apiClient.getCircuitBreakerInterceptor().getCircuitBreaker(server.getHostName()))
+                    .map(CircuitBreaker::getState)
+                    .contains(CircuitBreaker.State.OPEN);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_compact_caches() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("name_history.json")));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .apiBaseUrl(baseUrl)
+                    .compactCaches(true)
+                    .build();
+
+            final UUID playerUUID = UUID.fromString("05c02f83-c09e-4629-b35e-f17e061df8be");
+            final List<NameEntry> nameHistory = apiClient.getPlayerNameHistory(playerUUID).orElseThrow(IllegalStateException::new);
+            assertThat(apiClient.getPlayerNameHistoryCache()).isInstanceOf(CompactCacheBackend.class);
+            assertThat(apiClient.getPlayerNameHistory(playerUUID)).contains(nameHistory);
+            this.assertNameEntry(apiClient.getPlayerNameHistory(playerUUID).get().get(4), "0hVanny", 1608983359000L, false);
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_name_history_index() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("name_history.json")));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final NameHistoryIndex nameHistoryIndex = new NameHistoryIndex();
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .apiBaseUrl(baseUrl)
+                    .nameHistoryIndex(nameHistoryIndex)
+                    .build();
+
+            final UUID playerUUID = UUID.fromString("05c02f83-c09e-4629-b35e-f17e061df8be");
+            assertThat(apiClient.getPlayerNameHistory(playerUUID)).isPresent();
+            assertThat(nameHistoryIndex.getName(playerUUID, Instant.ofEpochMilli(1588000000000L))).contains("King_BP");
+            assertThat(nameHistoryIndex.getOwner("vansqn", Instant.ofEpochMilli(1590000000000L))).contains(playerUUID);
+            assertThat(nameHistoryIndex.getOwner("vansqn", Instant.ofEpochMilli(1588000000000L))).isEmpty();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_disk_store(@TempDir final Path tempDir) {
+        final Path storePath = tempDir.resolve("players.bin");
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+
+            try (final PlayerDiskStore diskStore = new PlayerDiskStore(storePath, Duration.ofDays(1))) {
+                final MojangApiClient apiClient = MojangApiClient.builder()
+                        .sessionServerBaseUrl(baseUrl)
+                        .diskStore(diskStore)
+                        .build();
+                assertThat(apiClient.getPlayerName(playerUUID)).contains("Timmi6790");
+            }
+
+            // A restarted client with empty memory caches is served from disk
+            try (final PlayerDiskStore diskStore = new PlayerDiskStore(storePath, Duration.ofDays(1))) {
+                final MojangApiClient apiClient = MojangApiClient.builder()
+                        .sessionServerBaseUrl(baseUrl)
+                        .diskStore(diskStore)
+                        .build();
+                assertThat(apiClient.getPlayerName(playerUUID)).contains("Timmi6790");
+                assertThat(apiClient.getAsync().getPlayerNameAsync(playerUUID).join()).contains("Timmi6790");
+            }
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_shared_cache_backend() {
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+        try (final MockWebServer mojangServer = new MockWebServer();
+             final MockWebServer cacheServer = new MockWebServer()) {
+            mojangServer.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+            mojangServer.enqueue(new MockResponse().setBody(this.getContentFromFile("name_history.json")));
+            cacheServer.setDispatcher(new InMemoryCacheDispatcher());
+
+            final String baseUrl = mojangServer.url("").toString().replaceAll("/$", "");
+            final List<MojangApiClient> apiClients = new ArrayList<>();
+            for (int index = 0; 2 > index; index++) {
+                apiClients.add(MojangApiClient.builder()
+                        .apiBaseUrl(baseUrl)
+                        .sessionServerBaseUrl(baseUrl)
+                        .playerProfileCacheBackend(new HttpCacheBackend<>(new OkHttpClient(), cacheServer.url("/"), "profiles", CacheCodecs.playerProfile(), Duration.ofMinutes(10)))
+                        .playerNameHistoryCacheBackend(new HttpCacheBackend<>(new OkHttpClient(), cacheServer.url("/"), "names", CacheCodecs.playerNameHistory(), Duration.ofMinutes(10)))
+                        .build()
+                );
+            }
+
+            assertThat(apiClients.get(0).getPlayerName(playerUUID)).contains("Timmi6790");
+            assertThat(apiClients.get(0).getPlayerNameHistory(playerUUID)).hasValueSatisfying(history -> assertThat(history).hasSize(5));
+
+            // The second instance is served by the shared cache
+            assertThat(apiClients.get(1).getPlayerName(playerUUID)).contains("Timmi6790");
+            assertThat(apiClients.get(1).getPlayerNameHistory(playerUUID)).hasValueSatisfying(history -> assertThat(history).hasSize(5));
+            assertThat(mojangServer.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void lookupAll() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(final RecordedRequest request) {
+                    // The names are requested by their lower case cache key
+                    final String playerName = request.getRequestUrl().pathSegments().get(3);
+                    if ("unknown".equals(playerName)) {
+                        return new MockResponse().setResponseCode(204);
+                    }
+                    return new MockResponse().setBody("{\"id\": \"9d59daad6f624bd9b13ec961bf906750\", \"name\": \"" + playerName + "\"}");
+                }
+            });
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .apiBaseUrl(baseUrl)
+                    .virtualThreads(true)
+                    .build();
+            // Surefire runs the Java 8 classes, which fall back to the platform executors. VirtualThreadsIT covers the Java 21 classes
+            assertThat(apiClient.isVirtualThreads()).isFalse();
+
+            final Map<String, Optional<PlayerInfo>> results = apiClient.lookupAll(Arrays.asList("Timmi6790", "Unknown", "Notch"), 2, apiClient::getPlayerInfo);
+            assertThat(results).containsOnlyKeys("Timmi6790", "Unknown", "Notch");
+            assertThat(results.keySet()).containsExactly("Timmi6790", "Unknown", "Notch");
+            assertThat(results.get("Timmi6790")).hasValueSatisfying(playerInfo -> assertThat(playerInfo.getName()).isEqualToIgnoringCase("Timmi6790"));
+            assertThat(results.get("Unknown")).isEmpty();
+            assertThat(server.getRequestCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void builder_refresh_ahead() {
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+        try (final MockWebServer server = new MockWebServer()) {
+            final String profileBody = this.getContentFromFile("player_profile.json");
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(final RecordedRequest request) {
+                    return new MockResponse().setBody(profileBody);
+                }
+            });
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .sessionServerBaseUrl(baseUrl)
+                    .playerProfileCache(new CacheSettings<UUID, PlayerProfile>().setExpireAfterWrite(Duration.ofSeconds(2)))
+                    .refreshAheadWindow(Duration.ofMillis(1_500))
+                    .refreshAheadMinimumHits(1)
+                    .build();
+
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isPresent();
+            assertThat(apiClient.getPlayerProfiler(playerUUID)).isPresent();
+            assertThat(server.getRequestCount()).isEqualTo(1);
+
+            // The hot entry is fetched again before it expires
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (server.getRequestCount() < 2 && deadline - System.nanoTime() > 0) {
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            assertThat(server.getRequestCount()).isEqualTo(2);
+            assertThat(apiClient.getPlayerProfileCache().get(playerUUID)).isPresent();
+
+            apiClient.close();
+            assertThat(apiClient.getRefreshAheadScheduler().isShutdown()).isTrue();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void exportCaches_importCaches() {
+        final UUID playerUUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody(this.getContentFromFile("player_profile.json")));
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .apiBaseUrl(baseUrl)
+                    .sessionServerBaseUrl(baseUrl)
+                    .build();
+            final Optional<PlayerProfile> playerProfile = apiClient.getPlayerProfiler(playerUUID);
+            // Served from the name of the profile
+            final Optional<PlayerInfo> playerInfo = apiClient.getPlayerInfo("Timmi6790");
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            assertThat(apiClient.exportCaches(outputStream)).isEqualTo(2);
+
+            // The new instance is compact and serves both lookups without requests
+            final MojangApiClient newApiClient = MojangApiClient.builder()
+                    .apiBaseUrl(baseUrl)
+                    .sessionServerBaseUrl(baseUrl)
+                    .compactCaches(true)
+                    .build();
+            assertThat(newApiClient.importCaches(new ByteArrayInputStream(outputStream.toByteArray()))).isEqualTo(2);
+            assertThat(newApiClient.getIdentityStore().getUUID("Timmi6790")).contains(playerUUID);
+            assertThat(newApiClient.getPlayerProfiler(playerUUID)).isEqualTo(playerProfile);
+            assertThat(newApiClient.getPlayerInfo("Timmi6790")).isEqualTo(playerInfo);
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+}
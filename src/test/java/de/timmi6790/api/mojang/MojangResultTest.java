@@ -0,0 +1,64 @@
+package de.timmi6790.api.mojang;
+
+import com.squareup.moshi.JsonDataException;
+import de.timmi6790.api.mojang.ratelimit.RateLimitedException;
+import de.timmi6790.api.mojang.resilience.CircuitOpenException;
+import de.timmi6790.api.mojang.status.Service;
+import de.timmi6790.api.mojang.status.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MojangResultTest {
+    @Test
+    void of() {
+        assertThat(MojangResult.of(Optional.of("value")).getValue()).contains("value");
+        assertThat(MojangResult.of(Optional.empty()).isNotFound()).isTrue();
+    }
+
+    @Test
+    void fromError_rate_limited() {
+        final MojangResult<String> result = MojangResult.fromError(new RateLimitedException("api.mojang.com", Duration.ofSeconds(3)));
+        assertThat(result.getType()).isEqualTo(MojangResult.Type.RATE_LIMITED);
+        assertThat(result.getRetryAfter()).contains(Duration.ofSeconds(3));
+        assertThat(result.isRetryable()).isTrue();
+    }
+
+    @Test
+    void fromError_transient() {
+        assertThat(MojangResult.fromError(new SocketTimeoutException()).getType()).isEqualTo(MojangResult.Type.TRANSIENT_ERROR);
+        assertThat(MojangResult.fromError(new UnexpectedResponseException(503, "url")).getType()).isEqualTo(MojangResult.Type.TRANSIENT_ERROR);
+        assertThat(MojangResult.fromError(new ServiceUnavailableException(Service.API)).getType()).isEqualTo(MojangResult.Type.TRANSIENT_ERROR);
+
+        final MojangResult<String> circuitOpen = MojangResult.fromError(new CircuitOpenException("api.mojang.com", Duration.ofSeconds(5)));
+        assertThat(circuitOpen.getType()).isEqualTo(MojangResult.Type.TRANSIENT_ERROR);
+        assertThat(circuitOpen.getRetryAfter()).contains(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void fromError_permanent() {
+        assertThat(MojangResult.fromError(new UnexpectedResponseException(400, "url")).getType()).isEqualTo(MojangResult.Type.PERMANENT_ERROR);
+        assertThat(MojangResult.fromError(new JsonDataException()).getType()).isEqualTo(MojangResult.Type.PERMANENT_ERROR);
+        assertThat(MojangResult.fromError(new JsonDataException()).isRetryable()).isFalse();
+    }
+
+    @Test
+    void fromError_unwraps_completion() {
+        final IOException cause = new IOException("connection reset");
+        final MojangResult<String> result = MojangResult.fromError(new CompletionException(cause));
+        assertThat(result.getType()).isEqualTo(MojangResult.Type.TRANSIENT_ERROR);
+        assertThat(result.getError()).contains(cause);
+    }
+
+    @Test
+    void map() {
+        assertThat(MojangResult.found("value").map(String::length).getValue()).contains(5);
+        assertThat(MojangResult.<String>notFound().map(String::length).isNotFound()).isTrue();
+    }
+}
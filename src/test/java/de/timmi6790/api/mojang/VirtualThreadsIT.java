@@ -0,0 +1,68 @@
+package de.timmi6790.api.mojang;
+
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.utilities.VirtualThreads;
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs by failsafe against the multi release jar of a Java 21 build, surefire only sees the Java 8 classes.
+ */
+class VirtualThreadsIT {
+    @SneakyThrows
+    private static boolean isVirtual(final Thread thread) {
+        // The tests are compiled for Java 8
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    @Test
+    @SneakyThrows
+    void virtualThreads() {
+        assertThat(VirtualThreads.isAvailable()).isTrue();
+
+        try (final MockWebServer server = new MockWebServer()) {
+            for (int index = 0; 3 > index; index++) {
+                server.enqueue(new MockResponse()
+                        .setBody("{\"id\": \"9d59daad6f624bd9b13ec961bf906750\", \"name\": \"Timmi6790\"}")
+                        .setBodyDelay(100, TimeUnit.MILLISECONDS));
+            }
+
+            final String baseUrl = server.url("").toString().replaceAll("/$", "");
+            final MojangApiClient apiClient = MojangApiClient.builder()
+                    .apiBaseUrl(baseUrl)
+                    .virtualThreads(true)
+                    .build();
+            assertThat(apiClient.isVirtualThreads()).isTrue();
+
+            // Blocking lookups
+            final Set<Boolean> lookupThreads = ConcurrentHashMap.newKeySet();
+            final Map<String, Optional<PlayerInfo>> results = apiClient.lookupAll(Arrays.asList("Timmi6790", "Notch"), 2, playerName -> {
+                lookupThreads.add(isVirtual(Thread.currentThread()));
+                return apiClient.getPlayerInfo(playerName);
+            });
+            assertThat(results.get("Timmi6790")).isPresent();
+            assertThat(lookupThreads).containsExactly(true);
+
+            // Async requests complete on the dispatcher threads
+            final boolean callbackThread = apiClient.getAsync().getPlayerInfoAsync("mwmy")
+                    .thenApply(playerInfo -> isVirtual(Thread.currentThread()))
+                    .get(10, TimeUnit.SECONDS);
+            assertThat(callbackThread).isTrue();
+
+            apiClient.close();
+            assertThat(((ExecutorService) apiClient.getAsyncExecutor()).isShutdown()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class CacheSnapshotTest {
+    private static final UUID PLAYER_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+    private static <K, V> CaffeineCacheBackend<K, V> createBackend() {
+        return new CaffeineCacheBackend<>(new CacheSettings<K, V>().setMaximumSize(1_000).buildCache(null));
+    }
+
+    private static <K, V> Duration getExpiresAfter(final CaffeineCacheBackend<K, V> backend, final K key) {
+        return backend.getCache().policy().expireVariably()
+                .flatMap(expiration -> expiration.getExpiresAfter(key))
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    @Test
+    void write_read() throws IOException {
+        final PlayerProfile playerProfile = new PlayerProfile(
+                PLAYER_UUID,
+                "Timmi6790",
+                Arrays.asList(new ProfileProperty("textures", "e30=", "c2lnbmF0dXJl"), new ProfileProperty("other", "value", null))
+        );
+        final CaffeineCacheBackend<UUID, PlayerProfile> playerProfiles = createBackend();
+        playerProfiles.put(PLAYER_UUID, playerProfile, Duration.ofMinutes(5));
+        final UUID secondUUID = UUID.randomUUID();
+        playerProfiles.put(secondUUID, new PlayerProfile(secondUUID, "Notch"));
+        final CaffeineCacheBackend<String, PlayerInfo> playerInfos = createBackend();
+        playerInfos.put("timmi6790", new PlayerInfo(PLAYER_UUID, "Timmi6790"));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThat(CacheSnapshot.write(outputStream, playerProfiles, playerInfos)).isEqualTo(3);
+
+        final CaffeineCacheBackend<UUID, PlayerProfile> importedPlayerProfiles = createBackend();
+        final CaffeineCacheBackend<String, PlayerInfo> importedPlayerInfos = createBackend();
+        assertThat(CacheSnapshot.read(new ByteArrayInputStream(outputStream.toByteArray()), importedPlayerProfiles, importedPlayerInfos)).isEqualTo(3);
+
+        assertThat(importedPlayerProfiles.get(PLAYER_UUID)).contains(playerProfile);
+        assertThat(importedPlayerProfiles.get(secondUUID)).contains(new PlayerProfile(secondUUID, "Notch"));
+        assertThat(importedPlayerInfos.get("timmi6790")).contains(new PlayerInfo(PLAYER_UUID, "Timmi6790"));
+
+        // The remaining time to live is kept
+        assertThat(getExpiresAfter(importedPlayerProfiles, PLAYER_UUID)).isBetween(Duration.ofMinutes(4), Duration.ofMinutes(5));
+        assertThat(getExpiresAfter(importedPlayerProfiles, secondUUID)).isGreaterThan(Duration.ofMinutes(9));
+    }
+
+    @Test
+    void write_read_compact() throws IOException {
+        final CompactCacheBackend<UUID, PlayerProfile, CompactPlayerProfile> playerProfiles = new CompactCacheBackend<>(
+                new CacheSettings<UUID, PlayerProfile>().buildCompactCache(CompactCodecs.playerProfile(), null, null),
+                CompactCodecs.playerProfile()
+        );
+        playerProfiles.put(PLAYER_UUID, new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CacheSnapshot.write(outputStream, playerProfiles, createBackend());
+
+        final CaffeineCacheBackend<UUID, PlayerProfile> importedPlayerProfiles = createBackend();
+        CacheSnapshot.read(new ByteArrayInputStream(outputStream.toByteArray()), importedPlayerProfiles, createBackend());
+        assertThat(importedPlayerProfiles.get(PLAYER_UUID)).contains(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+    }
+
+    @Test
+    void read_skips_expired() throws IOException {
+        final CacheBackend<String, PlayerInfo> expiredPlayerInfos = new CaffeineCacheBackend<String, PlayerInfo>(new CacheSettings<String, PlayerInfo>().buildCache(null)) {
+            @Override
+            public void forEachEntry(final EntryVisitor<String, PlayerInfo> visitor) throws IOException {
+                visitor.visit("expired", new PlayerInfo(PLAYER_UUID, "Expired"), System.currentTimeMillis() - 1);
+                visitor.visit("valid", new PlayerInfo(PLAYER_UUID, "Valid"), System.currentTimeMillis() + 60_000);
+            }
+        };
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThat(CacheSnapshot.write(outputStream, createBackend(), expiredPlayerInfos)).isEqualTo(2);
+
+        final CaffeineCacheBackend<String, PlayerInfo> importedPlayerInfos = createBackend();
+        assertThat(CacheSnapshot.read(new ByteArrayInputStream(outputStream.toByteArray()), createBackend(), importedPlayerInfos)).isEqualTo(1);
+        assertThat(importedPlayerInfos.get("expired")).isNotPresent();
+        assertThat(importedPlayerInfos.get("valid")).isPresent();
+    }
+
+    @Test
+    void read_identities() throws IOException {
+        final CaffeineCacheBackend<UUID, PlayerProfile> playerProfiles = createBackend();
+        playerProfiles.put(PLAYER_UUID, new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+        final CaffeineCacheBackend<String, PlayerInfo> playerInfos = createBackend();
+        final UUID secondUUID = UUID.randomUUID();
+        playerInfos.put("notch", new PlayerInfo(secondUUID, "Notch"));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CacheSnapshot.write(outputStream, playerProfiles, playerInfos);
+
+        final Map<UUID, String> identities = new HashMap<>();
+        CacheSnapshot.read(new ByteArrayInputStream(outputStream.toByteArray()), createBackend(), createBackend(), identities::put);
+        assertThat(identities).containsOnly(entry(PLAYER_UUID, "Timmi6790"), entry(secondUUID, "Notch"));
+    }
+
+    @Test
+    void write_backend_without_entries() {
+        final CacheBackend<String, PlayerInfo> remotePlayerInfos = new CacheBackend<String, PlayerInfo>() {
+            @Override
+            public Optional<PlayerInfo> get(final String key) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void put(final String key, final PlayerInfo value) {
+            }
+
+            @Override
+            public void put(final String key, final PlayerInfo value, final Duration ttl) {
+            }
+
+            @Override
+            public void invalidate(final String key) {
+            }
+        };
+
+        // Enough profiles to fill several sink segments
+        final CaffeineCacheBackend<UUID, PlayerProfile> playerProfiles = createBackend();
+        for (int index = 0; 1_000 > index; index++) {
+            final UUID playerUUID = UUID.randomUUID();
+            playerProfiles.put(playerUUID, new PlayerProfile(playerUUID, "Timmi6790"));
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> CacheSnapshot.write(outputStream, playerProfiles, remotePlayerInfos))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(outputStream.size()).isZero();
+    }
+
+    @Test
+    void read_disk_store_file() {
+        // Magic and version of the disk store
+        final byte[] diskStoreHeader = {0x4D, 0x4A, 0x43, 0x53, 1, 0};
+        assertThatThrownBy(() -> CacheSnapshot.read(new ByteArrayInputStream(diskStoreHeader), createBackend(), createBackend()))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unsupported cache snapshot format.");
+    }
+
+    @Test
+    void read_invalid_format() {
+        assertThatThrownBy(() -> CacheSnapshot.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}), createBackend(), createBackend()))
+                .isInstanceOf(IOException.class);
+    }
+}
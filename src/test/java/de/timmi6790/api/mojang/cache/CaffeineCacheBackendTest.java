@@ -0,0 +1,50 @@
+package de.timmi6790.api.mojang.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineCacheBackendTest {
+    @Test
+    void put_with_ttl() {
+        final CaffeineCacheBackend<String, String> backend = new CaffeineCacheBackend<>(new CacheSettings<String, String>().buildCache(null));
+
+        backend.put("default", "value");
+        backend.put("short", "value", Duration.ofSeconds(5));
+        assertThat(backend.getCache().policy().expireVariably()).hasValueSatisfying(expiration -> {
+            assertThat(expiration.getExpiresAfter("default")).hasValueSatisfying(ttl -> assertThat(ttl).isGreaterThan(Duration.ofMinutes(9)));
+            assertThat(expiration.getExpiresAfter("short")).hasValueSatisfying(ttl -> assertThat(ttl).isLessThanOrEqualTo(Duration.ofSeconds(5)));
+        });
+    }
+
+    @Test
+    void getAll() {
+        final CaffeineCacheBackend<String, String> backend = new CaffeineCacheBackend<>(new CacheSettings<String, String>().buildCache(null));
+
+        final Map<String, String> entries = new HashMap<>();
+        entries.put("a", "1");
+        entries.put("b", "2");
+        backend.putAll(entries);
+
+        assertThat(backend.getAll(Arrays.asList("a", "b", "c"))).isEqualTo(entries);
+        backend.invalidate("a");
+        assertThat(backend.get("a")).isNotPresent();
+    }
+
+    @Test
+    void expire_after_access_ignores_ttl() {
+        final CaffeineCacheBackend<String, String> backend = new CaffeineCacheBackend<>(new CacheSettings<String, String>()
+                .setExpireAfterAccess(Duration.ofMinutes(1))
+                .buildCache(null)
+        );
+
+        backend.put("key", "value", Duration.ofSeconds(5));
+        assertThat(backend.get("key")).contains("value");
+        assertThat(backend.getCache().policy().expireVariably()).isNotPresent();
+    }
+}
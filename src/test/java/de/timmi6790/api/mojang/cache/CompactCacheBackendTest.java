@@ -0,0 +1,144 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
+import de.timmi6790.api.mojang.models.Textures;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactCacheBackendTest {
+    private static final UUID PLAYER_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+    private static final String SKIN = "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvc2tpbiJ9fX0=";
+
+    @Test
+    void playerProfile() {
+        final CacheSettings<UUID, PlayerProfile> settings = new CacheSettings<>();
+        final CompactCacheBackend<UUID, PlayerProfile, CompactPlayerProfile> backend = new CompactCacheBackend<>(
+                settings.buildCompactCache(CompactCodecs.playerProfile(), null, null),
+                CompactCodecs.playerProfile()
+        );
+
+        final PlayerProfile playerProfile = new PlayerProfile(PLAYER_UUID, "Timmi6790");
+        backend.put(PLAYER_UUID, playerProfile);
+        assertThat(backend.get(PLAYER_UUID)).contains(playerProfile);
+        assertThat(backend.getAll(Arrays.asList(PLAYER_UUID, UUID.randomUUID()))).containsOnlyKeys(PLAYER_UUID);
+
+        backend.invalidate(PLAYER_UUID);
+        assertThat(backend.get(PLAYER_UUID)).isNotPresent();
+    }
+
+    @Test
+    void playerProfile_properties() {
+        final PlayerProfile playerProfile = new PlayerProfile(
+                PLAYER_UUID,
+                "Timmi6790",
+                Collections.singletonList(new ProfileProperty("textures", "e30=", "c2lnbmF0dXJl"))
+        );
+
+        final CompactCodec<PlayerProfile, CompactPlayerProfile> compactCodec = CompactCodecs.playerProfile();
+        final CompactPlayerProfile packedProfile = compactCodec.pack(playerProfile);
+        assertThat(compactCodec.unpack(packedProfile))
+                .isEqualTo(playerProfile)
+                .hasSameHashCodeAs(playerProfile)
+                .hasToString(playerProfile.toString());
+        assertThat(playerProfile).isEqualTo(compactCodec.unpack(packedProfile));
+        assertThat(compactCodec.unpack(packedProfile).getProperty("textures")).isPresent();
+
+        final CacheCodec<UUID, PlayerProfile> stringCodec = CacheCodecs.playerProfile();
+        assertThat(stringCodec.decodeValue(stringCodec.encodeValue(playerProfile))).isEqualTo(playerProfile);
+        assertThat(stringCodec.decodeValue(PLAYER_UUID + ":Timmi6790")).isEqualTo(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+    }
+
+    @Test
+    void playerProfile_unpack_view() {
+        final CompactCodec<PlayerProfile, CompactPlayerProfile> codec = CompactCodecs.playerProfile();
+        final CompactPlayerProfile packedProfile = codec.pack(new PlayerProfile(
+                PLAYER_UUID,
+                "Timmi6790",
+                Collections.singletonList(new ProfileProperty(Textures.PROPERTY_NAME, SKIN, null))
+        ));
+
+        // Reads hand out the packed instance, the decoded textures are kept
+        final PlayerProfile playerProfile = codec.unpack(packedProfile);
+        assertThat(codec.unpack(packedProfile)).isSameAs(playerProfile);
+        assertThat(playerProfile.getUuid()).isEqualTo(PLAYER_UUID);
+        assertThat(playerProfile.getTextures()).isSameAs(codec.unpack(packedProfile).getTextures());
+        assertThat(playerProfile.getTextures().flatMap(Textures::getSkinUrl)).contains("http://textures.minecraft.net/texture/skin");
+        assertThat(codec.pack(playerProfile)).isSameAs(packedProfile);
+    }
+
+    @Test
+    void playerInfo_non_latin_name() {
+        final CompactCodec<PlayerInfo, CompactPlayerInfo> codec = CompactCodecs.playerInfo();
+        for (final String name : Arrays.asList("", "Timmi6790", "N\u00e4me", "\u540d\u524d", "\u0000Name")) {
+            final PlayerInfo playerInfo = new PlayerInfo(PLAYER_UUID, name);
+            assertThat(codec.unpack(codec.pack(playerInfo))).isEqualTo(playerInfo).hasSameHashCodeAs(playerInfo);
+            assertThat(playerInfo).isEqualTo(codec.unpack(codec.pack(playerInfo)));
+        }
+    }
+
+    @Test
+    void playerNameHistory() {
+        final CompactCodec<List<NameEntry>, CompactNameHistory> codec = CompactCodecs.playerNameHistory();
+        final List<NameEntry> nameHistory = Arrays.asList(
+                new NameEntry("HappyCat0406", LocalDateTime.MIN),
+                new NameEntry("Vansqn", LocalDateTime.of(2020, 3, 12, 17, 10, 56)),
+                new NameEntry("\u540d\u524d", LocalDateTime.of(2020, 12, 26, 11, 49, 19))
+        );
+
+        final CompactNameHistory packedHistory = codec.pack(nameHistory);
+        assertThat(packedHistory.size()).isEqualTo(3);
+        assertThat(packedHistory.getChangedAt(0)).isEqualTo(Long.MIN_VALUE);
+        assertThat(packedHistory.getName(2)).isEqualTo("\u540d\u524d");
+        assertThat(codec.unpack(packedHistory)).isEqualTo(nameHistory);
+        assertThat(codec.unpack(codec.pack(Collections.emptyList()))).isEmpty();
+    }
+
+    @Test
+    void playerNameHistory_epoch_millis() {
+        final TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try {
+            final long changedAt = 1584033056000L;
+            final List<NameEntry> nameHistory = Collections.singletonList(
+                    new NameEntry("Vansqn", LocalDateTime.ofInstant(Instant.ofEpochMilli(changedAt), ZoneId.systemDefault()))
+            );
+
+            final CompactCodec<List<NameEntry>, CompactNameHistory> codec = CompactCodecs.playerNameHistory();
+            final CompactNameHistory packedHistory = codec.pack(nameHistory);
+            assertThat(packedHistory.getChangedAt(0)).isEqualTo(changedAt);
+            assertThat(codec.unpack(packedHistory)).isEqualTo(nameHistory);
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    void buildCompactCache_weigher() {
+        final CacheSettings<UUID, PlayerProfile> settings = new CacheSettings<>();
+        settings.setMaximumWeight(20);
+        settings.setWeigher((key, value) -> value.getName().length());
+        final CompactCacheBackend<UUID, PlayerProfile, CompactPlayerProfile> backend = new CompactCacheBackend<>(
+                settings.buildCompactCache(CompactCodecs.playerProfile(), null, null),
+                CompactCodecs.playerProfile()
+        );
+
+        backend.put(PLAYER_UUID, new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+        backend.getCache().cleanUp();
+        assertThat(backend.getCache().policy().eviction()).hasValueSatisfying(eviction ->
+                assertThat(eviction.weightedSize()).hasValue(9)
+        );
+    }
+}
@@ -0,0 +1,181 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import lombok.SneakyThrows;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpCacheBackendTest {
+    private static final UUID PLAYER_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+    @Test
+    @SneakyThrows
+    void put_get() {
+        try (final MockWebServer server = new MockWebServer()) {
+            final InMemoryCacheDispatcher dispatcher = new InMemoryCacheDispatcher();
+            server.setDispatcher(dispatcher);
+
+            final HttpCacheBackend<UUID, PlayerProfile> backend = new HttpCacheBackend<>(
+                    new OkHttpClient(),
+                    server.url("/"),
+                    "profiles",
+                    CacheCodecs.playerProfile(),
+                    Duration.ofMinutes(10)
+            );
+            assertThat(backend.get(PLAYER_UUID)).isNotPresent();
+
+            backend.put(PLAYER_UUID, new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+            assertThat(backend.get(PLAYER_UUID)).contains(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+            assertThat(dispatcher.getTtl("profiles", PLAYER_UUID.toString())).isEqualTo(600);
+
+            backend.put(PLAYER_UUID, new PlayerProfile(PLAYER_UUID, "Timmi6790"), Duration.ofSeconds(5));
+            assertThat(dispatcher.getTtl("profiles", PLAYER_UUID.toString())).isEqualTo(5);
+
+            backend.invalidate(PLAYER_UUID);
+            assertThat(backend.get(PLAYER_UUID)).isNotPresent();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void putAsync_getAsync() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new InMemoryCacheDispatcher());
+
+            final HttpCacheBackend<UUID, PlayerProfile> backend = new HttpCacheBackend<>(
+                    new OkHttpClient(),
+                    server.url("/"),
+                    "profiles",
+                    CacheCodecs.playerProfile(),
+                    Duration.ofMinutes(10)
+            );
+            assertThat(backend.getAsync(PLAYER_UUID).join()).isNotPresent();
+
+            backend.putAsync(PLAYER_UUID, new PlayerProfile(PLAYER_UUID, "Timmi6790")).join();
+            assertThat(backend.getAsync(PLAYER_UUID).join()).contains(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+            assertThat(backend.getAllAsync(Collections.singletonList(PLAYER_UUID)).join()).containsOnlyKeys(PLAYER_UUID);
+
+            backend.invalidateAsync(PLAYER_UUID).join();
+            assertThat(backend.getAsync(PLAYER_UUID).join()).isNotPresent();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void getAsync_unavailable_backend_is_a_miss() {
+        final MockWebServer server = new MockWebServer();
+        final HttpUrl url = server.url("/");
+        server.shutdown();
+
+        final HttpCacheBackend<UUID, PlayerProfile> backend = new HttpCacheBackend<>(
+                new OkHttpClient(),
+                url,
+                "profiles",
+                CacheCodecs.playerProfile(),
+                Duration.ofMinutes(10)
+        );
+        assertThat(backend.getAsync(PLAYER_UUID).join()).isNotPresent();
+        backend.putAsync(PLAYER_UUID, new PlayerProfile(PLAYER_UUID, "Timmi6790")).join();
+    }
+
+    @Test
+    @SneakyThrows
+    void putAll_getAll_single_round_trip() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new InMemoryCacheDispatcher());
+
+            final HttpCacheBackend<String, PlayerInfo> backend = new HttpCacheBackend<>(
+                    new OkHttpClient(),
+                    server.url("/"),
+                    "infos",
+                    CacheCodecs.playerInfo(),
+                    Duration.ofMinutes(10)
+            );
+
+            final Map<String, PlayerInfo> entries = new HashMap<>();
+            for (int index = 0; 50 > index; index++) {
+                entries.put("player" + index, new PlayerInfo(UUID.randomUUID(), "Player" + index));
+            }
+            backend.putAll(entries);
+
+            final List<String> keys = new ArrayList<>(entries.keySet());
+            keys.add("unknown");
+            assertThat(backend.getAll(keys)).isEqualTo(entries);
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void name_history_codec() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.setDispatcher(new InMemoryCacheDispatcher());
+
+            final HttpCacheBackend<UUID, List<NameEntry>> backend = new HttpCacheBackend<>(
+                    new OkHttpClient(),
+                    server.url("/"),
+                    "names",
+                    CacheCodecs.playerNameHistory(),
+                    Duration.ofMinutes(10)
+            );
+
+            final List<NameEntry> nameHistory = Arrays.asList(
+                    new NameEntry("HappyCat0406", LocalDateTime.MIN),
+                    new NameEntry("Vansqn", LocalDateTime.of(2020, 3, 12, 17, 10, 56))
+            );
+            backend.put(PLAYER_UUID, nameHistory);
+            assertThat(backend.get(PLAYER_UUID)).contains(nameHistory);
+        }
+    }
+
+    @Test
+    void name_history_codec_epoch_millis() {
+        final CacheCodec<UUID, List<NameEntry>> codec = CacheCodecs.playerNameHistory();
+        final TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            final String encoded = codec.encodeValue(Collections.singletonList(
+                    new NameEntry("Vansqn", LocalDateTime.ofInstant(Instant.ofEpochMilli(1584033056000L), ZoneId.systemDefault()))
+            ));
+            assertThat(encoded).isEqualTo("1584033056000:Vansqn");
+
+            // Another jvm reads the same instant in its own zone
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertThat(codec.decodeValue(encoded)).containsExactly(
+                    new NameEntry("Vansqn", LocalDateTime.ofInstant(Instant.ofEpochMilli(1584033056000L), ZoneId.systemDefault()))
+            );
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void unavailable_backend_is_a_miss() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+
+            final HttpCacheBackend<UUID, PlayerProfile> backend = new HttpCacheBackend<>(
+                    new OkHttpClient(),
+                    server.url("/"),
+                    "profiles",
+                    CacheCodecs.playerProfile(),
+                    Duration.ofMinutes(10)
+            );
+            assertThat(backend.get(PLAYER_UUID)).isNotPresent();
+        }
+    }
+}
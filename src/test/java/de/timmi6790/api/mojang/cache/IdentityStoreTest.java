@@ -0,0 +1,96 @@
+package de.timmi6790.api.mojang.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityStoreTest {
+    private static final UUID FIRST_UUID = UUID.fromString("5438ed1a-48ed-4086-a5a7-7912ca2bf1ee");
+    private static final UUID SECOND_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+    private final List<String> staleMappings = new ArrayList<>();
+
+    private IdentityStore createStore() {
+        return new IdentityStore(
+                100,
+                Duration.ofMinutes(10),
+                (playerName, previousOwner) -> this.staleMappings.add(playerName + "=" + previousOwner)
+        );
+    }
+
+    @Test
+    void record_both_directions() {
+        final IdentityStore store = this.createStore();
+        store.record(FIRST_UUID, "Timmi6790");
+
+        assertThat(store.getName(FIRST_UUID)).contains("Timmi6790");
+        assertThat(store.getUUID("Timmi6790")).contains(FIRST_UUID);
+        assertThat(store.getUUID("TIMMI6790")).contains(FIRST_UUID);
+        assertThat(store.getUUID("mwmy")).isNotPresent();
+    }
+
+    @Test
+    void record_disabled() {
+        final IdentityStore store = new IdentityStore(0, Duration.ofMinutes(10), (playerName, previousOwner) -> {
+        });
+        store.record(FIRST_UUID, "Timmi6790");
+
+        assertThat(store.getName(FIRST_UUID)).isNotPresent();
+        assertThat(store.getUUID("Timmi6790")).isNotPresent();
+    }
+
+    @Test
+    void record_rename() {
+        final IdentityStore store = this.createStore();
+        store.record(FIRST_UUID, "Timmi6790");
+        store.record(FIRST_UUID, "Timmi");
+
+        assertThat(store.getName(FIRST_UUID)).contains("Timmi");
+        assertThat(store.getUUID("Timmi")).contains(FIRST_UUID);
+        assertThat(store.getUUID("Timmi6790")).isNotPresent();
+        assertThat(this.staleMappings).isEmpty();
+
+        // Only the casing changed
+        store.record(FIRST_UUID, "timmi");
+        assertThat(store.getUUID("Timmi")).contains(FIRST_UUID);
+    }
+
+    @Test
+    void record_name_moved() {
+        final IdentityStore store = this.createStore();
+        store.record(FIRST_UUID, "Timmi6790");
+        store.record(SECOND_UUID, "timmi6790");
+
+        assertThat(store.getUUID("Timmi6790")).contains(SECOND_UUID);
+        assertThat(store.getName(SECOND_UUID)).contains("timmi6790");
+        assertThat(store.getName(FIRST_UUID)).isNotPresent();
+        assertThat(this.staleMappings).containsExactly("timmi6790=" + FIRST_UUID);
+    }
+
+    @Test
+    void invalidate_uuid() {
+        final IdentityStore store = this.createStore();
+        store.record(FIRST_UUID, "Timmi6790");
+        store.invalidate(FIRST_UUID);
+
+        assertThat(store.getName(FIRST_UUID)).isNotPresent();
+        assertThat(store.getUUID("Timmi6790")).isNotPresent();
+    }
+
+    @Test
+    void invalidate_name() {
+        final IdentityStore store = this.createStore();
+        store.record(FIRST_UUID, "Timmi6790");
+        store.record(SECOND_UUID, "mwmy");
+        store.invalidate("TIMMI6790");
+
+        assertThat(store.getUUID("Timmi6790")).isNotPresent();
+        assertThat(store.getName(FIRST_UUID)).isNotPresent();
+        assertThat(store.getName(SECOND_UUID)).contains("mwmy");
+    }
+}
@@ -0,0 +1,71 @@
+package de.timmi6790.api.mojang.cache;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+import com.squareup.moshi.Types;
+import lombok.SneakyThrows;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In process stand in for the key value service used by {@link HttpCacheBackend}.
+ */
+public class InMemoryCacheDispatcher extends Dispatcher {
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+
+    private final Moshi moshi = new Moshi.Builder().build();
+    private final JsonAdapter<List<String>> keysAdapter = this.moshi.adapter(Types.newParameterizedType(List.class, String.class));
+    private final JsonAdapter<Map<String, String>> entriesAdapter = this.moshi.adapter(Types.newParameterizedType(Map.class, String.class, String.class));
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public Long getTtl(final String namespace, final String key) {
+        return this.ttls.get(namespace + "/" + key);
+    }
+
+    @Override
+    @SneakyThrows
+    public MockResponse dispatch(final RecordedRequest request) {
+        final HttpUrl url = request.getRequestUrl();
+        final List<String> segments = url.pathSegments();
+        final String namespace = segments.get(0);
+        final String action = segments.get(1);
+
+        if ("DELETE".equals(request.getMethod())) {
+            this.entries.remove(namespace + "/" + action);
+            return new MockResponse();
+        }
+
+        if ("get".equals(action)) {
+            final Map<String, String> found = new HashMap<>();
+            for (final String key : this.keysAdapter.fromJson(request.getBody().readUtf8())) {
+                final String value = this.entries.get(namespace + "/" + key);
+                if (value != null) {
+                    found.put(key, value);
+                }
+            }
+            return new MockResponse().setBody(this.entriesAdapter.toJson(found));
+        }
+
+        if ("put".equals(action)) {
+            final long ttl = Long.parseLong(url.queryParameter("ttl"));
+            this.entriesAdapter.fromJson(request.getBody().readUtf8()).forEach((key, value) -> {
+                this.entries.put(namespace + "/" + key, value);
+                this.ttls.put(namespace + "/" + key, ttl);
+            });
+            return new MockResponse();
+        }
+
+        return new MockResponse().setResponseCode(404);
+    }
+}
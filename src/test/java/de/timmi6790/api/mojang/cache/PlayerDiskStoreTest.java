@@ -0,0 +1,218 @@
+package de.timmi6790.api.mojang.cache;
+
+import de.timmi6790.api.mojang.models.PlayerInfo;
+import de.timmi6790.api.mojang.models.PlayerProfile;
+import de.timmi6790.api.mojang.models.ProfileProperty;
+import de.timmi6790.api.mojang.models.Textures;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlayerDiskStoreTest {
+    private static final UUID PLAYER_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+    private static final String SKIN = "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvc2tpbiJ9fX0=";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @SneakyThrows
+    void reopen() {
+        final Path path = this.tempDir.resolve("players.bin");
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+            store.putPlayerInfo("timmi6790", new PlayerInfo(PLAYER_UUID, "Timmi6790"));
+            // Later records replace earlier ones
+            store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi"));
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.getPlayerProfile(PLAYER_UUID))
+                    .hasValueSatisfying(profile -> assertThat(profile.getName()).isEqualTo("Timmi"));
+            assertThat(store.getPlayerInfo("timmi6790"))
+                    .contains(new PlayerInfo(PLAYER_UUID, "Timmi6790"));
+            assertThat(store.getPlayerInfo("Timmi6790")).isNotPresent();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void reopen_properties() {
+        final Path path = this.tempDir.resolve("players.bin");
+        final PlayerProfile playerProfile = new PlayerProfile(
+                PLAYER_UUID,
+                "Timmi6790",
+                Arrays.asList(new ProfileProperty("other", "e30=", null), new ProfileProperty(Textures.PROPERTY_NAME, SKIN, "signature"))
+        );
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            store.putPlayerProfile(playerProfile);
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            assertThat(store.getPlayerProfile(PLAYER_UUID)).hasValueSatisfying(profile -> {
+                assertThat(profile).isEqualTo(playerProfile);
+                assertThat(profile.getProperty(Textures.PROPERTY_NAME).flatMap(ProfileProperty::getSignature)).contains("signature");
+                assertThat(profile.getProperty("other").flatMap(ProfileProperty::getSignature)).isNotPresent();
+                assertThat(profile.getTextures().flatMap(Textures::getSkinUrl)).contains("http://textures.minecraft.net/texture/skin");
+            });
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void version_without_properties() {
+        final Path path = this.tempDir.resolve("players.bin");
+        try (final DataOutputStream output = new DataOutputStream(Files.newOutputStream(path))) {
+            output.writeInt(0x4D4A4353);
+            output.writeByte(1);
+            for (final int type : new int[]{1, 2}) {
+                output.writeByte(type);
+                output.writeLong(System.currentTimeMillis());
+                output.writeLong(PLAYER_UUID.getMostSignificantBits());
+                output.writeLong(PLAYER_UUID.getLeastSignificantBits());
+                output.writeUTF("Timmi6790");
+                if (type == 2) {
+                    output.writeUTF("timmi6790");
+                }
+            }
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            // The profiles were stored without their properties
+            assertThat(store.getPlayerProfile(PLAYER_UUID)).isNotPresent();
+            assertThat(store.getPlayerInfo("timmi6790")).contains(new PlayerInfo(PLAYER_UUID, "Timmi6790"));
+
+            store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void expired_entries() {
+        final Path path = this.tempDir.resolve("players.bin");
+        final AtomicLong clock = new AtomicLong(1_000);
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofMillis(100), clock::get)) {
+            store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+            assertThat(store.getPlayerProfile(PLAYER_UUID)).isPresent();
+
+            clock.addAndGet(101);
+            assertThat(store.getPlayerProfile(PLAYER_UUID)).isNotPresent();
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofMillis(100), clock::get)) {
+            assertThat(store.size()).isZero();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void incomplete_record() {
+        final Path path = this.tempDir.resolve("players.bin");
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+        }
+        final long validSize = Files.size(path);
+
+        // Simulate a crash in the middle of a write
+        try (final OutputStream output = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+            output.write(new byte[]{1, 0, 0, 0});
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            assertThat(store.getPlayerProfile(PLAYER_UUID)).isPresent();
+            assertThat(Files.size(path)).isEqualTo(validSize);
+
+            store.putPlayerProfile(new PlayerProfile(UUID.randomUUID(), "mwmy"));
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void corrupt_record() {
+        final Path path = this.tempDir.resolve("players.bin");
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+        }
+        final long validSize = Files.size(path);
+
+        // Unknown record type
+        try (final OutputStream output = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+            output.write(new byte[]{9, 0, 0, 0, 0, 0, 0, 0, 0});
+        }
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            assertThat(store.getPlayerProfile(PLAYER_UUID)).isPresent();
+            assertThat(Files.size(path)).isEqualTo(validSize);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void closed() {
+        final Path path = this.tempDir.resolve("players.bin");
+        final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1));
+        store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+        store.close();
+
+        assertThatThrownBy(() -> store.putPlayerInfo("timmi6790", new PlayerInfo(PLAYER_UUID, "Timmi6790")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("is closed");
+        assertThat(store.getPlayerProfile(PLAYER_UUID)).isPresent();
+    }
+
+    @Test
+    @SneakyThrows
+    void compact() {
+        final Path path = this.tempDir.resolve("players.bin");
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            for (int index = 0; 100 > index; index++) {
+                store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi" + index));
+            }
+            final long uncompactedSize = Files.size(path);
+
+            store.compact();
+            assertThat(Files.size(path)).isLessThan(uncompactedSize);
+            assertThat(store.getPlayerProfile(PLAYER_UUID))
+                    .hasValueSatisfying(profile -> assertThat(profile.getName()).isEqualTo("Timmi99"));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void invalid_format() {
+        final Path path = this.tempDir.resolve("players.bin");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6});
+
+        try (final PlayerDiskStore store = new PlayerDiskStore(path, Duration.ofDays(1))) {
+            assertThatThrownBy(() -> store.getPlayerProfile(PLAYER_UUID))
+                    .hasMessageContaining("Unsupported player store format");
+            // The file is not read again for every lookup
+            assertThat(store.getPlayerProfile(PLAYER_UUID)).isNotPresent();
+            assertThatThrownBy(() -> store.putPlayerProfile(new PlayerProfile(PLAYER_UUID, "Timmi6790"))).isInstanceOf(IOException.class);
+        }
+        assertThat(Files.readAllBytes(path)).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+}
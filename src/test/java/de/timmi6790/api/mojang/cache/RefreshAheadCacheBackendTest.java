@@ -0,0 +1,127 @@
+package de.timmi6790.api.mojang.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshAheadCacheBackendTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<Collection<String>> refreshes = new ArrayList<>();
+    private CompletableFuture<Void> refreshFuture = CompletableFuture.completedFuture(null);
+
+    private RefreshAheadCacheBackend<String, String> createBackend(final int minimumHits, final int maximumTrackedKeys) {
+        return new RefreshAheadCacheBackend<>(
+                new CaffeineCacheBackend<>(new CacheSettings<String, String>().buildCache(null)),
+                Duration.ofMinutes(10),
+                Duration.ofMinutes(1),
+                minimumHits,
+                maximumTrackedKeys,
+                keys -> {
+                    this.refreshes.add(keys);
+                    return this.refreshFuture;
+                },
+                this.nanoTime::get
+        );
+    }
+
+    private void advance(final Duration duration) {
+        this.nanoTime.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void refreshDueEntries_hot_entries() {
+        final RefreshAheadCacheBackend<String, String> backend = this.createBackend(2, 100);
+        backend.put("hot", "value");
+        backend.put("cold", "value");
+        backend.get("hot");
+        backend.getAll(Arrays.asList("hot", "cold"));
+
+        // Outside of the refresh window
+        assertThat(backend.refreshDueEntries()).isEmpty();
+
+        this.advance(Duration.ofMinutes(9).plusSeconds(30));
+        assertThat(backend.refreshDueEntries()).containsExactly("hot");
+        assertThat(this.refreshes).hasSize(1);
+    }
+
+    @Test
+    void refreshDueEntries_write_resets_entry() {
+        final RefreshAheadCacheBackend<String, String> backend = this.createBackend(1, 100);
+        backend.put("key", "value");
+        backend.get("key");
+        this.advance(Duration.ofMinutes(9).plusSeconds(30));
+
+        // The refreshed value starts a new time to live without hits
+        backend.put("key", "newValue");
+        assertThat(backend.refreshDueEntries()).isEmpty();
+
+        this.advance(Duration.ofMinutes(9).plusSeconds(30));
+        backend.get("key");
+        assertThat(backend.refreshDueEntries()).containsExactly("key");
+    }
+
+    @Test
+    void refreshDueEntries_running_refresh() {
+        this.refreshFuture = new CompletableFuture<>();
+        final RefreshAheadCacheBackend<String, String> backend = this.createBackend(1, 100);
+        backend.put("key", "value");
+        backend.get("key");
+        this.advance(Duration.ofMinutes(9).plusSeconds(30));
+
+        assertThat(backend.refreshDueEntries()).containsExactly("key");
+        assertThat(backend.refreshDueEntries()).isEmpty();
+
+        // A refresh that didn't store the key is retried
+        this.refreshFuture.complete(null);
+        assertThat(backend.refreshDueEntries()).containsExactly("key");
+    }
+
+    @Test
+    void refreshDueEntries_drops_expired() {
+        final RefreshAheadCacheBackend<String, String> backend = this.createBackend(1, 100);
+        backend.put("key", "value");
+        backend.put("short", "value", Duration.ofSeconds(30));
+        backend.get("key");
+        backend.get("short");
+        assertThat(backend.getTrackedKeyCount()).isEqualTo(2);
+
+        this.advance(Duration.ofSeconds(31));
+        assertThat(backend.refreshDueEntries()).isEmpty();
+        assertThat(backend.getTrackedKeyCount()).isEqualTo(1);
+
+        backend.invalidate("key");
+        assertThat(backend.getTrackedKeyCount()).isZero();
+        assertThat(backend.get("key")).isNotPresent();
+    }
+
+    @Test
+    void maximumTrackedKeys() {
+        final RefreshAheadCacheBackend<String, String> backend = this.createBackend(0, 1);
+        backend.put("a", "value");
+        backend.put("b", "value");
+
+        assertThat(backend.getTrackedKeyCount()).isEqualTo(1);
+        assertThat(backend.get("b")).contains("value");
+    }
+
+    @Test
+    void refresh_ahead_longer_than_ttl() {
+        assertThatThrownBy(() -> new RefreshAheadCacheBackend<String, String>(
+                new CaffeineCacheBackend<>(new CacheSettings<String, String>().buildCache(null)),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(1),
+                1,
+                100,
+                keys -> CompletableFuture.completedFuture(null)
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package de.timmi6790.api.mojang.history;
+
+import de.timmi6790.api.mojang.models.NameEntry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameHistoryIndexTest {
+    private static final UUID FIRST_PLAYER = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+    private static final UUID SECOND_PLAYER = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    private static final Instant FIRST_CHANGE = Instant.parse("2016-01-01T00:00:00Z");
+    private static final Instant SECOND_CHANGE = Instant.parse("2018-06-01T12:00:00Z");
+
+    private static LocalDateTime toLocalDateTime(final Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private NameHistoryIndex createIndex() {
+        final NameHistoryIndex index = new NameHistoryIndex();
+        index.update(FIRST_PLAYER, Arrays.asList(
+                new NameEntry("Original", LocalDateTime.MIN),
+                new NameEntry("Shared", toLocalDateTime(FIRST_CHANGE)),
+                new NameEntry("Timmi6790", toLocalDateTime(SECOND_CHANGE))
+        ));
+        index.update(SECOND_PLAYER, Arrays.asList(
+                new NameEntry("Other", LocalDateTime.MIN),
+                new NameEntry("shared", toLocalDateTime(SECOND_CHANGE.plusSeconds(60)))
+        ));
+        return index;
+    }
+
+    @Test
+    void getName() {
+        final NameHistoryIndex index = this.createIndex();
+
+        assertThat(index.getName(FIRST_PLAYER, Instant.EPOCH)).contains("Original");
+        assertThat(index.getName(FIRST_PLAYER, FIRST_CHANGE)).contains("Shared");
+        assertThat(index.getName(FIRST_PLAYER, SECOND_CHANGE.minusMillis(1))).contains("Shared");
+        assertThat(index.getName(FIRST_PLAYER, Instant.now())).contains("Timmi6790");
+        assertThat(index.getName(UUID.randomUUID(), Instant.now())).isEmpty();
+    }
+
+    @Test
+    void getOwner() {
+        final NameHistoryIndex index = this.createIndex();
+
+        assertThat(index.getOwner("shared", FIRST_CHANGE.minusMillis(1))).isEmpty();
+        assertThat(index.getOwner("SHARED", FIRST_CHANGE)).contains(FIRST_PLAYER);
+        // Released by the first player and claimed again a minute later
+        assertThat(index.getOwner("shared", SECOND_CHANGE.plusSeconds(30))).isEmpty();
+        assertThat(index.getOwner("shared", Instant.now())).contains(SECOND_PLAYER);
+        assertThat(index.getOwner("Original", Instant.EPOCH)).contains(FIRST_PLAYER);
+        assertThat(index.getOwner("Original", Instant.now())).isEmpty();
+    }
+
+    @Test
+    void update_replaces_history() {
+        final NameHistoryIndex index = this.createIndex();
+        index.update(FIRST_PLAYER, Collections.singletonList(new NameEntry("Renamed", LocalDateTime.MIN)));
+
+        assertThat(index.getName(FIRST_PLAYER, Instant.now())).contains("Renamed");
+        assertThat(index.getOwner("Timmi6790", Instant.now())).isEmpty();
+        assertThat(index.getOwner("Renamed", Instant.now())).contains(FIRST_PLAYER);
+
+        index.remove(FIRST_PLAYER);
+        assertThat(index.getOwner("Renamed", Instant.now())).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @SneakyThrows
+    void save(@TempDir final Path tempDir) {
+        final Path path = tempDir.resolve("names.bin");
+        this.createIndex().save(path);
+
+        final NameHistoryIndex index = NameHistoryIndex.load(path);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.getName(FIRST_PLAYER, Instant.EPOCH)).contains("Original");
+        assertThat(index.getName(FIRST_PLAYER, SECOND_CHANGE)).contains("Timmi6790");
+        assertThat(index.getOwner("shared", FIRST_CHANGE)).contains(FIRST_PLAYER);
+        assertThat(index.getOwner("shared", Instant.now())).contains(SECOND_PLAYER);
+    }
+}
@@ -0,0 +1,43 @@
+package de.timmi6790.api.mojang.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+    @Test
+    void empty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMean()).isEqualTo(Duration.ZERO);
+        assertThat(histogram.getPercentile(0.99)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void record() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int index = 1; 100 >= index; index++) {
+            histogram.record(index * 1_000L);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getTotal()).isEqualTo(Duration.ofNanos(5_050_000));
+        assertThat(histogram.getMean()).isEqualTo(Duration.ofNanos(50_500));
+        assertThat(histogram.getMax()).isEqualTo(Duration.ofNanos(100_000));
+
+        // Percentiles are reported within a factor of two
+        assertThat(histogram.getPercentile(0.5).toNanos()).isBetween(50_000L, 100_000L);
+        assertThat(histogram.getPercentile(0.99).toNanos()).isBetween(99_000L, 100_000L);
+        assertThat(histogram.getPercentile(1)).isEqualTo(Duration.ofNanos(100_000));
+    }
+
+    @Test
+    void record_negative() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertThat(histogram.getCount()).isEqualTo(1);
+        assertThat(histogram.getMax()).isEqualTo(Duration.ZERO);
+    }
+}
@@ -0,0 +1,95 @@
+package de.timmi6790.api.mojang.models;
+
+import lombok.SneakyThrows;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockedServersTest {
+    @SneakyThrows
+    private String sha1(final String value) {
+        final byte[] hash = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder hex = new StringBuilder();
+        for (final byte part : hash) {
+            hex.append(String.format("%02x", part));
+        }
+        return hex.toString();
+    }
+
+    @SneakyThrows
+    private BlockedServers parse(final String... lines) {
+        final StringJoiner body = new StringJoiner("\n");
+        for (final String line : lines) {
+            body.add(line);
+        }
+        return BlockedServers.parse(new Buffer().writeUtf8(body.toString()));
+    }
+
+    @Test
+    @SneakyThrows
+    void parse() {
+        final BlockedServers blockedServers = this.parse(
+                "c5c03d9bad5c5ad25deb64600b9cd900312d4d74",
+                " 72FD29F430C91C583BB7216FE673191DC25A7E18\r",
+                "",
+                "invalid",
+                "c5c03d9bad5c5ad25deb64600b9cd900312d4d7",
+                "c5c03d9bad5c5ad25deb64600b9cd900312d4d74"
+        );
+
+        assertThat(blockedServers.size()).isEqualTo(2);
+        assertThat(blockedServers.containsHash("c5c03d9bad5c5ad25deb64600b9cd900312d4d74")).isTrue();
+        assertThat(blockedServers.containsHash("72fd29f430c91c583bb7216fe673191dc25a7e18")).isTrue();
+        assertThat(blockedServers.containsHash("e38e82a54b47c7c5394670bb34b3aa941219959b")).isFalse();
+        assertThat(blockedServers.containsHash("invalid")).isFalse();
+    }
+
+    @Test
+    @SneakyThrows
+    void parse_large() {
+        final String[] lines = new String[10_000];
+        for (int index = 0; lines.length > index; index++) {
+            lines[index] = this.sha1("server" + index);
+        }
+
+        final BlockedServers blockedServers = this.parse(lines);
+        assertThat(blockedServers.size()).isEqualTo(lines.length);
+        for (final String line : lines) {
+            assertThat(blockedServers.containsHash(line)).isTrue();
+        }
+        assertThat(blockedServers.containsHash(this.sha1("server-1"))).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"play.example.com", "PLAY.Example.com", "mc.play.example.com", "play.example.com:25565", " play.example.com. "})
+    void isServerBlocked_wildcard(final String address) {
+        final BlockedServers blockedServers = this.parse(this.sha1("*.example.com"));
+        assertThat(blockedServers.isServerBlocked(address)).isTrue();
+    }
+
+    @Test
+    void isServerBlocked_host() {
+        final BlockedServers blockedServers = this.parse(this.sha1("play.example.com"));
+        assertThat(blockedServers.isServerBlocked("play.example.com")).isTrue();
+        assertThat(blockedServers.isServerBlocked("example.com")).isFalse();
+        assertThat(blockedServers.isServerBlocked("other.example.com")).isFalse();
+        assertThat(blockedServers.isServerBlocked("")).isFalse();
+    }
+
+    @Test
+    void isServerBlocked_ip() {
+        final BlockedServers blockedServers = this.parse(this.sha1("10.20.*"), this.sha1("192.168.0.1"));
+        assertThat(blockedServers.isServerBlocked("192.168.0.1")).isTrue();
+        assertThat(blockedServers.isServerBlocked("192.168.0.2")).isFalse();
+        assertThat(blockedServers.isServerBlocked("10.20.30.40")).isTrue();
+        assertThat(blockedServers.isServerBlocked("10.20.30.40:25565")).isTrue();
+        assertThat(blockedServers.isServerBlocked("10.21.30.40")).isFalse();
+    }
+}
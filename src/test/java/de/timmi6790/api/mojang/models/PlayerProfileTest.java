@@ -0,0 +1,60 @@
+package de.timmi6790.api.mojang.models;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerProfileTest {
+    private static final UUID PLAYER_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+    private static final String SKIN_AND_CAPE = "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvc2tpbiIsIm1ldGFkYXRhIjp7Im1vZGVsIjoiY2xhc3NpYyJ9fSwiQ0FQRSI6eyJ1cmwiOiJodHRwOi8vdGV4dHVyZXMubWluZWNyYWZ0Lm5ldC90ZXh0dXJlL2NhcGUifX19";
+
+    @Test
+    @SneakyThrows
+    void textures_parse() {
+        final Textures textures = Textures.parse(SKIN_AND_CAPE);
+        assertThat(textures.getSkinUrl()).contains("http://textures.minecraft.net/texture/skin");
+        assertThat(textures.getSkinModel()).isEqualTo(Textures.SkinModel.CLASSIC);
+        assertThat(textures.getCapeUrl()).contains("http://textures.minecraft.net/texture/cape");
+    }
+
+    @Test
+    void getTextures_lazy() {
+        final PlayerProfile playerProfile = new PlayerProfile(
+                PLAYER_UUID,
+                "Timmi6790",
+                Arrays.asList(new ProfileProperty("other", "e30=", null), new ProfileProperty(Textures.PROPERTY_NAME, SKIN_AND_CAPE, "signature"))
+        );
+
+        assertThat(playerProfile.getProperty(Textures.PROPERTY_NAME).flatMap(ProfileProperty::getSignature)).contains("signature");
+        assertThat(playerProfile.getTextures()).isPresent();
+        // Decoded once
+        assertThat(playerProfile.getTextures().get()).isSameAs(playerProfile.getTextures().get());
+    }
+
+    @Test
+    void getTextures_missing_or_invalid() {
+        assertThat(new PlayerProfile(PLAYER_UUID, "Timmi6790").getTextures()).isEmpty();
+
+        final PlayerProfile invalidProfile = new PlayerProfile(
+                PLAYER_UUID,
+                "Timmi6790",
+                Collections.singletonList(new ProfileProperty(Textures.PROPERTY_NAME, "not base64!", null))
+        );
+        assertThat(invalidProfile.getTextures()).isEmpty();
+    }
+
+    @Test
+    void equals_ignores_decoded_textures() {
+        final PlayerProfile first = new PlayerProfile(PLAYER_UUID, "Timmi6790", Collections.singletonList(new ProfileProperty(Textures.PROPERTY_NAME, SKIN_AND_CAPE, null)));
+        final PlayerProfile second = new PlayerProfile(PLAYER_UUID, "Timmi6790", Collections.singletonList(new ProfileProperty(Textures.PROPERTY_NAME, SKIN_AND_CAPE, null)));
+        first.getTextures();
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(first).isNotEqualTo(new PlayerProfile(PLAYER_UUID, "Timmi6790"));
+    }
+}
@@ -0,0 +1,193 @@
+package de.timmi6790.api.mojang.ratelimit;
+
+import lombok.SneakyThrows;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitInterceptorTest {
+    private OkHttpClient getHttpClient(final RateLimiter rateLimiter, final int maxRetries) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new RateLimitInterceptor(rateLimiter, maxRetries, Duration.ofMillis(10), Duration.ofMillis(50)))
+                .build();
+    }
+
+    private CompletableFuture<Response> enqueue(final RateLimiter rateLimiter, final int maxRetries, final Request request) {
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, maxRetries, Duration.ofMillis(10), Duration.ofMillis(50));
+        final OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .build();
+        return interceptor.enqueue(request, admittedRequest -> {
+            final CompletableFuture<Response> responseFuture = new CompletableFuture<>();
+            httpClient.newCall(admittedRequest).enqueue(new Callback() {
+                @Override
+                public void onFailure(final Call call, final IOException e) {
+                    responseFuture.completeExceptionally(e);
+                }
+
+                @Override
+                public void onResponse(final Call call, final Response response) {
+                    responseFuture.complete(response);
+                }
+            });
+            return responseFuture;
+        });
+    }
+
+    @Test
+    @SneakyThrows
+    void intercept_retry_after_429() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+            server.enqueue(new MockResponse().setResponseCode(429));
+            server.enqueue(new MockResponse().setBody("ok"));
+
+            final OkHttpClient httpClient = this.getHttpClient(new RateLimiter(), 3);
+            try (final Response response = httpClient.newCall(new Request.Builder().url(server.url("/")).build()).execute()) {
+                assertThat(response.isSuccessful()).isTrue();
+                assertThat(response.body().string()).isEqualTo("ok");
+            }
+            assertThat(server.getRequestCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void intercept_retries_exhausted() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+
+            final OkHttpClient httpClient = this.getHttpClient(new RateLimiter(), 1);
+            final Request request = new Request.Builder().url(server.url("/")).build();
+            assertThatThrownBy(() -> httpClient.newCall(request).execute())
+                    .isInstanceOf(RateLimitedException.class);
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void intercept_rejected_by_budget() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("ok"));
+
+            final RateLimiter rateLimiter = new RateLimiter()
+                    .setBudget(server.getHostName(), 1, Duration.ofMinutes(10))
+                    .setMaxQueueTime(Duration.ofMillis(100));
+            final OkHttpClient httpClient = this.getHttpClient(rateLimiter, 0);
+            final Request request = new Request.Builder().url(server.url("/")).build();
+
+            httpClient.newCall(request).execute().close();
+            // The budget is used up, the second request is rejected before it reaches the server
+            assertThatThrownBy(() -> httpClient.newCall(request).execute())
+                    .isInstanceOf(RateLimitedException.class);
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void enqueue_retry_after_429() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+            server.enqueue(new MockResponse().setResponseCode(429));
+            server.enqueue(new MockResponse().setBody("ok"));
+
+            final Request request = new Request.Builder().url(server.url("/")).build();
+            try (final Response response = this.enqueue(new RateLimiter(), 3, request).get()) {
+                assertThat(response.isSuccessful()).isTrue();
+                assertThat(response.body().string()).isEqualTo("ok");
+            }
+            assertThat(server.getRequestCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void enqueue_retries_exhausted() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+
+            final Request request = new Request.Builder().url(server.url("/")).build();
+            assertThatThrownBy(() -> this.enqueue(new RateLimiter(), 1, request).get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RateLimitedException.class);
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void enqueue_waits_for_budget() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("ok"));
+            server.enqueue(new MockResponse().setBody("ok"));
+
+            final RateLimiter rateLimiter = new RateLimiter()
+                    .setBudget(server.getHostName(), 1, Duration.ofMillis(300))
+                    .setMaxQueueTime(Duration.ofSeconds(5));
+            final Request request = new Request.Builder().url(server.url("/")).build();
+
+            this.enqueue(rateLimiter, 0, request).get().close();
+            final long start = System.nanoTime();
+            final CompletableFuture<Response> waiting = this.enqueue(rateLimiter, 0, request);
+            // The wait is scheduled, the caller is never blocked by it
+            assertThat(System.nanoTime() - start).isLessThan(Duration.ofMillis(100).toNanos());
+            assertThat(waiting).isNotDone();
+
+            waiting.get().close();
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void enqueue_rejected_by_budget() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("ok"));
+
+            final RateLimiter rateLimiter = new RateLimiter()
+                    .setBudget(server.getHostName(), 1, Duration.ofMinutes(10))
+                    .setMaxQueueTime(Duration.ofMillis(100));
+            final Request request = new Request.Builder().url(server.url("/")).build();
+
+            this.enqueue(rateLimiter, 0, request).get().close();
+            assertThatThrownBy(() -> this.enqueue(rateLimiter, 0, request).get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RateLimitedException.class);
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void getRetryAfter() {
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(new RateLimiter());
+        final Response response = new Response.Builder()
+                .request(new Request.Builder().url("https://api.mojang.com").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(429)
+                .message("Too Many Requests")
+                .header("Retry-After", "120")
+                .build();
+
+        assertThat(interceptor.getRetryAfter(response)).isEqualTo(Duration.ofSeconds(120));
+        // The backoff never undercuts the server provided retry after
+        assertThat(interceptor.getBackoff(0, Duration.ofSeconds(120))).isEqualTo(Duration.ofSeconds(120));
+    }
+}
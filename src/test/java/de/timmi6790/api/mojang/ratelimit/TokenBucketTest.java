@@ -0,0 +1,67 @@
+package de.timmi6790.api.mojang.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void reserve() {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(2), clock::get);
+
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.getAvailableTokens()).isZero();
+
+        // Queued reservations wait for their own token
+        assertThat(bucket.reserve(Long.MAX_VALUE)).isEqualTo(SECOND);
+        assertThat(bucket.reserve(Long.MAX_VALUE)).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    void reserve_max_wait() {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(1, Duration.ofSeconds(1), clock::get);
+
+        assertThat(bucket.reserve(0)).isZero();
+        assertThat(bucket.reserve(SECOND / 2)).isEqualTo(-1);
+
+        clock.addAndGet(SECOND / 2);
+        assertThat(bucket.reserve(SECOND / 2)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void refill() {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(10), clock::get);
+        for (int index = 0; 10 > index; index++) {
+            assertThat(bucket.reserve(0)).isZero();
+        }
+
+        clock.addAndGet(3 * SECOND);
+        assertThat(bucket.getAvailableTokens()).isEqualTo(3);
+
+        // Never refills above the capacity
+        clock.addAndGet(60 * SECOND);
+        assertThat(bucket.getAvailableTokens()).isEqualTo(10);
+    }
+
+    @Test
+    void blockFor() {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(10), clock::get);
+
+        bucket.blockFor(Duration.ofSeconds(5));
+        assertThat(bucket.reserve(Long.MAX_VALUE)).isEqualTo(5 * SECOND);
+
+        clock.addAndGet(5 * SECOND);
+        assertThat(bucket.reserve(0)).isZero();
+    }
+}
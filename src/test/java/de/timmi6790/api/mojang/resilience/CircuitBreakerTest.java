@@ -0,0 +1,120 @@
+package de.timmi6790.api.mojang.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static CircuitBreaker.Permit acquire(final CircuitBreaker circuitBreaker) {
+        return circuitBreaker.tryAcquire().orElseThrow(AssertionError::new);
+    }
+
+    @Test
+    void onFailure_opens_at_threshold() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(10), clock::get);
+
+        acquire(circuitBreaker).onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        acquire(circuitBreaker).onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isNotPresent();
+
+        clock.addAndGet(4 * SECOND);
+        assertThat(circuitBreaker.getRemainingOpenTime()).isEqualTo(Duration.ofSeconds(6));
+    }
+
+    @Test
+    void onSuccess_resets_failures() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(10), clock::get);
+
+        acquire(circuitBreaker).onFailure();
+        acquire(circuitBreaker).onSuccess();
+        acquire(circuitBreaker).onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void onFailure_counts_once() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(10), clock::get);
+
+        final CircuitBreaker.Permit permit = acquire(circuitBreaker);
+        permit.onFailure();
+        permit.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void tryAcquire_half_open_single_trial() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(10), clock::get);
+        acquire(circuitBreaker).onFailure();
+
+        clock.addAndGet(10 * SECOND);
+        final CircuitBreaker.Permit trial = acquire(circuitBreaker);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isNotPresent();
+
+        // A failed trial opens the circuit again
+        trial.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isNotPresent();
+
+        clock.addAndGet(10 * SECOND);
+        acquire(circuitBreaker).onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isPresent();
+    }
+
+    @Test
+    void release_allows_new_trial() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(10), clock::get);
+        acquire(circuitBreaker).onFailure();
+        clock.addAndGet(10 * SECOND);
+
+        acquire(circuitBreaker).release();
+        assertThat(circuitBreaker.tryAcquire()).isPresent();
+    }
+
+    @Test
+    void half_open_ignores_older_calls() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(10), clock::get);
+        final CircuitBreaker.Permit olderCall = acquire(circuitBreaker);
+        final CircuitBreaker.Permit canceledCall = acquire(circuitBreaker);
+        acquire(circuitBreaker).onFailure();
+        clock.addAndGet(10 * SECOND);
+
+        final CircuitBreaker.Permit trial = acquire(circuitBreaker);
+        // Calls from before the circuit opened don't decide the trial
+        canceledCall.release();
+        assertThat(circuitBreaker.tryAcquire()).isNotPresent();
+        olderCall.onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        trial.onFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void open_ignores_older_failures() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(10), clock::get);
+        final CircuitBreaker.Permit olderCall = acquire(circuitBreaker);
+        acquire(circuitBreaker).onFailure();
+
+        clock.addAndGet(9 * SECOND);
+        olderCall.onFailure();
+        assertThat(circuitBreaker.getRemainingOpenTime()).isEqualTo(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,57 @@
+package de.timmi6790.api.mojang.resilience;
+
+import lombok.SneakyThrows;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgedRequestsTest {
+    @Test
+    @SneakyThrows
+    void execute_slow_primary() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(2, TimeUnit.SECONDS));
+            server.enqueue(new MockResponse().setBody("fast"));
+
+            final HedgedRequests hedgedRequests = new HedgedRequests(0.95, Duration.ofMillis(50), Duration.ofMillis(50), 20);
+            final Request request = new Request.Builder().url(server.url("/profile")).build();
+            try (final Response response = hedgedRequests.execute(new OkHttpClient(), request).get(4, TimeUnit.SECONDS)) {
+                assertThat(response.body().string()).isEqualTo("fast");
+            }
+            assertThat(server.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void execute_fast_primary() {
+        try (final MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("fast"));
+
+            final HedgedRequests hedgedRequests = new HedgedRequests(0.95, Duration.ofMillis(50), Duration.ofSeconds(1), 20);
+            final Request request = new Request.Builder().url(server.url("/profile")).build();
+            try (final Response response = hedgedRequests.execute(new OkHttpClient(), request).get(4, TimeUnit.SECONDS)) {
+                assertThat(response.body().string()).isEqualTo("fast");
+            }
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void recordLatency_percentile() {
+        final HedgedRequests hedgedRequests = new HedgedRequests(0.5, Duration.ofMillis(1), Duration.ofSeconds(1), 16);
+        for (int index = 1; 16 >= index; index++) {
+            hedgedRequests.recordLatency(TimeUnit.MILLISECONDS.toNanos(index * 10L));
+        }
+
+        assertThat(hedgedRequests.getDelay()).isEqualTo(Duration.ofMillis(80));
+    }
+}
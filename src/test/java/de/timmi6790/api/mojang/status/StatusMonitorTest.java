@@ -0,0 +1,126 @@
+package de.timmi6790.api.mojang.status;
+
+import de.timmi6790.api.mojang.models.Status;
+import lombok.SneakyThrows;
+import okhttp3.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusMonitorTest {
+    private Map<String, Status> getStatuses(final Status sessionServerStatus) {
+        final Map<String, Status> statuses = new HashMap<>();
+        statuses.put("api.mojang.com", Status.GREEN);
+        statuses.put("sessionserver.mojang.com", sessionServerStatus);
+        statuses.put("unknown.mojang.com", Status.GREEN);
+        return statuses;
+    }
+
+    @Test
+    void poll() {
+        final Deque<Optional<Map<String, Status>>> responses = new ArrayDeque<>();
+        responses.add(Optional.of(this.getStatuses(Status.GREEN)));
+        responses.add(Optional.empty());
+        responses.add(Optional.of(this.getStatuses(Status.RED)));
+
+        final List<StatusChangeEvent> events = new ArrayList<>();
+        try (final StatusMonitor statusMonitor = new StatusMonitor(responses::poll, Duration.ofHours(1))) {
+            statusMonitor.addListener(events::add);
+            assertThat(statusMonitor.getSnapshot().getStatuses()).isEmpty();
+
+            assertThat(statusMonitor.poll()).isTrue();
+            assertThat(statusMonitor.getSnapshot().getStatuses())
+                    .containsOnlyKeys(Service.API, Service.SESSION_SERVER);
+            assertThat(events).containsExactlyInAnyOrder(
+                    new StatusChangeEvent(Service.API, null, Status.GREEN),
+                    new StatusChangeEvent(Service.SESSION_SERVER, null, Status.GREEN)
+            );
+            events.clear();
+
+            // Failed polls keep the last snapshot
+            assertThat(statusMonitor.poll()).isFalse();
+            assertThat(statusMonitor.getSnapshot().getStatus(Service.SESSION_SERVER)).contains(Status.GREEN);
+
+            assertThat(statusMonitor.poll()).isTrue();
+            assertThat(statusMonitor.getSnapshot().isUnavailable(Service.SESSION_SERVER)).isTrue();
+            assertThat(events).containsExactly(new StatusChangeEvent(Service.SESSION_SERVER, Status.GREEN, Status.RED));
+        }
+    }
+
+    @Test
+    void poll_exception() {
+        try (final StatusMonitor statusMonitor = new StatusMonitor(() -> {
+            throw new IllegalStateException();
+        }, Duration.ofHours(1))) {
+            assertThat(statusMonitor.poll()).isFalse();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void start() {
+        try (final StatusMonitor statusMonitor = new StatusMonitor(() -> Optional.of(this.getStatuses(Status.YELLOW)), Duration.ofMillis(10))) {
+            statusMonitor.start();
+
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (statusMonitor.getSnapshot().getStatuses().isEmpty() && deadline > System.nanoTime()) {
+                Thread.sleep(5);
+            }
+            assertThat(statusMonitor.getSnapshot().getStatus(Service.SESSION_SERVER)).contains(Status.YELLOW);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void statusInterceptor() {
+        try (final StatusMonitor statusMonitor = new StatusMonitor(() -> Optional.of(this.getStatuses(Status.RED)), Duration.ofHours(1))) {
+            statusMonitor.poll();
+
+            final OkHttpClient httpClient = new OkHttpClient.Builder()
+                    .addInterceptor(new StatusInterceptor(statusMonitor))
+                    .addInterceptor(chain -> new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create("", null))
+                            .build())
+                    .build();
+
+            assertThatThrownBy(() -> this.execute(httpClient, "https://sessionserver.mojang.com/session/minecraft/profile/test"))
+                    .isInstanceOfSatisfying(ServiceUnavailableException.class, exception -> assertThat(exception.getService()).isEqualTo(Service.SESSION_SERVER));
+            assertThat(this.execute(httpClient, "https://api.mojang.com/users/profiles/minecraft/test")).isEqualTo(200);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    void isUnavailable_outdated_snapshot() {
+        final Deque<Optional<Map<String, Status>>> responses = new ArrayDeque<>();
+        responses.add(Optional.of(this.getStatuses(Status.RED)));
+        responses.add(Optional.empty());
+
+        try (final StatusMonitor statusMonitor = new StatusMonitor(responses::poll, Duration.ofMillis(100))) {
+            statusMonitor.poll();
+            assertThat(statusMonitor.isUnavailable(Service.SESSION_SERVER)).isTrue();
+            assertThat(statusMonitor.isUnavailable(Service.API)).isFalse();
+
+            // The polls fail from now on, the red status must not block the service forever
+            assertThat(statusMonitor.poll()).isFalse();
+            Thread.sleep(400);
+            assertThat(statusMonitor.getSnapshot().isUnavailable(Service.SESSION_SERVER)).isTrue();
+            assertThat(statusMonitor.isUnavailable(Service.SESSION_SERVER)).isFalse();
+        }
+    }
+
+    private int execute(final OkHttpClient httpClient, final String url) throws IOException {
+        try (final Response response = httpClient.newCall(new Request.Builder().url(url).build()).execute()) {
+            return response.code();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package de.timmi6790.api.mojang.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedFanOutTest {
+    @Test
+    void execute_bounded_concurrency() {
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final AtomicInteger inFlight = new AtomicInteger();
+            final AtomicInteger maxInFlight = new AtomicInteger();
+            final List<Integer> keys = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+            final List<Integer> results = new ArrayList<>();
+
+            BoundedFanOut.execute(keys, 4, key -> CompletableFuture.supplyAsync(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(1);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return key * 2;
+            }, executor), (key, value) -> results.add(value)).join();
+
+            assertThat(maxInFlight.get()).isBetween(1, 4);
+            assertThat(results).hasSize(200).containsAll(keys.stream().map(key -> key * 2).collect(Collectors.toList()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void execute_completed_futures() {
+        // Completed tasks must not recurse
+        final List<Integer> keys = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        final ConcurrentHashMap<Integer, Integer> results = new ConcurrentHashMap<>();
+
+        BoundedFanOut.execute(keys, 8, CompletableFuture::completedFuture, results::put).join();
+        assertThat(results).hasSize(100_000);
+    }
+
+    @Test
+    void execute_empty() {
+        assertThat(BoundedFanOut.execute(Collections.<Integer>emptyList(), 1, CompletableFuture::completedFuture, (key, value) -> {
+        })).isDone();
+    }
+
+    @Test
+    void execute_failed_task() {
+        final IllegalStateException exception = new IllegalStateException("failed");
+        final CompletableFuture<Void> future = BoundedFanOut.execute(
+                IntStream.range(0, 10).boxed().collect(Collectors.toList()),
+                2,
+                key -> {
+                    final CompletableFuture<Integer> taskFuture = new CompletableFuture<>();
+                    if (key == 3) {
+                        taskFuture.completeExceptionally(exception);
+                    } else {
+                        taskFuture.complete(key);
+                    }
+                    return taskFuture;
+                },
+                (key, value) -> {
+                }
+        );
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCause(exception);
+    }
+}
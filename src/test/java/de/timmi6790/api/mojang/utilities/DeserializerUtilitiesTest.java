@@ -0,0 +1,60 @@
+package de.timmi6790.api.mojang.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeserializerUtilitiesTest {
+    private static final UUID PLAYER_UUID = UUID.fromString("9d59daad-6f62-4bd9-b13e-c961bf906750");
+
+    @Test
+    void convertMojangUUID() {
+        assertThat(DeserializerUtilities.convertMojangUUID("9d59daad6f624bd9b13ec961bf906750")).isEqualTo(PLAYER_UUID);
+        assertThat(DeserializerUtilities.convertMojangUUID("9D59DAAD6F624BD9B13EC961BF906750")).isEqualTo(PLAYER_UUID);
+    }
+
+    @Test
+    void convertMojangUUID_dashed() {
+        assertThat(DeserializerUtilities.convertMojangUUID("9d59daad-6f62-4bd9-b13e-c961bf906750")).isEqualTo(PLAYER_UUID);
+    }
+
+    @Test
+    void convertMojangUUID_random() {
+        for (int index = 0; 1_000 > index; index++) {
+            final UUID uuid = UUID.randomUUID();
+            assertThat(DeserializerUtilities.convertMojangUUID(uuid.toString().replace("-", ""))).isEqualTo(uuid);
+            assertThat(DeserializerUtilities.convertMojangUUID(uuid.toString())).isEqualTo(uuid);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "9d59daad6f624bd9b13ec961bf90675",
+            "9d59daad6f624bd9b13ec961bf9067500",
+            "9d59daad6f624bd9b13ec961bf90675g",
+            "9d59daad-6f624-bd9-b13e-c961bf906750",
+            "9d59daad-6f62-4bd9-b13e-c961bf90675-",
+            "+d59daad6f624bd9b13ec961bf906750",
+            "\uFF19d59daad6f624bd9b13ec961bf906750"
+    })
+    void convertMojangUUID_invalid(final String mojangUUID) {
+        assertThatThrownBy(() -> DeserializerUtilities.convertMojangUUID(mojangUUID))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void toMojangUUID() {
+        assertThat(DeserializerUtilities.toMojangUUID(PLAYER_UUID)).isEqualTo("9d59daad6f624bd9b13ec961bf906750");
+
+        for (int index = 0; 1_000 > index; index++) {
+            final UUID uuid = UUID.randomUUID();
+            assertThat(DeserializerUtilities.toMojangUUID(uuid)).isEqualTo(uuid.toString().replace("-", ""));
+        }
+    }
+}
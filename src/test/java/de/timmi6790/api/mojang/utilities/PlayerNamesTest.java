@@ -0,0 +1,49 @@
+package de.timmi6790.api.mojang.utilities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerNamesTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "a",
+            "Timmi6790",
+            "mwmy",
+            "_Player_",
+            "ABCDEFGHIJKLMNOP"
+    })
+    void isValid(final String playerName) {
+        assertThat(PlayerNames.isValid(playerName)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "ABCDEFGHIJKLMNOPQ",
+            "Timmi 6790",
+            "Timmi-6790",
+            "../profiles",
+            "Timmi?at=0",
+            "T\u00e4mmi"
+    })
+    void isValid_invalid(final String playerName) {
+        assertThat(PlayerNames.isValid(playerName)).isFalse();
+    }
+
+    @Test
+    void toKey() {
+        assertThat(PlayerNames.toKey("Notch")).isEqualTo("notch");
+        assertThat(PlayerNames.toKey("NOTCH")).isEqualTo("notch");
+        assertThat(PlayerNames.toKey("Timmi_6790")).isEqualTo("timmi_6790");
+        assertThat(PlayerNames.toKey("")).isEmpty();
+    }
+
+    @Test
+    void toKey_lower_case_same_instance() {
+        final String playerName = "timmi_6790";
+        assertThat(PlayerNames.toKey(playerName)).isSameAs(playerName);
+    }
+}
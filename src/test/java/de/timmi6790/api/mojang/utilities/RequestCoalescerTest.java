@@ -0,0 +1,56 @@
+package de.timmi6790.api.mojang.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+    @Test
+    void execute_coalesced() {
+        final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+        final CompletableFuture<String> loadFuture = new CompletableFuture<>();
+
+        final CompletableFuture<String> first = coalescer.executeAsync("key", () -> loadFuture);
+        final CompletableFuture<String> second = coalescer.executeAsync("key", () -> CompletableFuture.completedFuture("other"));
+        assertThat(coalescer.getCoalescedRequestCount()).isEqualTo(1);
+
+        loadFuture.complete("value");
+        assertThat(first.join()).isEqualTo("value");
+        assertThat(second.join()).isEqualTo("value");
+        assertThat(coalescer.getInFlightRequestCount()).isZero();
+    }
+
+    @Test
+    void execute_loader_throws() {
+        final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+        assertThatThrownBy(() -> coalescer.execute("key", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> coalescer.execute("key", () -> {
+            throw new AssertionError("failed");
+        })).isInstanceOf(AssertionError.class);
+
+        // The key isn't left in flight
+        assertThat(coalescer.getInFlightRequestCount()).isZero();
+        assertThat(coalescer.execute("key", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void executeAsync_loader_throws() throws Exception {
+        final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+        final CompletableFuture<String> future = coalescer.executeAsync("key", () -> {
+            throw new IllegalStateException("failed");
+        });
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(coalescer.getInFlightRequestCount()).isZero();
+        assertThat(coalescer.executeAsync("key", () -> CompletableFuture.completedFuture("value")).get(1, TimeUnit.SECONDS)).isEqualTo("value");
+    }
+}